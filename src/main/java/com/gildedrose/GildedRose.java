@@ -1,38 +1,148 @@
 package com.gildedrose;
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import com.gildedrose.config.catalog.CategoryCatalog;
 import com.gildedrose.config.quality.QualityConfiguration;
 import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.engine.ItemUpdateListener;
 import com.gildedrose.function.quality.QualityOperator;
-import com.gildedrose.function.quality.QualityOperatorFactory;
-import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Category;
 import com.gildedrose.model.Item;
 
 
-class GildedRose {
+public class GildedRose {
 
-    QualityConfiguration qualityConfiguration;
-    QualityOperatorFactory qualityOperatorFactory;
+    private static final int PARALLEL_CHUNK_SIZE = 4096;
 
     Item[] items;
 
+    private final CategoryCatalog catalog;
+    private final QualityOperator[] qualityOperators;
+    private final boolean[] legendary;
+    // Per catalog category, the built-in Category reported to listeners.
+    private final Category[] builtInCategories;
+    private ItemUpdateListener[] listeners = new ItemUpdateListener[0];
+
+    /**
+     * Initiates an inventory updated with the built-in categories, see {@link CategoryCatalog#fromConfiguration(QualityConfiguration)}.
+     * 
+     * @param items the {@link Item}s to update, in place.
+     */
     public GildedRose(Item[] items) {
-        this.qualityConfiguration = QualityConfigurationFactory.createItemQualityConfiguration();
+        this(items, CategoryCatalog.fromConfiguration(QualityConfigurationFactory.createItemQualityConfiguration()));
+    }
+
+    /**
+     * Initiates an inventory updated with the categories of a catalog. {@link ItemUpdateListener}s receive the built-in
+     * {@link Category} with the label of the catalog category. Other catalog categories are reported by their rules:
+     * {@link Category#LEGENDARY} if legendary, {@link Category#EXPIRING} if they expire, or else {@link Category#DEGRADING}.
+     * 
+     * @param items the {@link Item}s to update, in place.
+     * @param catalog the {@link CategoryCatalog} resolving the category and operator of every {@link Item}.
+     */
+    public GildedRose(Item[] items, CategoryCatalog catalog) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("A non-null CategoryCatalog must be provided.");
+        }
+
         this.items = items;
+        this.catalog = catalog;
+
+        // Operators are stateless, one per category serves every item.
+        final int size = catalog.size();
+        this.qualityOperators = new QualityOperator[size];
+        this.legendary = new boolean[size];
+        this.builtInCategories = new Category[size];
+        for (int id = 0; id < size; id++) {
+            this.qualityOperators[id] = catalog.operator(id);
+            this.legendary[id] = catalog.isLegendary(id);
+            this.builtInCategories[id] = toBuiltInCategory(catalog, id);
+        }
+    }
+
+    /**
+     * Register a listener that receives every {@link Item} right after its daily update.
+     * 
+     * @param listener the {@link ItemUpdateListener} to add.
+     */
+    public void addItemUpdateListener(ItemUpdateListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("A non-null ItemUpdateListener must be provided.");
+        }
+
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    /**
+     * @return the live {@link Item}s of this inventory, updated in place.
+     */
+    public Item[] getItems() {
+        return items;
     }
 
     public void updateQuality() {
         final int length = items.length;
+        final ItemUpdateListener[] itemUpdateListeners = listeners;
 
         for (int i = 0; i < length; i++) {
-            Item item = items[i];
+            updateItem(i, itemUpdateListeners);
+        }
+    }
+
+    /**
+     * Same as {@link #updateQuality()}, but updates chunks of {@link Item}s in parallel on the common fork/join pool.
+     * Registered {@link ItemUpdateListener}s are called concurrently and must be thread-safe.
+     */
+    public void updateQualityInParallel() {
+        final int length = items.length;
+        final ItemUpdateListener[] itemUpdateListeners = listeners;
+        final int chunks = (length + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+
+        IntStream.range(0, chunks)
+                 .parallel()
+                 .forEach(chunk -> {
+                     final int end = Math.min(length, (chunk + 1) * PARALLEL_CHUNK_SIZE);
+                     for (int i = chunk * PARALLEL_CHUNK_SIZE; i < end; i++) {
+                         updateItem(i, itemUpdateListeners);
+                     }
+                 });
+    }
+
+    private void updateItem(int i, ItemUpdateListener[] itemUpdateListeners) {
+        Item item = items[i];
+        if (item == null) {
+            throw new IllegalArgumentException("To get a QualityOperator a non-null item must be provided.");
+        }
+
+        int category = catalog.categoryOf(item.name);
+        int previousQuality = item.quality;
 
-            QualityOperator qualityOperator = QualityOperatorFactory.getQualityOperator(qualityConfiguration, item);
-            items[i] = qualityOperator.apply(item);
+        items[i] = qualityOperators[category].apply(item);
 
-            if (!Inventory.LEGENDARY_ITEMS.contains(item.name)) {
-                item.sellIn = item.sellIn - 1;
+        if (!legendary[category]) {
+            item.sellIn = item.sellIn - 1;
+        }
+
+        for (ItemUpdateListener listener : itemUpdateListeners) {
+            listener.itemUpdated(i, builtInCategories[category], previousQuality, item);
+        }
+    }
+
+    private static Category toBuiltInCategory(CategoryCatalog catalog, int id) {
+        for (Category category : Category.values()) {
+            if (category.name()
+                        .equals(catalog.labelOf(id))) {
+                return category;
             }
         }
+
+        if (catalog.isLegendary(id)) {
+            return Category.LEGENDARY;
+        }
+        return catalog.isExpiring(id) ? Category.EXPIRING : Category.DEGRADING;
     }
 
 }
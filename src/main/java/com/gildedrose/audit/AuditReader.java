@@ -0,0 +1,143 @@
+package com.gildedrose.audit;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.gildedrose.model.Category;
+
+
+/**
+ * Queries the audit files written by an {@link AuditTrail} by item and day range.
+ * <p>
+ * File format: magic "GRAD" and version, followed by blocks of: record count, lowest day, highest day, compressed length and
+ * the deflated records (item, day, category, old quality, new quality as big-endian ints). Blocks outside the queried day
+ * range are skipped without inflating them.
+ * <p>
+ * Usage: {@code AuditReader <directory> <item|-1 for all> <fromDay> <toDay>}
+ *
+ * @author kavert
+ */
+public final class AuditReader {
+
+    /**
+     * Matches the records of every item.
+     */
+    public static final int ALL_ITEMS = -1;
+
+    private AuditReader() {
+        throw new AssertionError("Utility class 'AuditReader' cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            throw new IllegalArgumentException("Usage: AuditReader <directory> <item|-1 for all> <fromDay> <toDay>");
+        }
+
+        for (AuditRecord record : query(Paths.get(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+                                        Integer.parseInt(args[3]))) {
+            System.out.println(record);
+        }
+    }
+
+    /**
+     * Find all quality changes of an item within a range of days, in the order they were written per updating thread.
+     *
+     * @param directory the directory holding the audit files.
+     * @param item the index of the item, or {@link #ALL_ITEMS}.
+     * @param fromDay the first day, inclusive.
+     * @param toDay the last day, inclusive.
+     * @return the matching {@link AuditRecord}s.
+     * @throws IOException if an audit file can not be read or is corrupt.
+     */
+    public static List<AuditRecord> query(Path directory, int item, int fromDay, int toDay) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, AuditTrail.FILE_PREFIX + "*" + AuditTrail.FILE_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.comparingInt(AuditTrail::fileSequence));
+
+        Category[] categories = Category.values();
+        List<AuditRecord> records = new ArrayList<>();
+        Inflater inflater = new Inflater();
+        try {
+            for (Path file : files) {
+                read(file, item, fromDay, toDay, categories, inflater, records);
+            }
+        } finally {
+            inflater.end();
+        }
+        return records;
+    }
+
+    private static void read(Path file, int item, int fromDay, int toDay, Category[] categories, Inflater inflater, List<AuditRecord> records)
+                    throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != AuditTrail.FILE_MAGIC || in.readInt() != AuditTrail.FILE_VERSION) {
+                throw new IOException("'" + file + "' is not a supported audit file.");
+            }
+
+            while (true) {
+                int count;
+                try {
+                    count = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                int minDay = in.readInt();
+                int maxDay = in.readInt();
+                byte[] compressed = new byte[in.readInt()];
+                in.readFully(compressed);
+
+                if (maxDay >= fromDay && minDay <= toDay) {
+                    IntBuffer block = inflate(file, inflater, compressed, count);
+                    for (int i = 0; i < count; i++) {
+                        int offset = i * AuditRing.FIELDS;
+                        int recordItem = block.get(offset);
+                        int day = block.get(offset + 1);
+                        if ((item == ALL_ITEMS || recordItem == item) && day >= fromDay && day <= toDay) {
+                            records.add(new AuditRecord(recordItem, day, categories[block.get(offset + 2)], block.get(offset + 3),
+                                                        block.get(offset + 4)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static IntBuffer inflate(Path file, Inflater inflater, byte[] compressed, int count) throws IOException {
+        byte[] raw = new byte[count * AuditRecord.SIZE];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != raw.length) {
+                throw new IOException("Corrupt block in audit file '" + file + "'.");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block in audit file '" + file + "'.", e);
+        }
+        return ByteBuffer.wrap(raw)
+                         .asIntBuffer();
+    }
+
+}
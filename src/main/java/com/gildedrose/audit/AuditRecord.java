@@ -0,0 +1,78 @@
+package com.gildedrose.audit;
+
+import com.gildedrose.model.Category;
+
+
+/**
+ * A single quality change of an item, as read back from the audit files by the {@link AuditReader}.
+ * 
+ * @author kavert
+ */
+public final class AuditRecord {
+
+    /**
+     * Size in bytes of an encoded record: item, day, category, old and new quality.
+     */
+    static final int SIZE = 5 * Integer.BYTES;
+
+    private final int item;
+    private final int day;
+    private final Category category;
+    private final int oldQuality;
+    private final int newQuality;
+
+    AuditRecord(int item, int day, Category category, int oldQuality, int newQuality) {
+        this.item = item;
+        this.day = day;
+        this.category = category;
+        this.oldQuality = oldQuality;
+        this.newQuality = newQuality;
+    }
+
+    /**
+     * @return the index of the item in the inventory.
+     */
+    public int getItem() {
+        return item;
+    }
+
+    /**
+     * @return the day of the update.
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * @return the {@link Category} of the item, which determines the operator applied.
+     */
+    public Category getCategory() {
+        return category;
+    }
+
+    /**
+     * @return the quality before the update.
+     */
+    public int getOldQuality() {
+        return oldQuality;
+    }
+
+    /**
+     * @return the quality after the update.
+     */
+    public int getNewQuality() {
+        return newQuality;
+    }
+
+    /**
+     * String representation of this {@link AuditRecord}.
+     * 
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        return "AuditRecord [item=" + item + ", day=" + day + ", category=" + category + ", oldQuality=" + oldQuality + ", newQuality="
+                        + newQuality + "]";
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.gildedrose.audit;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Preallocated single-producer, single-consumer ring of fixed-size audit records.<br>
+ * The owning thread writes, the drainer reads; both only publish their own sequence, so neither takes a lock.
+ * 
+ * @author kavert
+ */
+final class AuditRing {
+
+    static final int FIELDS = AuditRecord.SIZE / Integer.BYTES;
+
+    private final int[] records;
+    private final int mask;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxSpillFields;
+    private final AtomicLong dropped;
+    private final AuditTrail trail;
+
+    // Next sequence to write, only advanced by the producer.
+    private final AtomicLong head = new AtomicLong();
+    // Next sequence to read, only advanced by the consumer.
+    private final AtomicLong tail = new AtomicLong();
+
+    private int[] spill = new int[0];
+    private int spillSize;
+
+    AuditRing(int capacity, OverflowPolicy overflowPolicy, int maxSpillRecords, AtomicLong dropped, AuditTrail trail) {
+        this.records = new int[capacity * FIELDS];
+        this.mask = capacity - 1;
+        this.overflowPolicy = overflowPolicy;
+        this.maxSpillFields = maxSpillRecords * FIELDS;
+        this.dropped = dropped;
+        this.trail = trail;
+    }
+
+    /**
+     * Write a record, applying the {@link OverflowPolicy} if the ring is full.
+     * 
+     * @throws IllegalStateException if the ring is full with {@link OverflowPolicy#BLOCK} and the drainer stopped, so the
+     *             ring will never be drained again.
+     */
+    void write(int item, int day, int category, int oldQuality, int newQuality) {
+        final long sequence = head.get();
+        if (sequence - tail.get() > mask) {
+            switch (overflowPolicy) {
+                case DROP:
+                    dropped.incrementAndGet();
+                    return;
+                case SPILL:
+                    spill(item, day, category, oldQuality, newQuality);
+                    return;
+                default:
+                    while (sequence - tail.get() > mask) {
+                        trail.checkDraining();
+                        LockSupport.parkNanos(1_000L);
+                    }
+            }
+        }
+
+        int offset = (int) (sequence & mask) * FIELDS;
+        records[offset] = item;
+        records[offset + 1] = day;
+        records[offset + 2] = category;
+        records[offset + 3] = oldQuality;
+        records[offset + 4] = newQuality;
+        head.lazySet(sequence + 1);
+    }
+
+    /**
+     * Copy the published records into the target, followed by the spilled records. Spilled records may therefore follow
+     * records written after them; each record carries its day.
+     * 
+     * @param target receives the fields of the records.
+     * @param maxRecords maximum amount of records to copy.
+     * @return the amount of records copied.
+     */
+    int drain(int[] target, int maxRecords) {
+        final long sequence = tail.get();
+        int available = (int) Math.min(head.get() - sequence, maxRecords);
+
+        for (int i = 0; i < available; i++) {
+            int offset = (int) ((sequence + i) & mask) * FIELDS;
+            System.arraycopy(records, offset, target, i * FIELDS, FIELDS);
+        }
+        tail.lazySet(sequence + available);
+
+        if (available < maxRecords) {
+            available += drainSpill(target, available, maxRecords - available);
+        }
+        return available;
+    }
+
+    /*
+     * A full spill buffer drops the record, so a stalled drainer can not exhaust the heap.
+     */
+    private synchronized void spill(int item, int day, int category, int oldQuality, int newQuality) {
+        if (spillSize + FIELDS > maxSpillFields) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (spillSize + FIELDS > spill.length) {
+            spill = Arrays.copyOf(spill, (int) Math.min(Math.max(spill.length * 2L, 1024 * FIELDS), maxSpillFields));
+        }
+        spill[spillSize++] = item;
+        spill[spillSize++] = day;
+        spill[spillSize++] = category;
+        spill[spillSize++] = oldQuality;
+        spill[spillSize++] = newQuality;
+    }
+
+    private synchronized int drainSpill(int[] target, int position, int maxRecords) {
+        int count = Math.min(spillSize / FIELDS, maxRecords);
+        System.arraycopy(spill, 0, target, position * FIELDS, count * FIELDS);
+        System.arraycopy(spill, count * FIELDS, spill, 0, spillSize - count * FIELDS);
+        spillSize -= count * FIELDS;
+        return count;
+    }
+
+}
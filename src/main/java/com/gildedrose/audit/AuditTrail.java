@@ -0,0 +1,413 @@
+package com.gildedrose.audit;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.Deflater;
+
+import com.gildedrose.engine.ItemUpdateListener;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Item;
+
+
+/**
+ * Audit trail of every quality change: item, day, {@link Category} (the operator applied), old and new quality.
+ * <p>
+ * Registered as an {@link ItemUpdateListener}, the updating thread writes fixed-size records into its own preallocated
+ * ring buffer, without locking nor allocating. A background drainer copies the records out of all rings, compresses them
+ * in blocks and appends the blocks to rotating files, see {@link AuditReader} for the file format.
+ * When a ring is full the {@link OverflowPolicy} decides between waiting, dropping or spilling.
+ *
+ * @author kavert
+ */
+public final class AuditTrail implements ItemUpdateListener, Closeable {
+
+    static final int FILE_MAGIC = 0x47524144; // "GRAD"
+    static final int FILE_VERSION = 1;
+    static final String FILE_PREFIX = "audit-";
+    static final String FILE_SUFFIX = ".log";
+
+    private static final int BLOCK_RECORDS = 4096;
+
+    private final Path directory;
+    private final int ringCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxSpillRecords;
+    private final long maxFileBytes;
+    private final long drainIntervalMillis;
+
+    private final List<AuditRing> rings = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<AuditRing> ring = ThreadLocal.withInitial(this::newRing);
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile int day;
+
+    // Owned by the drainer, guarded by the drain lock.
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final int[] block = new int[BLOCK_RECORDS * AuditRing.FIELDS];
+    private final byte[] raw = new byte[BLOCK_RECORDS * AuditRecord.SIZE];
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private byte[] compressed = new byte[raw.length + raw.length / 100 + 64];
+    private DataOutputStream out;
+    private long fileBytes;
+    private int fileSequence;
+
+    private final Thread drainer;
+    private volatile boolean running = true;
+    private volatile IOException failure;
+
+    private AuditTrail(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.ringCapacity = Integer.highestOneBit(builder.ringCapacity - 1) << 1;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.maxSpillRecords = builder.maxSpillRecords;
+        this.maxFileBytes = builder.maxFileBytes;
+        this.drainIntervalMillis = builder.drainIntervalMillis;
+
+        Files.createDirectories(directory);
+        this.fileSequence = lastFileSequence(directory);
+
+        this.drainer = new Thread(this::drainContinuously, "audit-trail-drainer");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * @param day the day of the update running from now on, stored in every record.
+     */
+    public void setDay(int day) {
+        this.day = day;
+    }
+
+    /**
+     * Records the change if the quality of the {@link Item} changed.
+     *
+     * @see ItemUpdateListener#itemUpdated(int, Category, int, Item)
+     */
+    @Override
+    public void itemUpdated(int index, Category category, int previousQuality, Item item) {
+        if (previousQuality != item.quality) {
+            ring.get()
+                .write(index, day, category.ordinal(), previousQuality, item.quality);
+        }
+    }
+
+    /**
+     * Record a quality change outside of the daily update, e.g. a manual adjustment.
+     *
+     * @param item the index of the item in the inventory.
+     * @param day the day of the change.
+     * @param category the {@link Category} of the item.
+     * @param oldQuality the quality before the change.
+     * @param newQuality the quality after the change.
+     */
+    public void record(int item, int day, Category category, int oldQuality, int newQuality) {
+        ring.get()
+            .write(item, day, category.ordinal(), oldQuality, newQuality);
+    }
+
+    /**
+     * @return amount of records dropped because a ring was full with the {@link OverflowPolicy#DROP} policy, or its spill
+     *         buffer was full with the {@link OverflowPolicy#SPILL} policy.
+     */
+    public long getDroppedRecords() {
+        return dropped.get();
+    }
+
+    /**
+     * Drain all records written so far and flush them to the current file.
+     *
+     * @throws IOException if the records can not be written.
+     */
+    public void flush() throws IOException {
+        checkFailure();
+        drainLock.lock();
+        try {
+            drainAll();
+            if (out != null) {
+                out.flush();
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * Stop the drainer, drain the remaining records and close the current file.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        drainer.interrupt();
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+
+        drainLock.lock();
+        try {
+            checkFailure();
+            drainAll();
+        } finally {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+            deflater.end();
+            drainLock.unlock();
+        }
+    }
+
+    /*
+     * Called by a writer waiting for room in its ring: once the drainer stopped, the ring will never be drained.
+     */
+    void checkDraining() {
+        if (failure != null) {
+            throw new IllegalStateException("Audit trail can not be written to '" + directory + "'.", failure);
+        }
+        if (!running) {
+            throw new IllegalStateException("Audit trail is closed, its rings are no longer drained.");
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("Audit trail can not be written to '" + directory + "'.", failure);
+        }
+    }
+
+    private AuditRing newRing() {
+        AuditRing newRing = new AuditRing(ringCapacity, overflowPolicy, maxSpillRecords, dropped, this);
+        rings.add(newRing);
+        return newRing;
+    }
+
+    private void drainContinuously() {
+        while (running) {
+            int drained;
+            drainLock.lock();
+            try {
+                drained = drainAll();
+            } catch (IOException e) {
+                // Reported by the next flush or close.
+                failure = e;
+                return;
+            } finally {
+                drainLock.unlock();
+            }
+
+            if (drained == 0) {
+                try {
+                    Thread.sleep(drainIntervalMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private int drainAll() throws IOException {
+        int total = 0;
+        for (AuditRing auditRing : rings) {
+            int count;
+            do {
+                count = auditRing.drain(block, BLOCK_RECORDS);
+                if (count > 0) {
+                    writeBlock(count);
+                    total += count;
+                }
+            } while (count == BLOCK_RECORDS);
+        }
+        return total;
+    }
+
+    /*
+     * Block: record count, lowest and highest day, compressed length, compressed records.
+     */
+    private void writeBlock(int count) throws IOException {
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int recordDay = block[i * AuditRing.FIELDS + 1];
+            minDay = Math.min(minDay, recordDay);
+            maxDay = Math.max(maxDay, recordDay);
+        }
+
+        int rawLength = count * AuditRecord.SIZE;
+        ByteBuffer.wrap(raw)
+                  .asIntBuffer()
+                  .put(block, 0, count * AuditRing.FIELDS);
+
+        deflater.reset();
+        deflater.setInput(raw, 0, rawLength);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+
+        DataOutputStream file = currentFile();
+        file.writeInt(count);
+        file.writeInt(minDay);
+        file.writeInt(maxDay);
+        file.writeInt(compressedLength);
+        file.write(compressed, 0, compressedLength);
+        fileBytes += 4 * Integer.BYTES + compressedLength;
+    }
+
+    private DataOutputStream currentFile() throws IOException {
+        if (out != null && fileBytes >= maxFileBytes) {
+            out.close();
+            out = null;
+        }
+
+        if (out == null) {
+            fileSequence++;
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(directory.resolve(fileName(fileSequence)))));
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            fileBytes = 2 * Integer.BYTES;
+        }
+        return out;
+    }
+
+    static String fileName(int sequence) {
+        return String.format("%s%08d%s", FILE_PREFIX, sequence, FILE_SUFFIX);
+    }
+
+    static int fileSequence(Path file) {
+        String name = file.getFileName()
+                          .toString();
+        return Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    }
+
+    private static int lastFileSequence(Path directory) throws IOException {
+        int last = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                last = Math.max(last, fileSequence(file));
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Builds (instantiates) and starts a new {@link AuditTrail} with the given attributes.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private Path directory;
+        private int ringCapacity = 1 << 16;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private int maxSpillRecords = 1 << 20;
+        private long maxFileBytes = 64L << 20;
+        private long drainIntervalMillis = 10;
+
+        /**
+         * @param directory the directory to write the audit files to.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withDirectory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * @param ringCapacity amount of records per thread ring, rounded up to a power of two.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withRingCapacity(int ringCapacity) {
+            if (ringCapacity < 2 || ringCapacity > 1 << 26) {
+                throw new IllegalArgumentException("The ring capacity must be between 2 and 2^26 records.");
+            }
+
+            this.ringCapacity = ringCapacity;
+            return this;
+        }
+
+        /**
+         * @param overflowPolicy what to do when a ring is full.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * @param maxSpillRecords most records spilled per thread with the {@link OverflowPolicy#SPILL} policy; further
+         *            records are dropped until the drainer caught up.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withMaxSpillRecords(int maxSpillRecords) {
+            if (maxSpillRecords < 0 || maxSpillRecords > Integer.MAX_VALUE / AuditRing.FIELDS) {
+                throw new IllegalArgumentException("The maximum amount of spilled records must be between 0 and "
+                                + Integer.MAX_VALUE / AuditRing.FIELDS + ".");
+            }
+
+            this.maxSpillRecords = maxSpillRecords;
+            return this;
+        }
+
+        /**
+         * @param maxFileBytes size after which a new audit file is started.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withMaxFileBytes(long maxFileBytes) {
+            if (maxFileBytes <= 0) {
+                throw new IllegalArgumentException("The maximum size of an audit file must be positive.");
+            }
+
+            this.maxFileBytes = maxFileBytes;
+            return this;
+        }
+
+        /**
+         * @param drainIntervalMillis how long the drainer sleeps when all rings are empty.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withDrainIntervalMillis(long drainIntervalMillis) {
+            if (drainIntervalMillis <= 0) {
+                throw new IllegalArgumentException("The drain interval must be positive.");
+            }
+
+            this.drainIntervalMillis = drainIntervalMillis;
+            return this;
+        }
+
+        /**
+         * Instantiates a new {@link AuditTrail} and starts its drainer.
+         *
+         * @return a new AuditTrail object.
+         * @throws IOException if the directory can not be created or read.
+         */
+        public AuditTrail build() throws IOException {
+            if (directory == null) {
+                throw new IllegalStateException("An audit trail needs a directory to write to.");
+            }
+            if (overflowPolicy == null) {
+                throw new IllegalStateException("An audit trail needs an overflow policy.");
+            }
+
+            return new AuditTrail(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.gildedrose.audit;
+
+/**
+ * What an {@link AuditTrail} does with a record when the ring buffer of the updating thread is full.
+ * 
+ * @author kavert
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Wait until the drainer made room. No record is lost, but the update slows down to the speed of the drainer.
+     * If the drainer stopped, on a write failure or after {@link AuditTrail#close()}, the write fails instead.
+     */
+    BLOCK,
+
+    /**
+     * Drop the record and count it, see {@link AuditTrail#getDroppedRecords()}. The update never waits.
+     */
+    DROP,
+
+    /**
+     * Append the record to a spill buffer, drained after the ring. The update never waits, at the cost of allocating while
+     * the drainer falls behind. Once the spill buffer holds its maximum, see
+     * {@link AuditTrail.Builder#withMaxSpillRecords(int)}, records are dropped and counted as with {@link #DROP}.
+     */
+    SPILL
+
+}
@@ -0,0 +1,279 @@
+package com.gildedrose.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntUnaryOperator;
+
+import com.gildedrose.model.ColumnarInventory;
+import com.gildedrose.model.NameDictionary;
+
+
+/**
+ * Versioned binary checkpoint of an inventory, written at a day boundary and memory-mapped on startup.
+ * <p>
+ * Layout, little-endian:
+ * <pre>
+ * header (64 bytes)  magic "GRCK", version, day, item count, name count, reserved,
+ *                    offsets of the names, name ids, sellIns and qualities sections, file length
+ * names              per name: byte length (-1 for null) followed by the UTF-8 bytes, in name id order
+ * name ids           an int per item, 8-byte aligned
+ * sellIns            an int per item, 8-byte aligned
+ * qualities          an int per item, 8-byte aligned
+ * </pre>
+ * Only the (small) names section is decoded when opening a checkpoint; the item columns are mapped and used in place,
+ * so an inventory of any size is ready to update or query right away.
+ *
+ * @author kavert
+ */
+public final class Checkpoint {
+
+    /**
+     * The current version of the checkpoint format.
+     */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x4752434B; // "GRCK"
+    private static final int HEADER_SIZE = 64;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private Checkpoint() {
+        throw new AssertionError("Utility class 'Checkpoint' cannot be instantiated");
+    }
+
+    /**
+     * Write a checkpoint of a {@link ColumnarInventory}. The file is replaced atomically.
+     *
+     * @param path the checkpoint file.
+     * @param day the day the inventory was last updated for.
+     * @param inventory the inventory to store.
+     * @throws IOException if the checkpoint can not be written.
+     */
+    public static void write(Path path, int day, ColumnarInventory inventory) throws IOException {
+        write(path, day, inventory.getDictionary(), inventory.size(), inventory::nameId, inventory::sellIn, inventory::quality);
+    }
+
+    /**
+     * Write a checkpoint of a {@link MappedInventory}, e.g. after updating it. The file is replaced atomically,
+     * so the checkpoint the inventory is mapped from may be overwritten.
+     *
+     * @param path the checkpoint file.
+     * @param day the day the inventory was last updated for.
+     * @param inventory the inventory to store.
+     * @throws IOException if the checkpoint can not be written.
+     */
+    public static void write(Path path, int day, MappedInventory inventory) throws IOException {
+        write(path, day, inventory.getDictionary(), inventory.size(), inventory::nameId, inventory::sellIn, inventory::quality);
+    }
+
+    private static void write(Path path, int day, NameDictionary dictionary, int size, IntUnaryOperator nameIds, IntUnaryOperator sellIns,
+                              IntUnaryOperator qualities) throws IOException {
+        byte[][] names = new byte[dictionary.size()][];
+        long namesLength = 0;
+        for (int id = 0; id < names.length; id++) {
+            String name = dictionary.nameOf(id);
+            names[id] = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+            namesLength += Integer.BYTES + (name == null ? 0 : names[id].length);
+        }
+
+        final long namesOffset = HEADER_SIZE;
+        final long nameIdsOffset = align(namesOffset + namesLength);
+        final long sellInsOffset = align(nameIdsOffset + (long) size * Integer.BYTES);
+        final long qualitiesOffset = align(sellInsOffset + (long) size * Integer.BYTES);
+        final long length = qualitiesOffset + (long) size * Integer.BYTES;
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(MAGIC)
+                  .putInt(VERSION)
+                  .putInt(day)
+                  .putInt(size)
+                  .putInt(names.length)
+                  .putInt(0)
+                  .putLong(namesOffset)
+                  .putLong(nameIdsOffset)
+                  .putLong(sellInsOffset)
+                  .putLong(qualitiesOffset)
+                  .putLong(length);
+
+            for (byte[] name : names) {
+                ensureRemaining(channel, buffer, Integer.BYTES);
+                buffer.putInt(name == null ? -1 : name.length);
+                if (name != null) {
+                    putBytes(channel, buffer, name);
+                }
+            }
+
+            writeColumn(channel, buffer, nameIdsOffset, size, nameIds);
+            writeColumn(channel, buffer, sellInsOffset, size, sellIns);
+            writeColumn(channel, buffer, qualitiesOffset, size, qualities);
+            drain(channel, buffer);
+            channel.force(false);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Open a checkpoint: decode its names and map its item columns.
+     *
+     * @param path the checkpoint file.
+     * @return a {@link MappedInventory} backed by the file.
+     * @throws IOException if the file can not be mapped, is not a checkpoint or has an unsupported version.
+     */
+    public static MappedInventory open(Path path) throws IOException {
+        return open(path, true);
+    }
+
+    /**
+     * Read a checkpoint into memory instead of mapping it. A mapping is only released once its buffer is garbage collected;
+     * the returned inventory holds none, so the file can be replaced or deleted right away on any platform.
+     *
+     * @param path the checkpoint file.
+     * @return a {@link MappedInventory} holding a copy of the item columns.
+     * @throws IOException if the file can not be read, is not a checkpoint or has an unsupported version.
+     */
+    public static MappedInventory read(Path path) throws IOException {
+        return open(path, false);
+    }
+
+    private static MappedInventory open(Path path, boolean mapped) throws IOException {
+        // A private mapping needs a writable channel, even though it never writes to the file.
+        OpenOption[] options = mapped ? new OpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE}
+                                      : new OpenOption[] {StandardOpenOption.READ};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("'" + path + "' is not a checkpoint.");
+            }
+
+            ByteBuffer header = readSection(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("'" + path + "' is not a checkpoint.");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version '" + version + "' in '" + path + "'.");
+            }
+
+            final int day = header.getInt();
+            final int size = header.getInt();
+            final int nameCount = header.getInt();
+            header.getInt();
+            final long namesOffset = header.getLong();
+            final long nameIdsOffset = header.getLong();
+            final long sellInsOffset = header.getLong();
+            final long qualitiesOffset = header.getLong();
+            final long length = header.getLong();
+            if (channel.size() != length) {
+                throw new IOException("Checkpoint '" + path + "' is truncated: " + channel.size() + " of " + length + " bytes.");
+            }
+
+            NameDictionary dictionary = new NameDictionary();
+            ByteBuffer names = readSection(channel, namesOffset, nameIdsOffset - namesOffset);
+            for (int id = 0; id < nameCount; id++) {
+                int nameLength = names.getInt();
+                String name = null;
+                if (nameLength >= 0) {
+                    byte[] bytes = new byte[nameLength];
+                    names.get(bytes);
+                    name = new String(bytes, StandardCharsets.UTF_8);
+                }
+                if (dictionary.idOf(name) != id) {
+                    throw new IOException("Checkpoint '" + path + "' holds name '" + name + "' more than once.");
+                }
+            }
+
+            if (!mapped) {
+                return new MappedInventory(day, dictionary, readColumn(channel, nameIdsOffset, size), readColumn(channel, sellInsOffset, size),
+                                           readColumn(channel, qualitiesOffset, size));
+            }
+            return new MappedInventory(day, dictionary, mapColumn(channel, nameIdsOffset, size), mapColumn(channel, sellInsOffset, size),
+                                       mapColumn(channel, qualitiesOffset, size));
+        }
+    }
+
+    /*
+     * Read a section of the file into a heap buffer, so no mapping of the small header and names sections outlives the open.
+     */
+    private static ByteBuffer readSection(FileChannel channel, long offset, long length) throws IOException {
+        if (offset < 0 || length < 0 || length > Integer.MAX_VALUE || offset + length > channel.size()) {
+            throw new IOException("Checkpoint section at " + offset + " of " + length + " bytes is outside the file.");
+        }
+
+        ByteBuffer section = ByteBuffer.allocate((int) length)
+                                       .order(ByteOrder.LITTLE_ENDIAN);
+        while (section.hasRemaining()) {
+            if (channel.read(section, offset + section.position()) < 0) {
+                throw new IOException("Checkpoint ended before the section at " + offset + " of " + length + " bytes.");
+            }
+        }
+        section.flip();
+        return section;
+    }
+
+    private static IntBuffer readColumn(FileChannel channel, long offset, int size) throws IOException {
+        return readSection(channel, offset, (long) size * Integer.BYTES).asIntBuffer();
+    }
+
+    /*
+     * A private mapping stays valid after its channel is closed, and writes to it never reach the file.
+     */
+    private static IntBuffer mapColumn(FileChannel channel, long offset, int size) throws IOException {
+        MappedByteBuffer column = channel.map(MapMode.PRIVATE, offset, (long) size * Integer.BYTES);
+        return column.order(ByteOrder.LITTLE_ENDIAN)
+                     .asIntBuffer();
+    }
+
+    private static void writeColumn(FileChannel channel, ByteBuffer buffer, long offset, int size, IntUnaryOperator column)
+                    throws IOException {
+        drain(channel, buffer);
+        channel.position(offset);
+
+        for (int i = 0; i < size; i++) {
+            ensureRemaining(channel, buffer, Integer.BYTES);
+            buffer.putInt(column.applyAsInt(i));
+        }
+    }
+
+    private static void putBytes(FileChannel channel, ByteBuffer buffer, byte[] bytes) throws IOException {
+        int position = 0;
+        while (position < bytes.length) {
+            ensureRemaining(channel, buffer, 1);
+            int length = Math.min(buffer.remaining(), bytes.length - position);
+            buffer.put(bytes, position, length);
+            position += length;
+        }
+    }
+
+    private static void ensureRemaining(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+}
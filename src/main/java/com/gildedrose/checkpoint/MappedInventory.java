@@ -0,0 +1,122 @@
+package com.gildedrose.checkpoint;
+
+import java.nio.IntBuffer;
+
+import com.gildedrose.model.Category;
+import com.gildedrose.model.ItemView;
+import com.gildedrose.model.NameDictionary;
+
+
+/**
+ * An inventory used in place from a memory-mapped {@link Checkpoint}: a name id, {@code sellIn} and {@code quality} column
+ * per item, read straight from the mapped file. Pages are only loaded when an item is first accessed.
+ * <p>
+ * The mapping is private: updates are visible to this inventory only and never change the checkpoint file,
+ * write a new {@link Checkpoint} to persist them. {@link Checkpoint#read(java.nio.file.Path)} fills the columns from the file
+ * instead of mapping them.
+ * 
+ * @author kavert
+ */
+public final class MappedInventory implements ItemView {
+
+    private final int day;
+    private final NameDictionary dictionary;
+    private final IntBuffer nameIds;
+    private final IntBuffer sellIns;
+    private final IntBuffer qualities;
+    private final int size;
+
+    MappedInventory(int day, NameDictionary dictionary, IntBuffer nameIds, IntBuffer sellIns, IntBuffer qualities) {
+        this.day = day;
+        this.dictionary = dictionary;
+        this.nameIds = nameIds;
+        this.sellIns = sellIns;
+        this.qualities = qualities;
+        this.size = nameIds.limit();
+    }
+
+    /**
+     * @return the day the checkpoint was written for.
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * @return the {@link NameDictionary} holding the names of this inventory.
+     */
+    public NameDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @return amount of items in this inventory.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index index of an item.
+     * @return the name id of the item.
+     */
+    public int nameId(int index) {
+        return nameIds.get(index);
+    }
+
+    /**
+     * @param index index of an item.
+     * @return the name of the item.
+     */
+    @Override
+    public String name(int index) {
+        return dictionary.nameOf(nameIds.get(index));
+    }
+
+    /**
+     * @param index index of an item.
+     * @return the {@link Category} of the item.
+     */
+    @Override
+    public Category category(int index) {
+        return dictionary.categoryOf(nameIds.get(index));
+    }
+
+    /**
+     * @param index index of an item.
+     * @return the sellIn of the item.
+     */
+    @Override
+    public int sellIn(int index) {
+        return sellIns.get(index);
+    }
+
+    /**
+     * @param index index of an item.
+     * @param sellIn the new sellIn of the item.
+     */
+    @Override
+    public void setSellIn(int index, int sellIn) {
+        sellIns.put(index, sellIn);
+    }
+
+    /**
+     * @param index index of an item.
+     * @return the quality of the item.
+     */
+    @Override
+    public int quality(int index) {
+        return qualities.get(index);
+    }
+
+    /**
+     * @param index index of an item.
+     * @param quality the new quality of the item.
+     */
+    @Override
+    public void setQuality(int index, int quality) {
+        qualities.put(index, quality);
+    }
+
+}
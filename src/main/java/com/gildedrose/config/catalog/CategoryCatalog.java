@@ -0,0 +1,499 @@
+package com.gildedrose.config.catalog;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.function.quality.FusedQuality;
+import com.gildedrose.function.quality.QualityOperator;
+import com.gildedrose.function.quality.QualityOperatorFactory;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+import com.gildedrose.model.QualityModifier;
+
+
+/**
+ * Catalog of any amount of product categories, each with its own daily amount, expired factor, multiplier, quality limits
+ * and tier table, and the mapping of {@link Item} names to them.
+ * <p>
+ * The parameters are held in primitive tables indexed by a compact category id, the tiers of all categories in a single
+ * table with an offset per category. Every category is resolved into one {@link QualityOperator} when the catalog is built:
+ * a {@link FusedQuality}, or a legendary operator for categories of a constant quality. Resolving the operator of an id is
+ * an array lookup and every update call site sees at most these two operator classes, so a catalog of thousands of
+ * categories updates as fast as the built-in {@link Category}s.
+ * <p>
+ * Catalog files are loaded in bulk, one tab separated row per line; empty lines and lines starting with {@code #} are
+ * skipped:
+ * <pre>
+ * category &lt;label&gt; &lt;amount&gt; &lt;expired factor&gt; &lt;multiplier&gt; &lt;lower limit&gt; &lt;upper limit&gt; &lt;- | expires | legendary&gt; &lt;- | daysLeft:amount,...&gt;
+ * item     &lt;name&gt; &lt;label&gt;
+ * default  &lt;label&gt;
+ * </pre>
+ * The lower and upper limit of a legendary category are both its constant quality.
+ *
+ * @author kavert
+ */
+public final class CategoryCatalog {
+
+    /**
+     * Id returned for unknown category labels.
+     */
+    public static final int NONE = -1;
+
+    private static final byte EXPIRES = 1;
+    private static final byte LEGENDARY = 2;
+
+    private final String[] labels;
+    private final int[] amounts;
+    private final int[] expiredFactors;
+    private final int[] multipliers;
+    private final int[] lowerLimits;
+    private final int[] upperLimits;
+    private final byte[] flags;
+    // Tiers of category id i are at tierOffsets[i] up to tierOffsets[i + 1], exclusive.
+    private final int[] tierOffsets;
+    private final int[] tierDaysLeft;
+    private final int[] tierAmounts;
+
+    private final Map<String, Integer> ids;
+    private final Map<String, Integer> itemCategories;
+    private final int defaultCategory;
+    private final QualityOperator[] operators;
+
+    private CategoryCatalog(Builder builder) {
+        final int size = builder.size;
+        this.labels = Arrays.copyOf(builder.labels, size);
+        this.amounts = Arrays.copyOf(builder.amounts, size);
+        this.expiredFactors = Arrays.copyOf(builder.expiredFactors, size);
+        this.multipliers = Arrays.copyOf(builder.multipliers, size);
+        this.lowerLimits = Arrays.copyOf(builder.lowerLimits, size);
+        this.upperLimits = Arrays.copyOf(builder.upperLimits, size);
+        this.flags = Arrays.copyOf(builder.flags, size);
+        this.ids = new HashMap<>(builder.ids);
+        this.itemCategories = new HashMap<>(builder.itemCategories);
+        this.defaultCategory = builder.ids.get(builder.defaultLabel);
+
+        // Group the tiers, added in any order, by category.
+        this.tierOffsets = new int[size + 1];
+        for (int i = 0; i < builder.tiers; i++) {
+            tierOffsets[builder.tierCategories[i] + 1]++;
+        }
+        for (int id = 0; id < size; id++) {
+            tierOffsets[id + 1] += tierOffsets[id];
+        }
+        this.tierDaysLeft = new int[builder.tiers];
+        this.tierAmounts = new int[builder.tiers];
+        int[] next = Arrays.copyOf(tierOffsets, size);
+        for (int i = 0; i < builder.tiers; i++) {
+            int slot = next[builder.tierCategories[i]]++;
+            tierDaysLeft[slot] = builder.tierDaysLeft[i];
+            tierAmounts[slot] = builder.tierAmounts[i];
+        }
+
+        this.operators = new QualityOperator[size];
+        for (int id = 0; id < size; id++) {
+            operators[id] = createOperator(id);
+        }
+    }
+
+    private QualityOperator createOperator(int id) {
+        if ((flags[id] & LEGENDARY) != 0) {
+            return QualityOperatorFactory.createLegendaryQualityOperator(lowerLimits[id]);
+        }
+
+        FusedQuality.Builder builder = new FusedQuality.Builder().withAmount(amounts[id])
+                                                                 .withExpiredFactor(expiredFactors[id])
+                                                                 .withMultiplier(multipliers[id])
+                                                                 .withLowerLimit(lowerLimits[id])
+                                                                 .withUpperLimit(upperLimits[id]);
+        if ((flags[id] & EXPIRES) != 0) {
+            builder.withExpiry();
+        }
+        for (int tier = tierOffsets[id]; tier < tierOffsets[id + 1]; tier++) {
+            builder.withTier(new QualityModifier.Builder().withDaysLeft(tierDaysLeft[tier])
+                                                          .withAmount(tierAmounts[tier])
+                                                          .build());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Load a catalog file.
+     *
+     * @param path the catalog file.
+     * @return a new {@link CategoryCatalog}.
+     * @throws IOException if the file can not be read or holds a malformed row.
+     */
+    public static CategoryCatalog load(Path path) throws IOException {
+        Builder builder = new Builder();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                try {
+                    parseRow(builder, line.split("\t", -1));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Malformed catalog row at line " + lineNumber + " of '" + path + "': " + e.getMessage(), e);
+                }
+            }
+        }
+
+        try {
+            return builder.build();
+        } catch (IllegalStateException e) {
+            throw new IOException("Incomplete catalog '" + path + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static void parseRow(Builder builder, String[] columns) {
+        switch (columns[0]) {
+            case "category":
+                checkColumns(columns, 9);
+                String label = columns[1];
+                builder.withCategory(label, Integer.parseInt(columns[2]), Integer.parseInt(columns[3]), Integer.parseInt(columns[4]),
+                                     Integer.parseInt(columns[5]), Integer.parseInt(columns[6]));
+                if (columns[7].equals("expires")) {
+                    builder.withExpiry(label);
+                } else if (columns[7].equals("legendary")) {
+                    builder.withLegendary(label);
+                } else if (!columns[7].equals("-")) {
+                    throw new IllegalArgumentException("unknown flag '" + columns[7] + "'.");
+                }
+                if (!columns[8].equals("-")) {
+                    for (String tier : columns[8].split(",")) {
+                        String[] parts = tier.split(":");
+                        checkColumns(parts, 2);
+                        builder.withTier(label, Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+                    }
+                }
+                break;
+            case "item":
+                checkColumns(columns, 3);
+                builder.withItem(columns[1], columns[2]);
+                break;
+            case "default":
+                checkColumns(columns, 2);
+                builder.withDefault(columns[1]);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown row type '" + columns[0] + "'.");
+        }
+    }
+
+    private static void checkColumns(String[] columns, int expected) {
+        if (columns.length != expected) {
+            throw new IllegalArgumentException("expected " + expected + " columns, found " + columns.length + ".");
+        }
+    }
+
+    /**
+     * Create the catalog of the built-in {@link Category}s and {@link Inventory} names, labeled by {@link Category} name,
+     * with the parameters of the given configuration. Unknown names are {@link Category#DEGRADING}.
+     *
+     * @param configuration {@link QualityConfiguration} instance.
+     * @return a new {@link CategoryCatalog} producing the same updates as the {@link QualityOperatorFactory}.
+     * @throws IllegalArgumentException if the conjured modifier is not a whole multiple of the normal modifier.
+     */
+    public static CategoryCatalog fromConfiguration(QualityConfiguration configuration) {
+        final int minimum = configuration.getMinimumQuality();
+        final int maximum = configuration.getMaximumQuality();
+        final int normal = configuration.getNormalQualityModifier();
+        final int conjured = QualityOperatorFactory.getConjuredMultiplier(configuration);
+
+        Builder builder = new Builder();
+        for (Category category : Category.values()) {
+            String label = category.name();
+            switch (category) {
+                case IMPROVING:
+                case CONJURED_IMPROVING:
+                    builder.withCategory(label, normal, 2, category == Category.IMPROVING ? 1 : conjured, Integer.MIN_VALUE, maximum);
+                    break;
+                case EXPIRING:
+                case CONJURED_EXPIRING:
+                    builder.withCategory(label, normal, 2, category == Category.EXPIRING ? 1 : conjured, minimum, maximum)
+                           .withExpiry(label);
+                    for (QualityModifier tier : configuration.getBackstagePassQualityModifiers()) {
+                        builder.withTier(label, tier.getDaysLeft(), tier.getAmount());
+                    }
+                    break;
+                case LEGENDARY:
+                    builder.withCategory(label, 0, 0, 1, configuration.getLegendaryQuality(), configuration.getLegendaryQuality())
+                           .withLegendary(label);
+                    break;
+                case CONJURED:
+                    builder.withCategory(label, -configuration.getConjuredQualityModifier(), 2, 1, minimum, Integer.MAX_VALUE);
+                    break;
+                default:
+                    builder.withCategory(label, -normal, 2, 1, minimum, Integer.MAX_VALUE);
+            }
+        }
+
+        addItems(builder, Inventory.IMPROVING_ITEMS, Category.IMPROVING);
+        addItems(builder, Inventory.EXPIRING_ITEMS, Category.EXPIRING);
+        addItems(builder, Inventory.LEGENDARY_ITEMS, Category.LEGENDARY);
+        addItems(builder, Inventory.CONJURED_ITEMS, Category.CONJURED);
+        addItems(builder, Inventory.CONJURED_IMPROVING_ITEMS, Category.CONJURED_IMPROVING);
+        addItems(builder, Inventory.CONJURED_EXPIRING_ITEMS, Category.CONJURED_EXPIRING);
+        return builder.withDefault(Category.DEGRADING.name())
+                      .build();
+    }
+
+    private static void addItems(Builder builder, List<String> names, Category category) {
+        for (String name : names) {
+            builder.withItem(name, category.name());
+        }
+    }
+
+    /**
+     * @return amount of categories.
+     */
+    public int size() {
+        return labels.length;
+    }
+
+    /**
+     * @param label label of a category.
+     * @return the id of the category, {@link #NONE} if unknown.
+     */
+    public int idOf(String label) {
+        Integer id = ids.get(label);
+        return id == null ? NONE : id;
+    }
+
+    /**
+     * @param id id of a category.
+     * @return the label of the category.
+     */
+    public String labelOf(int id) {
+        return labels[id];
+    }
+
+    /**
+     * @param name the name of an {@link Item}.
+     * @return the id of the category of the {@link Item}; the default category for unlisted names.
+     */
+    public int categoryOf(String name) {
+        Integer id = itemCategories.get(name);
+        return id == null ? defaultCategory : id;
+    }
+
+    /**
+     * @param id id of a category.
+     * @return the {@link QualityOperator} of the category.
+     */
+    public QualityOperator operator(int id) {
+        return operators[id];
+    }
+
+    /**
+     * @param id id of a category.
+     * @return whether the {@link Item}s of the category keep a constant quality and never have to be sold.
+     */
+    public boolean isLegendary(int id) {
+        return (flags[id] & LEGENDARY) != 0;
+    }
+
+    /**
+     * @param id id of a category.
+     * @return whether the quality of the {@link Item}s of the category drops to the lower limit once expired.
+     */
+    public boolean isExpiring(int id) {
+        return (flags[id] & EXPIRES) != 0;
+    }
+
+    /**
+     * @param id id of a category.
+     * @return amount of tiers of the category.
+     */
+    public int getTierCount(int id) {
+        return tierOffsets[id + 1] - tierOffsets[id];
+    }
+
+    /**
+     * Builds (instantiates) a new {@link CategoryCatalog}.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private String[] labels = new String[INITIAL_CAPACITY];
+        private int[] amounts = new int[INITIAL_CAPACITY];
+        private int[] expiredFactors = new int[INITIAL_CAPACITY];
+        private int[] multipliers = new int[INITIAL_CAPACITY];
+        private int[] lowerLimits = new int[INITIAL_CAPACITY];
+        private int[] upperLimits = new int[INITIAL_CAPACITY];
+        private byte[] flags = new byte[INITIAL_CAPACITY];
+        private int size;
+
+        private int[] tierCategories = new int[INITIAL_CAPACITY];
+        private int[] tierDaysLeft = new int[INITIAL_CAPACITY];
+        private int[] tierAmounts = new int[INITIAL_CAPACITY];
+        private int tiers;
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final Map<String, Integer> itemCategories = new HashMap<>();
+        private String defaultLabel;
+
+        /**
+         * Add a category.
+         *
+         * @param label unique label of the category.
+         * @param amount the daily change of the quality when no tier applies. When negative the quality decreases.
+         * @param expiredFactor how many times faster the quality changes once the sell by date has passed.
+         * @param multiplier factor applied to every change of the quality.
+         * @param lowerLimit minimal allowed quality.
+         * @param upperLimit maximal allowed quality.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withCategory(String label, int amount, int expiredFactor, int multiplier, int lowerLimit, int upperLimit) {
+            if (label == null || ids.containsKey(label)) {
+                throw new IllegalArgumentException("A category needs a unique, non-null label: '" + label + "'.");
+            }
+            if (expiredFactor < 0 || multiplier < 0) {
+                throw new IllegalArgumentException("The expired factor and multiplier of category '" + label + "' can not be negative.");
+            }
+            if (lowerLimit > upperLimit) {
+                throw new IllegalArgumentException("The lower limit of category '" + label + "' can not exceed its upper limit.");
+            }
+
+            if (size == labels.length) {
+                int capacity = size * 2;
+                labels = Arrays.copyOf(labels, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+                expiredFactors = Arrays.copyOf(expiredFactors, capacity);
+                multipliers = Arrays.copyOf(multipliers, capacity);
+                lowerLimits = Arrays.copyOf(lowerLimits, capacity);
+                upperLimits = Arrays.copyOf(upperLimits, capacity);
+                flags = Arrays.copyOf(flags, capacity);
+            }
+
+            labels[size] = label;
+            amounts[size] = amount;
+            expiredFactors[size] = expiredFactor;
+            multipliers[size] = multiplier;
+            lowerLimits[size] = lowerLimit;
+            upperLimits[size] = upperLimit;
+            ids.put(label, size++);
+            return this;
+        }
+
+        /**
+         * Once the sell by date has passed the quality of the category drops to its lower limit.
+         *
+         * @param label label of an added category.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withExpiry(String label) {
+            int id = idOf(label);
+            if (lowerLimits[id] == Integer.MIN_VALUE) {
+                throw new IllegalArgumentException("Expiring category '" + label + "' needs a lower limit to drop the quality to.");
+            }
+
+            flags[id] |= EXPIRES;
+            return this;
+        }
+
+        /**
+         * The quality of the category is constant, its lower and upper limit, and its {@code sellIn} never decreases.
+         *
+         * @param label label of an added category.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withLegendary(String label) {
+            int id = idOf(label);
+            if (lowerLimits[id] != upperLimits[id]) {
+                throw new IllegalArgumentException("Legendary category '" + label + "' needs equal lower and upper limits.");
+            }
+
+            flags[id] |= LEGENDARY;
+            return this;
+        }
+
+        /**
+         * @param label label of an added category.
+         * @param daysLeft the tier applies from this amount of days left until the next tier.
+         * @param amount amount of quality added in the tier.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withTier(String label, int daysLeft, int amount) {
+            int id = idOf(label);
+            if (daysLeft < 0) {
+                throw new IllegalArgumentException("The days left of a tier of category '" + label + "' can not be negative.");
+            }
+
+            if (tiers == tierCategories.length) {
+                tierCategories = Arrays.copyOf(tierCategories, tiers * 2);
+                tierDaysLeft = Arrays.copyOf(tierDaysLeft, tiers * 2);
+                tierAmounts = Arrays.copyOf(tierAmounts, tiers * 2);
+            }
+
+            tierCategories[tiers] = id;
+            tierDaysLeft[tiers] = daysLeft;
+            tierAmounts[tiers++] = amount;
+            return this;
+        }
+
+        /**
+         * @param name the name of an {@link Item}.
+         * @param label label of the category of the {@link Item}.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withItem(String name, String label) {
+            int id = idOf(label);
+            if (itemCategories.containsKey(name)) {
+                throw new IllegalArgumentException("Item '" + name + "' is already in category '" + labels[itemCategories.get(name)] + "'.");
+            }
+
+            itemCategories.put(name, id);
+            return this;
+        }
+
+        /**
+         * @param label label of the category of {@link Item}s not listed in the catalog.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withDefault(String label) {
+            idOf(label);
+            this.defaultLabel = label;
+            return this;
+        }
+
+        private int idOf(String label) {
+            Integer id = ids.get(label);
+            if (id == null) {
+                throw new IllegalArgumentException("Unknown category '" + label + "'.");
+            }
+            return id;
+        }
+
+        /**
+         * Instantiates a new {@link CategoryCatalog}, resolving the operator of every category.
+         *
+         * @return a new immutable CategoryCatalog object.
+         */
+        public CategoryCatalog build() {
+            if (defaultLabel == null) {
+                throw new IllegalStateException("A category catalog needs a default category for unlisted items.");
+            }
+
+            return new CategoryCatalog(this);
+        }
+
+    }
+
+}
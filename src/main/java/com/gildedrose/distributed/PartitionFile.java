@@ -0,0 +1,85 @@
+package com.gildedrose.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import com.gildedrose.model.Item;
+
+
+/**
+ * A partition of the inventory as stored on disk at a day boundary: the day it was last updated for and its {@link Item}s.
+ * Files are replaced atomically, so a worker dying halfway through a write never leaves a partial partition behind.
+ * 
+ * @author kavert
+ */
+final class PartitionFile {
+
+    private static final int MAGIC = 0x47525054; // "GRPT"
+    private static final int VERSION = 1;
+
+    private final int day;
+    private final Item[] items;
+
+    PartitionFile(int day, Item[] items) {
+        this.day = day;
+        this.items = items;
+    }
+
+    int getDay() {
+        return day;
+    }
+
+    Item[] getItems() {
+        return items;
+    }
+
+    static Path path(Path directory, int partition) {
+        return directory.resolve("partition-" + partition + ".bin");
+    }
+
+    void write(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(day);
+            out.writeInt(items.length);
+            for (Item item : items) {
+                out.writeBoolean(item.name != null);
+                if (item.name != null) {
+                    out.writeUTF(item.name);
+                }
+                out.writeInt(item.sellIn);
+                out.writeInt(item.quality);
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static PartitionFile read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("'" + path + "' is not a partition file.");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported partition file version '" + version + "' in '" + path + "'.");
+            }
+
+            int day = in.readInt();
+            Item[] items = new Item[in.readInt()];
+            for (int i = 0; i < items.length; i++) {
+                String name = in.readBoolean() ? in.readUTF() : null;
+                items[i] = new Item(name, in.readInt(), in.readInt());
+            }
+            return new PartitionFile(day, items);
+        }
+    }
+
+}
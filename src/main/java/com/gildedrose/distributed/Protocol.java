@@ -0,0 +1,31 @@
+package com.gildedrose.distributed;
+
+/**
+ * Messages between the {@link TickCoordinator} and its {@link TickWorker}s.
+ * <ul>
+ * <li>worker &rarr; coordinator on connect: {@code int workerId}</li>
+ * <li>{@link #ASSIGN} {@code int partition} &rarr; {@link #OK}: load the partition from its file</li>
+ * <li>{@link #TICK} {@code int day} &rarr; {@link #DONE} {@code int day}: update all assigned partitions up to the day and
+ * store them</li>
+ * <li>{@link #SHUTDOWN}: stop the worker</li>
+ * <li>any command can be answered with {@link #FAILED} {@code UTF message} if a partition can not be read or stored,
+ * or the update rules reject an item</li>
+ * </ul>
+ * 
+ * @author kavert
+ */
+final class Protocol {
+
+    static final byte ASSIGN = 1;
+    static final byte TICK = 2;
+    static final byte SHUTDOWN = 3;
+
+    static final byte OK = 10;
+    static final byte DONE = 11;
+    static final byte FAILED = 12;
+
+    private Protocol() {
+        throw new AssertionError("Constants class 'Protocol' cannot be instantiated");
+    }
+
+}
@@ -0,0 +1,446 @@
+package com.gildedrose.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import com.gildedrose.GildedRose;
+import com.gildedrose.model.Item;
+
+
+/**
+ * Runs the daily update of an inventory too large for one JVM on several local {@link TickWorker} processes.
+ * <p>
+ * The inventory is split into contiguous partitions, each stored as a file in a shared directory and assigned to a worker.
+ * Workers keep their partitions in memory, apply the {@link GildedRose} rules and store every partition at the day boundary.
+ * The coordinator only sends the days over loopback sockets and waits until all workers reported the day done before
+ * starting the next one. When a worker dies, its partitions are reassigned to the surviving workers, which reload them
+ * from the last stored day boundary.
+ *
+ * @author kavert
+ */
+public final class TickCoordinator implements Closeable {
+
+    /*
+     * Workers dying while loading the same partition point at the partition rather than at the workers.
+     */
+    private static final int MAX_ASSIGN_ATTEMPTS = 3;
+
+    private final int workerCount;
+    private final Path directory;
+    private final int timeoutMillis;
+
+    private final List<WorkerHandle> workers = new ArrayList<>();
+    private ServerSocket server;
+    private int partitions;
+    private int day;
+
+    private TickCoordinator(Builder builder) {
+        this.workerCount = builder.workers;
+        this.directory = builder.directory;
+        this.timeoutMillis = builder.timeoutMillis;
+    }
+
+    /**
+     * Split the inventory into partitions, store them and start the worker processes.
+     *
+     * @param items the {@link Item}s of the inventory.
+     * @param partitionCount amount of partitions, at least one.
+     * @throws IOException if the partitions can not be stored or the workers can not be started.
+     */
+    public void load(Item[] items, int partitionCount) throws IOException {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("An inventory needs at least one partition.");
+        }
+        if (server != null) {
+            throw new IllegalStateException("The coordinator already loaded an inventory.");
+        }
+
+        Files.createDirectories(directory);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            int from = (int) ((long) items.length * partition / partitionCount);
+            int to = (int) ((long) items.length * (partition + 1) / partitionCount);
+            Item[] partitionItems = new Item[to - from];
+            System.arraycopy(items, from, partitionItems, 0, partitionItems.length);
+            new PartitionFile(0, partitionItems).write(PartitionFile.path(directory, partition));
+        }
+        this.partitions = partitionCount;
+        this.day = 0;
+
+        server = new ServerSocket(0, workerCount, InetAddress.getLoopbackAddress());
+        server.setSoTimeout(timeoutMillis);
+        for (int id = 0; id < workerCount; id++) {
+            startWorker();
+        }
+
+        for (int partition = 0; partition < partitionCount; partition++) {
+            assign(partition);
+        }
+    }
+
+    /**
+     * Update the inventory for the given amount of days, one day at a time on all workers.
+     * <p>
+     * A day only counts as applied once every worker reported it done. If a worker fails, the replies of all other workers
+     * are still read, so the next call starts in step, and the day is not applied: calling again re-sends the same day, which
+     * the workers that already stored it skip.
+     *
+     * @param days amount of days to advance.
+     * @throws IOException if no worker can be started to replace dead ones, or workers keep dying loading a partition.
+     * @throws IllegalStateException if a partition can not be loaded or the update rules reject an {@link Item}; the failed
+     *             day is not applied.
+     */
+    public void tick(int days) throws IOException {
+        if (server == null) {
+            throw new IllegalStateException("The coordinator has no inventory loaded.");
+        }
+
+        for (int i = 0; i < days; i++) {
+            int next = day + 1;
+
+            List<WorkerHandle> ticking = new ArrayList<>();
+            for (WorkerHandle worker : workers) {
+                if (worker.alive && send(worker, Protocol.TICK, next)) {
+                    ticking.add(worker);
+                }
+            }
+            IllegalStateException failure = null;
+            for (WorkerHandle worker : ticking) {
+                try {
+                    awaitDone(worker, next);
+                } catch (IllegalStateException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+
+            day = next;
+            reassignOrphans();
+        }
+    }
+
+    /**
+     * Read the current state of all partitions back, in inventory order.
+     *
+     * @return a new array of new {@link Item}s.
+     * @throws IOException if a partition can not be read.
+     */
+    public Item[] collect() throws IOException {
+        List<Item> items = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            PartitionFile file = PartitionFile.read(PartitionFile.path(directory, partition));
+            if (file.getDay() != day) {
+                throw new IllegalStateException("Partition " + partition + " is at day " + file.getDay() + " instead of " + day + ".");
+            }
+            for (Item item : file.getItems()) {
+                items.add(item);
+            }
+        }
+        return items.toArray(new Item[0]);
+    }
+
+    /**
+     * @return the last day applied to all partitions.
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * @return amount of worker processes that are still alive.
+     */
+    public int getLiveWorkers() {
+        int live = 0;
+        for (WorkerHandle worker : workers) {
+            if (worker.alive) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    /**
+     * Stop all workers. The partition files are left in the directory.
+     */
+    @Override
+    public void close() throws IOException {
+        for (WorkerHandle worker : workers) {
+            if (worker.alive) {
+                send(worker, Protocol.SHUTDOWN, 0);
+            }
+            worker.close();
+        }
+        for (WorkerHandle worker : workers) {
+            try {
+                if (!worker.process.waitFor(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    worker.process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                worker.process.destroyForcibly();
+                Thread.currentThread()
+                      .interrupt();
+            }
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    /*
+     * Exposed for tests simulating a worker crash.
+     */
+    Process workerProcess(int index) {
+        return workers.get(index).process;
+    }
+
+    private WorkerHandle startWorker() throws IOException {
+        int id = workers.size();
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java")
+                           .toString();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), TickWorker.class.getName(),
+                                             Integer.toString(server.getLocalPort()), Integer.toString(id),
+                                             directory.toAbsolutePath()
+                                                      .toString()).redirectErrorStream(true)
+                                                                  .redirectOutput(new File(directory.toFile(), "worker-" + id + ".log"))
+                                                                  .start();
+
+        Socket socket;
+        try {
+            socket = server.accept();
+        } catch (IOException e) {
+            process.destroyForcibly();
+            throw new IOException("Worker " + id + " did not connect within " + timeoutMillis + " ms.", e);
+        }
+        socket.setSoTimeout(timeoutMillis);
+        socket.setTcpNoDelay(true);
+
+        WorkerHandle worker = new WorkerHandle(process, socket);
+        int connectedId = worker.in.readInt();
+        if (connectedId != id) {
+            worker.close();
+            process.destroyForcibly();
+            throw new IOException("Expected worker " + id + " to connect, but worker " + connectedId + " did.");
+        }
+
+        workers.add(worker);
+        return worker;
+    }
+
+    /*
+     * Assign a partition to the live worker with the fewest partitions, starting a new worker if none is alive.
+     */
+    private void assign(int partition) throws IOException {
+        for (int attempt = 0; attempt < MAX_ASSIGN_ATTEMPTS; attempt++) {
+            WorkerHandle target = null;
+            for (WorkerHandle worker : workers) {
+                if (worker.alive && (target == null || worker.partitions.size() < target.partitions.size())) {
+                    target = worker;
+                }
+            }
+            if (target == null) {
+                target = startWorker();
+            }
+
+            try {
+                if (send(target, Protocol.ASSIGN, partition) && await(target, Protocol.OK)) {
+                    target.partitions.add(partition);
+                    return;
+                }
+            } catch (IllegalStateException e) {
+                throw new IllegalStateException("Partition " + partition + " could not be loaded: " + e.getMessage(), e);
+            }
+        }
+        throw new IOException("Partition " + partition + " could not be assigned, " + MAX_ASSIGN_ATTEMPTS + " workers died loading it.");
+    }
+
+    private void reassignOrphans() throws IOException {
+        for (WorkerHandle dead : new ArrayList<>(workers)) {
+            if (!dead.alive && !dead.partitions.isEmpty()) {
+                List<Integer> orphans = new ArrayList<>(dead.partitions);
+                dead.partitions.clear();
+
+                for (int partition : orphans) {
+                    assign(partition);
+                }
+            }
+        }
+
+        // The new owners catch up from the stored day boundary; a failing catch-up orphans the partitions again.
+        for (WorkerHandle worker : new ArrayList<>(workers)) {
+            if (worker.alive && worker.behind) {
+                worker.behind = !(send(worker, Protocol.TICK, day) && awaitDone(worker, day));
+            }
+        }
+        for (WorkerHandle worker : workers) {
+            if (!worker.alive && !worker.partitions.isEmpty()) {
+                reassignOrphans();
+                return;
+            }
+        }
+    }
+
+    private boolean send(WorkerHandle worker, byte command, int argument) {
+        try {
+            worker.out.writeByte(command);
+            worker.out.writeInt(argument);
+            worker.out.flush();
+            if (command == Protocol.ASSIGN) {
+                worker.behind = true;
+            }
+            return true;
+        } catch (IOException e) {
+            worker.die();
+            return false;
+        }
+    }
+
+    private boolean awaitDone(WorkerHandle worker, int expectedDay) {
+        if (!await(worker, Protocol.DONE)) {
+            return false;
+        }
+
+        try {
+            int doneDay = worker.in.readInt();
+            if (doneDay != expectedDay) {
+                throw new IllegalStateException("Worker reported day " + doneDay + " done instead of day " + expectedDay + ".");
+            }
+            worker.behind = false;
+            return true;
+        } catch (IOException e) {
+            worker.die();
+            return false;
+        }
+    }
+
+    private boolean await(WorkerHandle worker, byte expected) {
+        try {
+            byte reply = worker.in.readByte();
+            if (reply == Protocol.FAILED) {
+                throw new IllegalStateException("Worker failed to update its partitions: " + worker.in.readUTF());
+            }
+            if (reply != expected) {
+                throw new IOException("Unexpected reply '" + reply + "' from worker.");
+            }
+            return true;
+        } catch (IOException e) {
+            worker.die();
+            return false;
+        }
+    }
+
+    private static final class WorkerHandle {
+
+        private final Process process;
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final TreeSet<Integer> partitions = new TreeSet<>();
+        private boolean alive = true;
+        private boolean behind;
+
+        private WorkerHandle(Process process, Socket socket) throws IOException {
+            this.process = process;
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        private void die() {
+            alive = false;
+            close();
+            process.destroyForcibly();
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Nothing left to release.
+            }
+        }
+
+    }
+
+    /**
+     * Builds (instantiates) a new {@link TickCoordinator} object with the given attributes.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private int workers = Runtime.getRuntime()
+                                     .availableProcessors();
+        private Path directory;
+        private int timeoutMillis = 60_000;
+
+        /**
+         * @param workers amount of worker processes to start, at least one.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withWorkers(int workers) {
+            if (workers <= 0) {
+                throw new IllegalArgumentException("A coordinator needs at least one worker.");
+            }
+
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * @param directory the directory shared with the workers to store the partitions in.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withDirectory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * @param timeoutMillis how long to wait for a worker to connect or to reply before it is considered dead.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withTimeoutMillis(int timeoutMillis) {
+            if (timeoutMillis <= 0) {
+                throw new IllegalArgumentException("The worker timeout must be positive.");
+            }
+
+            this.timeoutMillis = timeoutMillis;
+            return this;
+        }
+
+        /**
+         * Instantiates a new {@link TickCoordinator} object with the given attributes.
+         *
+         * @return a new TickCoordinator object.
+         */
+        public TickCoordinator build() {
+            if (directory == null) {
+                throw new IllegalStateException("A coordinator needs a directory to store the partitions in.");
+            }
+
+            return new TickCoordinator(this);
+        }
+
+    }
+
+}
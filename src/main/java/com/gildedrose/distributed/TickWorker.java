@@ -0,0 +1,130 @@
+package com.gildedrose.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.gildedrose.GildedRose;
+
+
+/**
+ * A worker process of a partitioned tick: runs the {@link GildedRose} update rules on the partitions the
+ * {@link TickCoordinator} assigns to it, and stores every partition at each day boundary.
+ * <p>
+ * Usage: {@code TickWorker <coordinatorPort> <workerId> <directory>}
+ * 
+ * @author kavert
+ */
+public final class TickWorker {
+
+    private final Path directory;
+    private final Map<Integer, Partition> partitions = new TreeMap<>();
+
+    private TickWorker(Path directory) {
+        this.directory = directory;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: TickWorker <coordinatorPort> <workerId> <directory>");
+        }
+
+        int port = Integer.parseInt(args[0]);
+        int workerId = Integer.parseInt(args[1]);
+        TickWorker worker = new TickWorker(Paths.get(args[2]));
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            out.writeInt(workerId);
+            out.flush();
+            worker.serve(in, out);
+        } catch (EOFException e) {
+            // The coordinator went away, nothing left to do.
+        }
+    }
+
+    private void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        while (true) {
+            byte command = in.readByte();
+            if (command == Protocol.SHUTDOWN) {
+                return;
+            }
+            int argument = in.readInt();
+
+            // A partition that can not be read or updated is reported, the worker keeps serving its other partitions.
+            try {
+                switch (command) {
+                    case Protocol.ASSIGN:
+                        assign(argument);
+                        out.writeByte(Protocol.OK);
+                        break;
+                    case Protocol.TICK:
+                        tick(argument);
+                        out.writeByte(Protocol.DONE);
+                        out.writeInt(argument);
+                        break;
+                    default:
+                        throw new IOException("Unknown command '" + command + "'.");
+                }
+            } catch (IOException | RuntimeException e) {
+                out.writeByte(Protocol.FAILED);
+                out.writeUTF(String.valueOf(e.getMessage()));
+            }
+            out.flush();
+        }
+    }
+
+    private void assign(int partition) throws IOException {
+        partitions.put(partition, new Partition(PartitionFile.read(PartitionFile.path(directory, partition))));
+    }
+
+    /*
+     * Partitions loaded from a file stored after the day are not updated again, and a partition failing halfway through a
+     * day is reloaded from its stored day boundary, which makes re-sending a day safe.
+     */
+    private void tick(int day) throws IOException {
+        for (Map.Entry<Integer, Partition> entry : partitions.entrySet()) {
+            Partition partition = entry.getValue();
+            if (partition.day < day) {
+                Path path = PartitionFile.path(directory, entry.getKey());
+                try {
+                    while (partition.day < day) {
+                        partition.gildedRose.updateQuality();
+                        partition.day++;
+                    }
+                } catch (RuntimeException e) {
+                    entry.setValue(new Partition(PartitionFile.read(path)));
+                    throw e;
+                }
+                new PartitionFile(partition.day, partition.file.getItems()).write(path);
+            }
+        }
+    }
+
+    private static final class Partition {
+
+        private final PartitionFile file;
+        private final GildedRose gildedRose;
+        private int day;
+
+        private Partition(PartitionFile file) {
+            this.file = file;
+            this.gildedRose = new GildedRose(file.getItems());
+            this.day = file.getDay();
+        }
+
+    }
+
+}
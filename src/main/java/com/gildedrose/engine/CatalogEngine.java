@@ -0,0 +1,49 @@
+package com.gildedrose.engine;
+
+import com.gildedrose.config.catalog.CategoryCatalog;
+import com.gildedrose.model.Item;
+
+
+/**
+ * {@link QualityEngine} driven by a {@link CategoryCatalog} instead of the built-in categories: the category id of an
+ * {@link Item} is a single hash lookup of its name and its operator an array lookup, whatever the amount of categories.
+ *
+ * @author kavert
+ */
+public class CatalogEngine implements QualityEngine {
+
+    private final CategoryCatalog catalog;
+
+    /**
+     * @param catalog the {@link CategoryCatalog} resolving the category and operator of every {@link Item}.
+     */
+    public CatalogEngine(CategoryCatalog catalog) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("A non-null CategoryCatalog must be provided.");
+        }
+
+        this.catalog = catalog;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateQuality(Item[] items) {
+        final int length = items.length;
+        for (int i = 0; i < length; i++) {
+            final Item item = items[i];
+            if (item == null) {
+                throw new IllegalArgumentException("To get a QualityOperator a non-null item must be provided.");
+            }
+
+            final int category = catalog.categoryOf(item.name);
+            item.quality = catalog.operator(category)
+                                  .applyQuality(item.sellIn, item.quality);
+            if (!catalog.isLegendary(category)) {
+                item.sellIn = item.sellIn - 1;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.gildedrose.engine;
+
+import com.gildedrose.checkpoint.MappedInventory;
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.function.quality.QualityOperator;
+import com.gildedrose.function.quality.QualityOperatorFactory;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.ColumnarInventory;
+import com.gildedrose.model.Item;
+import com.gildedrose.model.ItemView;
+import com.gildedrose.model.NameDictionary;
+
+
+/**
+ * Applies the daily update rules to a {@link ColumnarInventory}, or in place to any other store through an {@link ItemView}.<br>
+ * The {@link QualityOperator} of every {@link Category} is created once; the {@link Category} of an item is an array lookup
+ * on its name id instead of comparing its name with the {@code Inventory} constants.
+ * <p>
+ * The {@link ColumnarInventory} and {@link MappedInventory} loops are kept apart from the {@link ItemView} loop, so each
+ * stays monomorphic and its accessors inline.
+ * 
+ * @author kavert
+ */
+public class ColumnarEngine implements QualityEngine {
+
+    private final QualityOperator[] operators;
+
+    /**
+     * @param configuration {@link QualityConfiguration} instance.
+     */
+    public ColumnarEngine(QualityConfiguration configuration) {
+        Category[] categories = Category.values();
+        this.operators = new QualityOperator[categories.length];
+        for (Category category : categories) {
+            this.operators[category.ordinal()] = QualityOperatorFactory.getQualityOperator(configuration, category);
+        }
+    }
+
+    /**
+     * Apply a single day of updates to all items of the inventory, in place.
+     * 
+     * @param inventory the {@link ColumnarInventory} to update.
+     */
+    public void updateQuality(ColumnarInventory inventory) {
+        final NameDictionary dictionary = inventory.getDictionary();
+        final int size = inventory.size();
+
+        for (int i = 0; i < size; i++) {
+            Category category = dictionary.categoryOf(inventory.nameId(i));
+            int sellIn = inventory.sellIn(i);
+
+            inventory.setQuality(i, operators[category.ordinal()].applyQuality(sellIn, inventory.quality(i)));
+
+            if (category != Category.LEGENDARY) {
+                inventory.setSellIn(i, sellIn - 1);
+            }
+        }
+    }
+
+    /**
+     * Apply a single day of updates to all items of a memory-mapped inventory, in place.
+     * 
+     * @param inventory the {@link MappedInventory} to update.
+     */
+    public void updateQuality(MappedInventory inventory) {
+        final NameDictionary dictionary = inventory.getDictionary();
+        final int size = inventory.size();
+
+        for (int i = 0; i < size; i++) {
+            Category category = dictionary.categoryOf(inventory.nameId(i));
+            int sellIn = inventory.sellIn(i);
+
+            inventory.setQuality(i, operators[category.ordinal()].applyQuality(sellIn, inventory.quality(i)));
+
+            if (category != Category.LEGENDARY) {
+                inventory.setSellIn(i, sellIn - 1);
+            }
+        }
+    }
+
+    /**
+     * Apply a single day of updates to all items of a view, in place.
+     * 
+     * @param view the {@link ItemView} to update.
+     */
+    public void updateQuality(ItemView view) {
+        final int size = view.size();
+
+        for (int i = 0; i < size; i++) {
+            Category category = view.category(i);
+            int sellIn = view.sellIn(i);
+
+            view.setQuality(i, operators[category.ordinal()].applyQuality(sellIn, view.quality(i)));
+
+            if (category != Category.LEGENDARY) {
+                view.setSellIn(i, sellIn - 1);
+            }
+        }
+    }
+
+    /**
+     * Update legacy {@link com.gildedrose.Item}s in place, without converting them.
+     * 
+     * @param items the legacy {@link com.gildedrose.Item}s to update.
+     */
+    public void updateQuality(com.gildedrose.Item[] items) {
+        updateQuality(ItemView.of(items));
+    }
+
+    /**
+     * Update {@link Item}s in place through an {@link ItemView}.
+     * 
+     * @see QualityEngine#updateQuality(Item[])
+     */
+    @Override
+    public void updateQuality(Item[] items) {
+        updateQuality(ItemView.of(items));
+    }
+
+}
@@ -0,0 +1,510 @@
+package com.gildedrose.engine;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.function.quality.QualityOperator;
+import com.gildedrose.function.quality.QualityOperatorFactory;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Item;
+import com.gildedrose.model.ItemView;
+import com.gildedrose.model.NameDictionary;
+
+
+/**
+ * Columnar inventory that computes tomorrow while today is still running: next to the active {@code sellIn} and quality
+ * columns it keeps a shadow pair holding the values after the next update. Low-priority background workers fill the shadow
+ * columns during the day, so the day rollover only computes what they did not get to and swaps the two pairs in O(1).
+ * <p>
+ * Changing an item during the day sets its bit in a dirty bitmap; the workers recompute the shadow values of dirty items.
+ * A worker clears a bit before reading the item, so a change racing the worker sets the bit again and is never lost.
+ * Changes and workers share a read lock; the rollover takes the write lock, so it never sees half a change. The shadow
+ * counts as complete only once no worker is between claiming items and storing their values.
+ * <p>
+ * Reads take no lock. Both columns of a day are swapped in a single volatile write, but a {@code sellIn} and a quality read
+ * in separate calls may straddle a rollover; compare {@link #getDay()} before and after to detect it.
+ *
+ * @author kavert
+ */
+public final class DoubleBufferedInventory implements ItemView, Closeable {
+
+    private static final int CHUNK_SIZE = 4096;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final QualityOperator[] operators;
+    private final NameDictionary dictionary = new NameDictionary();
+
+    private int[] nameIds = new int[INITIAL_CAPACITY];
+    private volatile Columns active = new Columns(INITIAL_CAPACITY);
+    private Columns shadow = new Columns(INITIAL_CAPACITY);
+    private volatile int size;
+    private volatile int day;
+
+    // Items below the sweep cursor were claimed for the shadow since the last rollover.
+    private final AtomicInteger sweepCursor = new AtomicInteger();
+    // Workers between claiming items and storing their shadow values.
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile AtomicLongArray dirty = new AtomicLongArray(words(INITIAL_CAPACITY));
+    // Items the update rules rejected in the background, left for the rollover to report.
+    private volatile AtomicLongArray rejected = new AtomicLongArray(words(INITIAL_CAPACITY));
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock idleLock = new ReentrantLock();
+    private final Condition work = idleLock.newCondition();
+    private final Thread[] workers;
+    private volatile boolean running = true;
+
+    private DoubleBufferedInventory(Builder builder) {
+        Category[] categories = Category.values();
+        this.operators = new QualityOperator[categories.length];
+        for (Category category : categories) {
+            this.operators[category.ordinal()] = QualityOperatorFactory.getQualityOperator(builder.configuration, category);
+        }
+
+        for (Item item : builder.items) {
+            add(item.name, item.sellIn, item.quality);
+        }
+
+        this.workers = new Thread[builder.workers];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(this::precomputeContinuously, "shadow-precompute-" + i);
+            workers[i].setDaemon(true);
+            workers[i].setPriority(Thread.MIN_PRIORITY);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * Add an item at the end of the inventory.
+     *
+     * @param name name of the item.
+     * @param sellIn the sellIn of the item.
+     * @param quality the quality of the item.
+     * @return the index of the added item.
+     */
+    public int add(String name, int sellIn, int quality) {
+        final int index;
+        lock.writeLock()
+            .lock();
+        try {
+            if (size == nameIds.length) {
+                int capacity = size * 2;
+                nameIds = Arrays.copyOf(nameIds, capacity);
+                active = active.copyOf(capacity);
+                shadow = shadow.copyOf(capacity);
+                dirty = grow(dirty, words(capacity));
+                rejected = grow(rejected, words(capacity));
+            }
+
+            index = size;
+            nameIds[index] = dictionary.idOf(name);
+            active.sellIns[index] = sellIn;
+            active.qualities[index] = quality;
+            size = index + 1;
+            markDirty(index);
+        } finally {
+            lock.writeLock()
+                .unlock();
+        }
+        signalWork();
+        return index;
+    }
+
+    /**
+     * Change an item during the day; its shadow values are recomputed in the background.
+     *
+     * @param index index of the item.
+     * @param sellIn the new sellIn of the item.
+     * @param quality the new quality of the item.
+     */
+    public void set(int index, int sellIn, int quality) {
+        change(index, sellIn, quality, true, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSellIn(int index, int sellIn) {
+        change(index, sellIn, 0, true, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setQuality(int index, int quality) {
+        change(index, 0, quality, false, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String name(int index) {
+        checkIndex(index);
+        return dictionary.nameOf(nameIds[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Category category(int index) {
+        checkIndex(index);
+        return dictionary.categoryOf(nameIds[index]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int sellIn(int index) {
+        checkIndex(index);
+        return active.sellIns[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int quality(int index) {
+        checkIndex(index);
+        return active.qualities[index];
+    }
+
+    /**
+     * @return amount of day rollovers applied.
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * @return whether the shadow columns hold tomorrow's values of all items, so a rollover only swaps.
+     */
+    public boolean isPrecomputed() {
+        // A worker counts itself in before it claims, so read the claims first.
+        return sweepCursor.get() >= size && isEmpty(dirty) && inFlight.get() == 0;
+    }
+
+    /**
+     * Wait until the background workers caught up with all changes.
+     *
+     * @param timeout maximum time to wait.
+     * @param unit unit of the timeout.
+     * @return whether the shadow columns are complete.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean awaitPrecomputed(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isPrecomputed()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            signalWork();
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        return true;
+    }
+
+    /**
+     * Roll over to the next day: complete the shadow columns and swap them with the active ones.
+     * Same result as a single {@code updateQuality()} over all items.
+     *
+     * @throws IllegalStateException if the update rules reject an item; the inventory is left unchanged.
+     */
+    public void rollover() {
+        lock.writeLock()
+            .lock();
+        try {
+            // The workers are locked out: all claimed chunks are complete.
+            for (int index = sweepCursor.get(); index < size; index++) {
+                precompute(index);
+            }
+            sweepCursor.set(Math.max(sweepCursor.get(), size));
+            drain(dirty);
+            drain(rejected);
+
+            Columns today = active;
+            active = shadow;
+            shadow = today;
+            sweepCursor.set(0);
+            day++;
+        } finally {
+            lock.writeLock()
+                .unlock();
+        }
+        signalWork();
+    }
+
+    /**
+     * Stop the background workers.
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    private void precomputeContinuously() {
+        while (running) {
+            if (!precomputeSome()) {
+                idleLock.lock();
+                try {
+                    work.await(10, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                } finally {
+                    idleLock.unlock();
+                }
+            }
+        }
+    }
+
+    /*
+     * Claim and compute a chunk of the sweep, or else the items of a dirty word.
+     */
+    private boolean precomputeSome() {
+        lock.readLock()
+            .lock();
+        inFlight.incrementAndGet();
+        try {
+            final int length = size;
+            int from = sweepCursor.get();
+            if (from < length) {
+                from = sweepCursor.getAndAdd(CHUNK_SIZE);
+                int to = Math.min(from + CHUNK_SIZE, length);
+                for (int index = from; index < to; index++) {
+                    precomputeInBackground(index);
+                }
+                return true;
+            }
+
+            AtomicLongArray bits = dirty;
+            for (int word = 0; word < bits.length(); word++) {
+                if (bits.get(word) != 0) {
+                    long claimed = bits.getAndSet(word, 0);
+                    while (claimed != 0) {
+                        int index = word * Long.SIZE + Long.numberOfTrailingZeros(claimed);
+                        claimed &= claimed - 1;
+                        precomputeInBackground(index);
+                    }
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            inFlight.decrementAndGet();
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    /*
+     * Change one or both columns of an item in the active columns the read lock keeps from being swapped, so neither a
+     * rollover nor a change of the other column is overwritten with a stale value.
+     */
+    private void change(int index, int sellIn, int quality, boolean changeSellIn, boolean changeQuality) {
+        lock.readLock()
+            .lock();
+        try {
+            checkIndex(index);
+            final Columns columns = active;
+            if (changeSellIn) {
+                columns.sellIns[index] = sellIn;
+            }
+            if (changeQuality) {
+                columns.qualities[index] = quality;
+            }
+            markDirty(index);
+        } finally {
+            lock.readLock()
+                .unlock();
+        }
+        signalWork();
+    }
+
+    private void precomputeInBackground(int index) {
+        try {
+            precompute(index);
+        } catch (RuntimeException e) {
+            set(rejected, index);
+        }
+    }
+
+    private void precompute(int index) {
+        Category category = dictionary.categoryOf(nameIds[index]);
+        int sellIn = active.sellIns[index];
+        shadow.qualities[index] = operators[category.ordinal()].applyQuality(sellIn, active.qualities[index]);
+        shadow.sellIns[index] = category == Category.LEGENDARY ? sellIn : sellIn - 1;
+    }
+
+    /*
+     * Precompute the items of a bitmap in the calling thread, clearing their bits.
+     */
+    private void drain(AtomicLongArray bits) {
+        for (int word = 0; word < bits.length(); word++) {
+            long claimed = bits.get(word);
+            while (claimed != 0) {
+                int index = word * Long.SIZE + Long.numberOfTrailingZeros(claimed);
+                precompute(index);
+                claimed &= claimed - 1;
+                bits.set(word, claimed);
+            }
+        }
+    }
+
+    private void markDirty(int index) {
+        set(dirty, index);
+    }
+
+    private void signalWork() {
+        if (idleLock.tryLock()) {
+            try {
+                work.signalAll();
+            } finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static void set(AtomicLongArray bits, int index) {
+        int word = index / Long.SIZE;
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+        } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+    }
+
+    private static boolean isEmpty(AtomicLongArray bits) {
+        for (int word = 0; word < bits.length(); word++) {
+            if (bits.get(word) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static AtomicLongArray grow(AtomicLongArray bits, int words) {
+        AtomicLongArray grown = new AtomicLongArray(words);
+        for (int word = 0; word < bits.length(); word++) {
+            grown.set(word, bits.get(word));
+        }
+        return grown;
+    }
+
+    private static int words(int capacity) {
+        return (capacity + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /*
+     * The sellIn and quality columns of one day, swapped together.
+     */
+    private static final class Columns {
+
+        private final int[] sellIns;
+        private final int[] qualities;
+
+        private Columns(int capacity) {
+            this(new int[capacity], new int[capacity]);
+        }
+
+        private Columns(int[] sellIns, int[] qualities) {
+            this.sellIns = sellIns;
+            this.qualities = qualities;
+        }
+
+        private Columns copyOf(int capacity) {
+            return new Columns(Arrays.copyOf(sellIns, capacity), Arrays.copyOf(qualities, capacity));
+        }
+
+    }
+
+    /**
+     * Builds (instantiates) a new {@link DoubleBufferedInventory} and starts its background workers.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private QualityConfiguration configuration;
+        private Item[] items = new Item[0];
+        private int workers = Math.max(1, Runtime.getRuntime()
+                                                 .availableProcessors() / 2);
+
+        /**
+         * @param configuration {@link QualityConfiguration} instance.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withConfiguration(QualityConfiguration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        /**
+         * @param items the initial {@link Item}s, copied into the columns.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withItems(Item[] items) {
+            this.items = items;
+            return this;
+        }
+
+        /**
+         * @param workers amount of low-priority background workers computing the shadow columns.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withWorkers(int workers) {
+            if (workers <= 0) {
+                throw new IllegalArgumentException("A double-buffered inventory needs at least one worker.");
+            }
+
+            this.workers = workers;
+            return this;
+        }
+
+        /**
+         * Instantiates a new {@link DoubleBufferedInventory} and starts its background workers.
+         *
+         * @return a new DoubleBufferedInventory object.
+         */
+        public DoubleBufferedInventory build() {
+            if (configuration == null) {
+                throw new IllegalStateException("A double-buffered inventory needs a quality configuration.");
+            }
+            if (items == null) {
+                throw new IllegalStateException("A double-buffered inventory needs a non-null array of items.");
+            }
+
+            return new DoubleBufferedInventory(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,231 @@
+package com.gildedrose.engine;
+
+import java.util.concurrent.TimeUnit;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.function.quality.QualityOperator;
+import com.gildedrose.function.quality.QualityOperatorFactory;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.ItemView;
+
+
+/**
+ * Daily update split into resumable slices, so the update of a large inventory can be interleaved with other work on the
+ * same threads without a long pause. Each slice stops at an item budget, a time budget or the end of the inventory,
+ * whichever comes first.
+ * <p>
+ * A cursor marks how far the day got: items below it are at their updated state, items from it on still at their state of
+ * the previous day ({@link #isUpdated(int)}). The amount of items of a day is fixed when it begins.
+ * <p>
+ * Not thread-safe: begin days and run slices from a single thread, or synchronize externally.
+ *
+ * @author kavert
+ */
+public final class IncrementalTick {
+
+    // Items between two reads of the clock.
+    private static final int CLOCK_INTERVAL = 64;
+
+    private final QualityOperator[] operators;
+    private final ItemView items;
+    private final int itemBudget;
+    private final long timeBudgetNanos;
+
+    private int cursor;
+    private int size;
+    private boolean inProgress;
+    private int day;
+
+    private IncrementalTick(Builder builder) {
+        Category[] categories = Category.values();
+        this.operators = new QualityOperator[categories.length];
+        for (Category category : categories) {
+            this.operators[category.ordinal()] = QualityOperatorFactory.getQualityOperator(builder.configuration, category);
+        }
+
+        this.items = builder.items;
+        this.itemBudget = builder.itemBudget;
+        this.timeBudgetNanos = builder.timeBudgetNanos;
+    }
+
+    /**
+     * Begin the update of the next day at the first item.
+     *
+     * @throws IllegalStateException if the update of the previous day is not finished.
+     */
+    public void beginDay() {
+        if (inProgress) {
+            throw new IllegalStateException("Day " + (day + 1) + " is still in progress at item " + cursor + " of " + size + ".");
+        }
+
+        cursor = 0;
+        size = items.size();
+        inProgress = true;
+    }
+
+    /**
+     * Update the next slice of items within the budgets.
+     *
+     * @return whether the day is finished.
+     * @throws IllegalStateException if no day is in progress, or the rules reject an item; the cursor then stays at that
+     *             item.
+     */
+    public boolean runSlice() {
+        return runSlice(itemBudget, timeBudgetNanos);
+    }
+
+    /**
+     * Update all remaining items of the day, ignoring the budgets.
+     *
+     * @throws IllegalStateException if no day is in progress, or the rules reject an item.
+     */
+    public void finishDay() {
+        runSlice(Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    private boolean runSlice(int maxItems, long maxNanos) {
+        if (!inProgress) {
+            throw new IllegalStateException("No day in progress, begin a day first.");
+        }
+
+        final long start = maxNanos == Long.MAX_VALUE ? 0 : System.nanoTime();
+        final int end = (int) Math.min(size, (long) cursor + maxItems);
+        int i = cursor;
+        try {
+            while (i < end) {
+                final int checkpoint = Math.min(end, i + CLOCK_INTERVAL);
+                for (; i < checkpoint; i++) {
+                    final Category category = items.category(i);
+                    final int sellIn = items.sellIn(i);
+                    items.setQuality(i, operators[category.ordinal()].applyQuality(sellIn, items.quality(i)));
+                    if (category != Category.LEGENDARY) {
+                        items.setSellIn(i, sellIn - 1);
+                    }
+                }
+                if (maxNanos != Long.MAX_VALUE && System.nanoTime() - start >= maxNanos) {
+                    break;
+                }
+            }
+        } finally {
+            cursor = i;
+        }
+
+        if (cursor == size) {
+            inProgress = false;
+            day++;
+        }
+        return !inProgress;
+    }
+
+    /**
+     * @param index index of an item.
+     * @return whether the item is at its updated state of the day in progress, or of the last finished day.
+     */
+    public boolean isUpdated(int index) {
+        return !inProgress || index < cursor;
+    }
+
+    /**
+     * @return whether a day is in progress.
+     */
+    public boolean isInProgress() {
+        return inProgress;
+    }
+
+    /**
+     * @return index of the next item to update.
+     */
+    public int getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @return share (0 to 1) of the items of the day in progress already updated, 1 if no day is in progress.
+     */
+    public double getProgress() {
+        return !inProgress || size == 0 ? 1 : (double) cursor / size;
+    }
+
+    /**
+     * @return amount of finished days.
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * Builds (instantiates) a new {@link IncrementalTick}.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private QualityConfiguration configuration;
+        private ItemView items;
+        private int itemBudget = Integer.MAX_VALUE;
+        private long timeBudgetNanos = Long.MAX_VALUE;
+
+        /**
+         * @param configuration {@link QualityConfiguration} instance.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withConfiguration(QualityConfiguration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        /**
+         * @param items the inventory, updated in place.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withItems(ItemView items) {
+            this.items = items;
+            return this;
+        }
+
+        /**
+         * @param itemBudget maximum amount of items updated per slice.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withItemBudget(int itemBudget) {
+            if (itemBudget <= 0) {
+                throw new IllegalArgumentException("The item budget of a slice must be positive.");
+            }
+
+            this.itemBudget = itemBudget;
+            return this;
+        }
+
+        /**
+         * @param timeBudget maximum time spent per slice; the clock is read every {@value IncrementalTick#CLOCK_INTERVAL} items.
+         * @param unit unit of the time budget.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withTimeBudget(long timeBudget, TimeUnit unit) {
+            if (timeBudget <= 0) {
+                throw new IllegalArgumentException("The time budget of a slice must be positive.");
+            }
+
+            this.timeBudgetNanos = unit.toNanos(timeBudget);
+            return this;
+        }
+
+        /**
+         * Instantiates a new {@link IncrementalTick}.
+         *
+         * @return a new IncrementalTick object.
+         */
+        public IncrementalTick build() {
+            if (configuration == null) {
+                throw new IllegalStateException("An incremental tick needs a quality configuration.");
+            }
+            if (items == null) {
+                throw new IllegalStateException("An incremental tick needs an inventory to update.");
+            }
+
+            return new IncrementalTick(this);
+        }
+
+    }
+
+}
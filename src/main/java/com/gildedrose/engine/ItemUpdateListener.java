@@ -0,0 +1,25 @@
+package com.gildedrose.engine;
+
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Item;
+
+
+/**
+ * Receives every {@link Item} right after its daily update, so derived data (indexes, aggregates, audit records)
+ * can be maintained incrementally instead of re-scanning the inventory.<br>
+ * Called on the thread running the update, in the middle of it: implementations must be cheap and must not modify the {@link Item}.
+ * 
+ * @author kavert
+ */
+@FunctionalInterface
+public interface ItemUpdateListener {
+
+    /**
+     * @param index the position of the {@link Item} in the inventory.
+     * @param category the {@link Category} of the {@link Item}.
+     * @param previousQuality the quality of the {@link Item} before the update.
+     * @param item the updated {@link Item}.
+     */
+    void itemUpdated(int index, Category category, int previousQuality, Item item);
+
+}
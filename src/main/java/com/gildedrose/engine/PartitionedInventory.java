@@ -0,0 +1,216 @@
+package com.gildedrose.engine;
+
+import java.util.Arrays;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.function.quality.QualityOperator;
+import com.gildedrose.function.quality.QualityOperatorFactory;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Item;
+
+
+/**
+ * Inventory that keeps its {@link Item}s grouped in a contiguous run per {@link Category}, so the daily update walks
+ * every run with the {@link QualityOperator#applyAll(Item[], int, int, int[])} loop of a single operator class, which
+ * stays monomorphic. In a mixed inventory one call site would see every operator class in turn.
+ * <p>
+ * The grouping is maintained on insert. {@link Item}s keep the index they were added at: an indirection map translates
+ * it to the run and slot holding the {@link Item}.
+ *
+ * @author kavert
+ */
+public class PartitionedInventory {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final QualityOperator[] operators;
+    private final Item[][] runs;
+    private final int[] runSizes;
+    // Per run and slot, the external index of the item.
+    private final int[][] runIndexes;
+    // Per run and slot, the new quality of the item; computed before any item is modified.
+    private final int[][] runQualities;
+
+    // Per external index, the run and the slot of the item.
+    private byte[] runOf;
+    private int[] slotOf;
+    private int size;
+
+    /**
+     * Initiates an empty inventory.
+     *
+     * @param configuration {@link QualityConfiguration} instance.
+     */
+    public PartitionedInventory(QualityConfiguration configuration) {
+        Category[] categories = Category.values();
+        this.operators = new QualityOperator[categories.length];
+        this.runs = new Item[categories.length][];
+        this.runSizes = new int[categories.length];
+        this.runIndexes = new int[categories.length][];
+        this.runQualities = new int[categories.length][];
+        for (Category category : categories) {
+            this.operators[category.ordinal()] = QualityOperatorFactory.getQualityOperator(configuration, category);
+            this.runs[category.ordinal()] = new Item[INITIAL_CAPACITY];
+            this.runIndexes[category.ordinal()] = new int[INITIAL_CAPACITY];
+            this.runQualities[category.ordinal()] = new int[INITIAL_CAPACITY];
+        }
+
+        this.runOf = new byte[INITIAL_CAPACITY];
+        this.slotOf = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Create an inventory holding the given {@link Item}s, at the same indexes.
+     *
+     * @param configuration {@link QualityConfiguration} instance.
+     * @param items the {@link Item}s to add.
+     * @return a new {@link PartitionedInventory}.
+     */
+    public static PartitionedInventory of(QualityConfiguration configuration, Item[] items) {
+        PartitionedInventory inventory = new PartitionedInventory(configuration);
+        for (Item item : items) {
+            inventory.add(item);
+        }
+        return inventory;
+    }
+
+    /**
+     * Add an {@link Item} at the end of the run of its {@link Category}.
+     *
+     * @param item the {@link Item} to add.
+     * @return the external index of the {@link Item}.
+     */
+    public int add(Item item) {
+        if (item == null) {
+            throw new IllegalArgumentException("To get a QualityOperator a non-null item must be provided.");
+        }
+
+        if (size == runOf.length) {
+            runOf = Arrays.copyOf(runOf, size * 2);
+            slotOf = Arrays.copyOf(slotOf, size * 2);
+        }
+
+        int index = size++;
+        place(index, Category.of(item.name), item);
+        return index;
+    }
+
+    /**
+     * @param index the external index of an {@link Item}.
+     * @return the {@link Item} at the given index.
+     */
+    public Item get(int index) {
+        checkIndex(index);
+        return runs[runOf[index]][slotOf[index]];
+    }
+
+    /**
+     * Replace the {@link Item} at the given index, moving it to another run if its {@link Category} differs.
+     *
+     * @param index the external index of an {@link Item}.
+     * @param item the new {@link Item}.
+     */
+    public void set(int index, Item item) {
+        checkIndex(index);
+        if (item == null) {
+            throw new IllegalArgumentException("To get a QualityOperator a non-null item must be provided.");
+        }
+
+        Category category = Category.of(item.name);
+        if (category.ordinal() == runOf[index]) {
+            runs[runOf[index]][slotOf[index]] = item;
+        } else {
+            removeFromRun(index);
+            place(index, category, item);
+        }
+    }
+
+    /**
+     * @return amount of {@link Item}s in this inventory.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param category a {@link Category}.
+     * @return amount of {@link Item}s in the run of the given {@link Category}.
+     */
+    public int runSize(Category category) {
+        return runSizes[category.ordinal()];
+    }
+
+    /**
+     * @return all {@link Item}s in external index order.
+     */
+    public Item[] toArray() {
+        Item[] items = new Item[size];
+        for (int index = 0; index < size; index++) {
+            items[index] = runs[runOf[index]][slotOf[index]];
+        }
+        return items;
+    }
+
+    /**
+     * Apply a single day of updates to all {@link Item}s, one run at a time.
+     * <p>
+     * All new qualities are computed before any {@link Item} is modified, so an {@link Item} rejected by its operator
+     * leaves the whole inventory unchanged and the day can be retried.
+     *
+     * @see QualityEngine#updateQuality(Item[])
+     */
+    public void updateQuality() {
+        for (int run = 0; run < runs.length; run++) {
+            operators[run].applyAll(runs[run], 0, runSizes[run], runQualities[run]);
+        }
+
+        for (int run = 0; run < runs.length; run++) {
+            final Item[] items = runs[run];
+            final int[] qualities = runQualities[run];
+            final int length = runSizes[run];
+            final int step = run == Category.LEGENDARY.ordinal() ? 0 : 1;
+            for (int slot = 0; slot < length; slot++) {
+                items[slot].quality = qualities[slot];
+                items[slot].sellIn = items[slot].sellIn - step;
+            }
+        }
+    }
+
+    private void place(int index, Category category, Item item) {
+        int run = category.ordinal();
+        if (runSizes[run] == runs[run].length) {
+            runs[run] = Arrays.copyOf(runs[run], runSizes[run] * 2);
+            runIndexes[run] = Arrays.copyOf(runIndexes[run], runSizes[run] * 2);
+            runQualities[run] = new int[runSizes[run] * 2];
+        }
+
+        int slot = runSizes[run]++;
+        runs[run][slot] = item;
+        runIndexes[run][slot] = index;
+        runOf[index] = (byte) run;
+        slotOf[index] = slot;
+    }
+
+    /*
+     * Keep the run contiguous by moving its last item into the freed slot.
+     */
+    private void removeFromRun(int index) {
+        int run = runOf[index];
+        int slot = slotOf[index];
+        int last = --runSizes[run];
+
+        if (slot != last) {
+            runs[run][slot] = runs[run][last];
+            runIndexes[run][slot] = runIndexes[run][last];
+            slotOf[runIndexes[run][slot]] = slot;
+        }
+        runs[run][last] = null;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.gildedrose.engine;
+
+import com.gildedrose.model.Item;
+
+
+/**
+ * Represents an implementation of the daily update rules of {@code GildedRose}:
+ * the quality of every {@link Item} is modified by its {@code QualityOperator} and, unless the
+ * {@link Item} is legendary, its {@code sellIn} decreases by one.<br>
+ * Alternative engines must produce exactly the same {@link Item}s as {@code GildedRose#updateQuality()}.
+ *
+ * @author kavert
+ */
+@FunctionalInterface
+public interface QualityEngine {
+
+    /**
+     * Apply a single day of updates to all given {@link Item}s, in place.
+     *
+     * @param items the {@link Item}s to update. Never null.
+     */
+    void updateQuality(Item[] items);
+
+    /**
+     * Apply the given amount of days of updates to all given {@link Item}s, in place.
+     * Equivalent to calling {@link #updateQuality(Item[])} {@code days} times.
+     *
+     * @param items the {@link Item}s to update. Never null.
+     * @param days amount of days to advance. Can <i>not</i> be negative.
+     */
+    default void advance(Item[] items, int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("The amount of days to advance can not be negative.");
+        }
+
+        for (int day = 0; day < days; day++) {
+            updateQuality(items);
+        }
+    }
+
+}
@@ -0,0 +1,334 @@
+package com.gildedrose.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.function.quality.QualityOperator;
+import com.gildedrose.function.quality.QualityOperatorFactory;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Item;
+
+
+/**
+ * Inventory that sells, restocks and adjusts {@link Item}s while the daily update runs. The item slots are split into
+ * stripes of consecutive indexes, each guarded by its own lock. Every mutation locks only the stripes of the items it
+ * touches, and the daily update locks one stripe at a time while updating it, so an item is changed either fully before
+ * or fully after its daily update and mutations of different stripes never wait for each other.
+ * <p>
+ * A sold item leaves an empty slot (a tombstone) that the update skips and a restock can fill again. Transactions over
+ * several items lock their stripes in increasing order, so they can not deadlock with each other or with the update.
+ *
+ * @author kavert
+ */
+public final class StripedInventory {
+
+    private final QualityOperator[] operators;
+    private final Item[] items;
+    private final ReentrantLock[] stripes;
+    private final int stripeShift;
+
+    private StripedInventory(Builder builder) {
+        Category[] categories = Category.values();
+        this.operators = new QualityOperator[categories.length];
+        for (Category category : categories) {
+            this.operators[category.ordinal()] = QualityOperatorFactory.getQualityOperator(builder.configuration, category);
+        }
+
+        this.items = new Item[Math.max(builder.capacity, builder.items.length)];
+        for (int i = 0; i < builder.items.length; i++) {
+            this.items[i] = copy(builder.items[i]);
+        }
+
+        this.stripeShift = Integer.numberOfTrailingZeros(builder.stripeSize);
+        this.stripes = new ReentrantLock[(items.length + builder.stripeSize - 1) >>> stripeShift];
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            this.stripes[stripe] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * @return amount of item slots, sold or not.
+     */
+    public int capacity() {
+        return items.length;
+    }
+
+    /**
+     * @return amount of stripes the slots are split into.
+     */
+    public int stripes() {
+        return stripes.length;
+    }
+
+    /**
+     * @param index index of a slot.
+     * @return a copy of the {@link Item} in the slot, {@code null} if it is empty.
+     */
+    public Item get(int index) {
+        checkIndex(index);
+        ReentrantLock lock = stripes[index >>> stripeShift];
+        lock.lock();
+        try {
+            return items[index] == null ? null : copy(items[index]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sell an {@link Item}, leaving its slot empty.
+     *
+     * @param index index of the slot.
+     * @return the sold {@link Item}, {@code null} if the slot was already empty.
+     */
+    public Item sell(int index) {
+        checkIndex(index);
+        ReentrantLock lock = stripes[index >>> stripeShift];
+        lock.lock();
+        try {
+            Item sold = items[index];
+            items[index] = null;
+            return sold;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sell several {@link Item}s at once: either all of them are sold, or, if a slot is already empty, none of them.
+     *
+     * @param indexes indexes of the slots.
+     * @return the sold {@link Item}s, in the order of the indexes; {@code null} if a slot was empty.
+     */
+    public Item[] sellAll(int... indexes) {
+        int[] lockOrder = lockOrder(indexes);
+        lockAll(lockOrder);
+        try {
+            for (int index : indexes) {
+                if (items[index] == null) {
+                    return null;
+                }
+            }
+
+            Item[] sold = new Item[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                sold[i] = items[indexes[i]];
+                items[indexes[i]] = null;
+            }
+            return sold;
+        } finally {
+            unlockAll(lockOrder);
+        }
+    }
+
+    /**
+     * Restock a slot with a new {@link Item}, replacing the one it may still hold.
+     *
+     * @param index index of the slot.
+     * @param item the new {@link Item}, copied into the slot.
+     */
+    public void restock(int index, Item item) {
+        checkIndex(index);
+        if (item == null) {
+            throw new IllegalArgumentException("A non-null item must be provided to restock.");
+        }
+
+        Item restocked = copy(item);
+        ReentrantLock lock = stripes[index >>> stripeShift];
+        lock.lock();
+        try {
+            items[index] = restocked;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Change the {@code sellIn} and quality of an {@link Item} together.
+     *
+     * @param index index of the slot.
+     * @param sellIn the new {@code sellIn}.
+     * @param quality the new quality.
+     * @return whether the slot held an {@link Item} to adjust.
+     */
+    public boolean adjust(int index, int sellIn, int quality) {
+        checkIndex(index);
+        ReentrantLock lock = stripes[index >>> stripeShift];
+        lock.lock();
+        try {
+            Item item = items[index];
+            if (item == null) {
+                return false;
+            }
+
+            item.sellIn = sellIn;
+            item.quality = quality;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply a single day of updates to all {@link Item}s, one locked stripe at a time.
+     *
+     * @see QualityEngine#updateQuality(Item[])
+     */
+    public void updateQuality() {
+        for (int stripe = 0; stripe < stripes.length; stripe++) {
+            updateStripe(stripe);
+        }
+    }
+
+    /**
+     * Same as {@link #updateQuality()}, but updates the stripes in parallel on the common fork/join pool.
+     */
+    public void updateQualityInParallel() {
+        IntStream.range(0, stripes.length)
+                 .parallel()
+                 .forEach(this::updateStripe);
+    }
+
+    private void updateStripe(int stripe) {
+        final int from = stripe << stripeShift;
+        final int to = Math.min(items.length, from + (1 << stripeShift));
+        ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        try {
+            for (int i = from; i < to; i++) {
+                Item item = items[i];
+                if (item != null) {
+                    Category category = Category.of(item.name);
+                    items[i] = operators[category.ordinal()].apply(item);
+                    if (category != Category.LEGENDARY) {
+                        item.sellIn = item.sellIn - 1;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * The distinct stripes of the indexes, in increasing order.
+     */
+    private int[] lockOrder(int[] indexes) {
+        int[] order = new int[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            checkIndex(indexes[i]);
+            order[i] = indexes[i] >>> stripeShift;
+        }
+        Arrays.sort(order);
+
+        int distinct = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (i == 0 || order[i] != order[i - 1]) {
+                order[distinct++] = order[i];
+            }
+        }
+        return Arrays.copyOf(order, distinct);
+    }
+
+    private void lockAll(int[] lockOrder) {
+        for (int stripe : lockOrder) {
+            stripes[stripe].lock();
+        }
+    }
+
+    private void unlockAll(int[] lockOrder) {
+        for (int i = lockOrder.length - 1; i >= 0; i--) {
+            stripes[lockOrder[i]].unlock();
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= items.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Capacity: " + items.length);
+        }
+    }
+
+    private static Item copy(Item item) {
+        if (item == null) {
+            return null;
+        }
+        return new Item(item.name, item.sellIn, item.quality);
+    }
+
+    /**
+     * Builds (instantiates) a new {@link StripedInventory}.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private QualityConfiguration configuration;
+        private Item[] items = new Item[0];
+        private int capacity;
+        private int stripeSize = 4096;
+
+        /**
+         * @param configuration {@link QualityConfiguration} instance.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withConfiguration(QualityConfiguration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        /**
+         * @param items the initial {@link Item}s, copied into the first slots; {@code null} elements are empty slots.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withItems(Item[] items) {
+            this.items = items;
+            return this;
+        }
+
+        /**
+         * @param capacity amount of slots, at least the amount of initial {@link Item}s.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withCapacity(int capacity) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException("The capacity of an inventory can not be negative.");
+            }
+
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * @param stripeSize amount of consecutive slots guarded by one lock, a power of two.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withStripeSize(int stripeSize) {
+            if (stripeSize <= 0 || Integer.bitCount(stripeSize) != 1) {
+                throw new IllegalArgumentException("The stripe size must be a positive power of two.");
+            }
+
+            this.stripeSize = stripeSize;
+            return this;
+        }
+
+        /**
+         * Instantiates a new {@link StripedInventory}.
+         *
+         * @return a new StripedInventory object.
+         */
+        public StripedInventory build() {
+            if (configuration == null) {
+                throw new IllegalStateException("A striped inventory needs a quality configuration.");
+            }
+            if (items == null) {
+                throw new IllegalStateException("A striped inventory needs a non-null array of items.");
+            }
+
+            return new StripedInventory(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.gildedrose.engine;
+
+import java.util.Arrays;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.function.quality.QualityOperator;
+import com.gildedrose.function.quality.QualityOperatorFactory;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Item;
+import com.gildedrose.model.ItemView;
+
+
+/**
+ * Multi-day {@link QualityEngine} that advances the inventory block by block instead of day by day (temporal blocking).
+ * <p>
+ * Advancing {@code K} days one day at a time streams the whole inventory through memory {@code K} times. Items do not
+ * interact, so this engine gathers a block of items into primitive columns small enough to stay in cache, applies all
+ * {@code K} days to the block and only then writes it back, streaming the inventory once. The block is gathered grouped by
+ * {@link Category}, and each group is advanced by {@link QualityOperator#advanceAll(int[], int[], int, int, int, int)}
+ * of its operator, so every inner loop sees a single operator class.
+ * <p>
+ * The result is the same as {@code K} sequential updates. If an operator rejects an item, the blocks before it are
+ * advanced all days and the block of the item is left unchanged.
+ *
+ * @author kavert
+ */
+public class TemporalBlockingEngine implements QualityEngine {
+
+    /**
+     * Default amount of items per block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private final QualityOperator[] operators;
+    private final int blockSize;
+
+    /**
+     * Initiates an engine with blocks of {@link #DEFAULT_BLOCK_SIZE} items.
+     *
+     * @param configuration {@link QualityConfiguration} instance.
+     */
+    public TemporalBlockingEngine(QualityConfiguration configuration) {
+        this(configuration, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param configuration {@link QualityConfiguration} instance.
+     * @param blockSize amount of items advanced together.
+     */
+    public TemporalBlockingEngine(QualityConfiguration configuration, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("The block size must be positive.");
+        }
+
+        Category[] categories = Category.values();
+        this.operators = new QualityOperator[categories.length];
+        for (Category category : categories) {
+            this.operators[category.ordinal()] = QualityOperatorFactory.getQualityOperator(configuration, category);
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateQuality(Item[] items) {
+        advance(items, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void advance(Item[] items, int days) {
+        advance(ItemView.of(items), days);
+    }
+
+    /**
+     * Apply the given amount of days of updates to all items of a view, in place, one block at a time.
+     *
+     * @param view the items to update.
+     * @param days amount of days to advance. Can <i>not</i> be negative.
+     */
+    public void advance(ItemView view, int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("The amount of days to advance can not be negative.");
+        }
+
+        final int size = view.size();
+        final int[] sellIns = new int[blockSize];
+        final int[] qualities = new int[blockSize];
+        // Index in the view of every slot of the block; slots are grouped by category.
+        final int[] positions = new int[blockSize];
+        final Category[] categories = Category.values();
+        final int[] offsets = new int[categories.length + 1];
+        final int[] next = new int[categories.length];
+
+        for (int from = 0; from < size; from += blockSize) {
+            final int length = Math.min(blockSize, size - from);
+            gather(view, from, length, positions, offsets, next);
+            for (int j = 0; j < length; j++) {
+                sellIns[j] = view.sellIn(positions[j]);
+                qualities[j] = view.quality(positions[j]);
+            }
+
+            for (Category category : categories) {
+                final int ordinal = category.ordinal();
+                operators[ordinal].advanceAll(sellIns, qualities, offsets[ordinal], offsets[ordinal + 1], days,
+                                              category == Category.LEGENDARY ? 0 : 1);
+            }
+
+            for (int j = 0; j < length; j++) {
+                view.setSellIn(positions[j], sellIns[j]);
+                view.setQuality(positions[j], qualities[j]);
+            }
+        }
+    }
+
+    /*
+     * Counting sort of the items of a block by category: the items of category c get the slots offsets[c] up to
+     * offsets[c + 1], exclusive.
+     */
+    private static void gather(ItemView view, int from, int length, int[] positions, int[] offsets, int[] next) {
+        Arrays.fill(offsets, 0);
+        for (int j = 0; j < length; j++) {
+            offsets[view.category(from + j)
+                        .ordinal() + 1]++;
+        }
+        for (int c = 1; c < offsets.length; c++) {
+            offsets[c] += offsets[c - 1];
+        }
+
+        System.arraycopy(offsets, 0, next, 0, next.length);
+        for (int j = 0; j < length; j++) {
+            positions[next[view.category(from + j)
+                                .ordinal()]++] = from + j;
+        }
+    }
+
+}
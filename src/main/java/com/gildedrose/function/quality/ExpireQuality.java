@@ -70,6 +70,7 @@ class ExpireQuality implements QualityOperator {
                                                                                  .withAmount(this.lowerLimit)
                                                                                  .build();
         this.qualityModifiers.add(lowerLimitQualityModifier);
+        Collections.sort(this.qualityModifiers);
     }
 
     /**
@@ -81,6 +82,7 @@ class ExpireQuality implements QualityOperator {
      */
     public ExpireQuality addQualityModifier(QualityModifier qualityModifier) {
         this.qualityModifiers.add(qualityModifier);
+        Collections.sort(this.qualityModifiers);
         return this;
     }
 
@@ -99,12 +101,20 @@ class ExpireQuality implements QualityOperator {
             return item;
         }
 
-        if (item.sellIn <= 0) {
-            item.quality = lowerLimit;
-            return item;
+        item.quality = applyQuality(item.sellIn, item.quality);
+        return item;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int applyQuality(int sellIn, int quality) {
+        if (sellIn <= 0) {
+            return lowerLimit;
         }
 
-        int newQuality = item.quality + getModifierAmount(item.sellIn);
+        int newQuality = quality + getModifierAmount(sellIn);
 
         if (newQuality < lowerLimit) {
             newQuality = lowerLimit;
@@ -114,8 +124,34 @@ class ExpireQuality implements QualityOperator {
             newQuality = upperLimit;
         }
 
-        item.quality = newQuality;
-        return item;
+        return newQuality;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void applyAll(Item[] items, int from, int to, int[] qualities) {
+        for (int i = from; i < to; i++) {
+            qualities[i] = applyQuality(items[i].sellIn, items[i].quality);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void advanceAll(int[] sellIns, int[] qualities, int from, int to, int days, int step) {
+        for (int i = from; i < to; i++) {
+            int sellIn = sellIns[i];
+            int quality = qualities[i];
+            for (int day = 0; day < days; day++) {
+                quality = applyQuality(sellIn, quality);
+                sellIn -= step;
+            }
+            sellIns[i] = sellIn;
+            qualities[i] = quality;
+        }
     }
 
     /**
@@ -126,9 +162,7 @@ class ExpireQuality implements QualityOperator {
      * @return an amount
      */
     private int getModifierAmount(final int sellIn) {
-        // Make sure the modifiers are ordered descending by amount of days left.
-        Collections.sort(qualityModifiers);
-
+        // The modifiers are kept ordered descending by amount of days left when they are added.
         // Sell in higher then the first modifier.
         if (sellIn > qualityModifiers.get(0)
                                      .getDaysLeft()) {
@@ -161,4 +195,19 @@ class ExpireQuality implements QualityOperator {
         return 0;
     }
 
+    /**
+     * Hand the steps of this operator to a {@link FusedQuality} builder.
+     * 
+     * @param builder the {@link FusedQuality.Builder} to fuse into.
+     */
+    void fuseInto(FusedQuality.Builder builder) {
+        builder.withAmount(normalModifier)
+               .withExpiry()
+               .withLowerLimit(lowerLimit)
+               .withUpperLimit(upperLimit);
+        for (QualityModifier qualityModifier : qualityModifiers) {
+            builder.withTier(qualityModifier);
+        }
+    }
+
 }
@@ -0,0 +1,271 @@
+package com.gildedrose.function.quality;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.gildedrose.model.Item;
+import com.gildedrose.model.QualityModifier;
+
+
+/**
+ * A single {@link QualityOperator} fusing the steps of {@link DegradeQuality}, {@link ImproveQuality} and
+ * {@link ExpireQuality}: a daily amount, tiers by days left, a faster change or expiry once the sell by date passed,
+ * a multiplier and the quality limits.
+ * <p>
+ * All steps are resolved when the operator is built: the tiers become a lookup table by {@code sellIn} and the multiplier
+ * is folded into the amounts. Composite categories, like conjured backstage passes, therefore cost a table lookup, an addition
+ * and two comparisons per {@link Item}, the same as the simple operators, instead of a chain of operators each reading,
+ * modifying and clamping the quality again.
+ *
+ * @author kavert
+ */
+public final class FusedQuality implements QualityOperator {
+
+    private final int amount;
+    private final int expiredAmount;
+    // Amount by sellIn, for a sellIn from 1 up to the highest tier.
+    private final int[] tierAmounts;
+    private final boolean expires;
+    private final int lowerLimit;
+    private final int upperLimit;
+
+    private FusedQuality(Builder builder) {
+        this.amount = builder.amount * builder.multiplier;
+        this.expiredAmount = builder.amount * builder.expiredFactor * builder.multiplier;
+        this.expires = builder.expires;
+        this.lowerLimit = builder.lowerLimit;
+        this.upperLimit = builder.upperLimit;
+
+        int highestTier = 0;
+        for (QualityModifier tier : builder.tiers) {
+            highestTier = Math.max(highestTier, tier.getDaysLeft());
+        }
+
+        // A tier applies from its days left down to the days left of the next tier, exclusive.
+        this.tierAmounts = new int[highestTier + 1];
+        for (int sellIn = 1; sellIn <= highestTier; sellIn++) {
+            QualityModifier closest = null;
+            for (QualityModifier tier : builder.tiers) {
+                if (tier.getDaysLeft() >= sellIn && (closest == null || tier.getDaysLeft() < closest.getDaysLeft())) {
+                    closest = tier;
+                }
+            }
+            this.tierAmounts[sellIn] = closest.getAmount() * builder.multiplier;
+        }
+    }
+
+    /**
+     * Modify the quality of the provided {@link Item} with all fused steps.
+     *
+     * @param item The {@link Item} for which to modify the quality.
+     * @return The modified {@link Item}.
+     * @see QualityOperator
+     */
+    @Override
+    public Item apply(Item item) {
+        if (item == null) {
+            return item;
+        }
+
+        item.quality = applyQuality(item.sellIn, item.quality);
+        return item;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int applyQuality(int sellIn, int quality) {
+        int newQuality;
+        if (sellIn <= 0) {
+            if (expires) {
+                return lowerLimit;
+            }
+            newQuality = quality + expiredAmount;
+        } else if (sellIn < tierAmounts.length) {
+            newQuality = quality + tierAmounts[sellIn];
+        } else {
+            newQuality = quality + amount;
+        }
+
+        if (newQuality < lowerLimit) {
+            newQuality = lowerLimit;
+        }
+
+        if (newQuality > upperLimit) {
+            newQuality = upperLimit;
+        }
+
+        return newQuality;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void applyAll(Item[] items, int from, int to, int[] qualities) {
+        for (int i = from; i < to; i++) {
+            qualities[i] = applyQuality(items[i].sellIn, items[i].quality);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void advanceAll(int[] sellIns, int[] qualities, int from, int to, int days, int step) {
+        for (int i = from; i < to; i++) {
+            int sellIn = sellIns[i];
+            int quality = qualities[i];
+            for (int day = 0; day < days; day++) {
+                quality = applyQuality(sellIn, quality);
+                sellIn -= step;
+            }
+            sellIns[i] = sellIn;
+            qualities[i] = quality;
+        }
+    }
+
+    /**
+     * Builds (instantiates) a new {@link FusedQuality} operator from the given steps.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private int amount;
+        private int expiredFactor = 2;
+        private int multiplier = 1;
+        private final List<QualityModifier> tiers = new ArrayList<>();
+        private boolean expires;
+        private int lowerLimit = Integer.MIN_VALUE;
+        private int upperLimit = Integer.MAX_VALUE;
+
+        /**
+         * Take over the steps of a {@link DegradeQuality} operator.
+         *
+         * @param operator the {@link DegradeQuality} operator to fuse.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder from(DegradeQuality operator) {
+            operator.fuseInto(this);
+            return this;
+        }
+
+        /**
+         * Take over the steps of an {@link ImproveQuality} operator.
+         *
+         * @param operator the {@link ImproveQuality} operator to fuse.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder from(ImproveQuality operator) {
+            operator.fuseInto(this);
+            return this;
+        }
+
+        /**
+         * Take over the steps of an {@link ExpireQuality} operator.
+         *
+         * @param operator the {@link ExpireQuality} operator to fuse.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder from(ExpireQuality operator) {
+            operator.fuseInto(this);
+            return this;
+        }
+
+        /**
+         * @param amount the daily change of the quality when no tier applies. When negative the quality decreases.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withAmount(int amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        /**
+         * @param expiredFactor how many times faster the quality changes once the sell by date has passed.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withExpiredFactor(int expiredFactor) {
+            if (expiredFactor < 0) {
+                throw new IllegalArgumentException("The expired factor can not be negative.");
+            }
+
+            this.expiredFactor = expiredFactor;
+            return this;
+        }
+
+        /**
+         * @param multiplier factor applied to every change of the quality, e.g. 2 for conjured items.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withMultiplier(int multiplier) {
+            if (multiplier < 0) {
+                throw new IllegalArgumentException("The multiplier can not be negative.");
+            }
+
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * @param tier amount of quality added from its {@code daysLeft} until the next tier.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withTier(QualityModifier tier) {
+            if (tier == null) {
+                throw new IllegalArgumentException("A non-null QualityModifier must be provided.");
+            }
+
+            this.tiers.add(tier);
+            return this;
+        }
+
+        /**
+         * Once the sell by date has passed the quality drops to the lower limit.
+         *
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withExpiry() {
+            this.expires = true;
+            return this;
+        }
+
+        /**
+         * @param lowerLimit minimal allowed quality.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withLowerLimit(int lowerLimit) {
+            this.lowerLimit = lowerLimit;
+            return this;
+        }
+
+        /**
+         * @param upperLimit maximal allowed quality.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withUpperLimit(int upperLimit) {
+            this.upperLimit = upperLimit;
+            return this;
+        }
+
+        /**
+         * Instantiates a new {@link FusedQuality} operator with all steps resolved.
+         *
+         * @return a new immutable FusedQuality operator.
+         */
+        public FusedQuality build() {
+            if (expires && lowerLimit == Integer.MIN_VALUE) {
+                throw new IllegalStateException("An expiring operator needs a lower limit to drop the quality to.");
+            }
+            if (lowerLimit > upperLimit) {
+                throw new IllegalStateException("The lower limit can not exceed the upper limit.");
+            }
+
+            return new FusedQuality(this);
+        }
+
+    }
+
+}
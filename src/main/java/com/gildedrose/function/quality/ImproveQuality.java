@@ -38,19 +38,64 @@ class ImproveQuality implements QualityOperator {
             return item;
         }
 
+        item.quality = applyQuality(item.sellIn, item.quality);
+        return item;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int applyQuality(int sellIn, int quality) {
         int newQuality;
-        if (item.sellIn <= 0) {
-            newQuality = item.quality + (amount * 2);
+        if (sellIn <= 0) {
+            newQuality = quality + (amount * 2);
         } else {
-            newQuality = item.quality + amount;
+            newQuality = quality + amount;
         }
 
         if (newQuality > limit) {
             newQuality = limit;
         }
 
-        item.quality = newQuality;
-        return item;
+        return newQuality;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void applyAll(Item[] items, int from, int to, int[] qualities) {
+        for (int i = from; i < to; i++) {
+            qualities[i] = applyQuality(items[i].sellIn, items[i].quality);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void advanceAll(int[] sellIns, int[] qualities, int from, int to, int days, int step) {
+        for (int i = from; i < to; i++) {
+            int sellIn = sellIns[i];
+            int quality = qualities[i];
+            for (int day = 0; day < days; day++) {
+                quality = applyQuality(sellIn, quality);
+                sellIn -= step;
+            }
+            sellIns[i] = sellIn;
+            qualities[i] = quality;
+        }
+    }
+
+    /**
+     * Hand the steps of this operator to a {@link FusedQuality} builder.
+     * 
+     * @param builder the {@link FusedQuality.Builder} to fuse into.
+     */
+    void fuseInto(FusedQuality.Builder builder) {
+        builder.withAmount(amount)
+               .withUpperLimit(limit);
     }
 
 }
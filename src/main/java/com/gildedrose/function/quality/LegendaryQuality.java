@@ -44,4 +44,45 @@ class LegendaryQuality implements QualityOperator {
         return item;
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws IllegalStateException if the quality is invalid.
+     */
+    @Override
+    public int applyQuality(int sellIn, int quality) {
+        if (quality != limit) {
+            throw new IllegalStateException(String.format(ILLEGAL_LEGENDARY_ITEM_QUALITY, quality, "<unknown>"));
+        }
+
+        return quality;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void applyAll(Item[] items, int from, int to, int[] qualities) {
+        for (int i = from; i < to; i++) {
+            qualities[i] = applyQuality(items[i].sellIn, items[i].quality);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void advanceAll(int[] sellIns, int[] qualities, int from, int to, int days, int step) {
+        for (int i = from; i < to; i++) {
+            int sellIn = sellIns[i];
+            int quality = qualities[i];
+            for (int day = 0; day < days; day++) {
+                quality = applyQuality(sellIn, quality);
+                sellIn -= step;
+            }
+            sellIns[i] = sellIn;
+            qualities[i] = quality;
+        }
+    }
+
 }
@@ -16,4 +16,58 @@ import com.gildedrose.model.Item;
 @FunctionalInterface
 public interface QualityOperator extends UnaryOperator<Item> {
 
+    /**
+     * Compute the new quality of an {@link Item} from its primitive values, without an {@link Item} instance.
+     * Lets columnar inventories, which hold no {@link Item} objects, use the same operators.
+     * 
+     * @param sellIn the {@code sellIn} of the {@link Item} before it is updated.
+     * @param quality the {@code quality} of the {@link Item} before it is updated.
+     * @return the modified quality.
+     */
+    default int applyQuality(int sellIn, int quality) {
+        return apply(new Item(null, sellIn, quality)).quality;
+    }
+
+    /**
+     * Compute the new quality of a run of {@link Item}s, without modifying them.
+     * <p>
+     * Every concrete operator overrides this method with the same loop, so the loop is compiled per operator class and its
+     * {@link #applyQuality(int, int)} call stays monomorphic; a single default loop would be shared by all operator classes.
+     * 
+     * @param items the {@link Item}s to compute the new quality of.
+     * @param from index of the first {@link Item}, inclusive.
+     * @param to index of the last {@link Item}, exclusive.
+     * @param qualities receives the new quality of every {@link Item} at the index of the {@link Item}.
+     */
+    default void applyAll(Item[] items, int from, int to, int[] qualities) {
+        for (int i = from; i < to; i++) {
+            qualities[i] = applyQuality(items[i].sellIn, items[i].quality);
+        }
+    }
+
+    /**
+     * Apply several days of updates to a run of primitive {@code sellIn} and quality columns, in place.
+     * <p>
+     * Overridden by every concrete operator with the same loop, for the same reason as {@link #applyAll(Item[], int, int, int[])}.
+     * 
+     * @param sellIns the {@code sellIn} column, updated in place.
+     * @param qualities the quality column, updated in place.
+     * @param from index of the first value, inclusive.
+     * @param to index of the last value, exclusive.
+     * @param days amount of days to apply.
+     * @param step amount the {@code sellIn} decreases per day; 0 for items that never have to be sold.
+     */
+    default void advanceAll(int[] sellIns, int[] qualities, int from, int to, int days, int step) {
+        for (int i = from; i < to; i++) {
+            int sellIn = sellIns[i];
+            int quality = qualities[i];
+            for (int day = 0; day < days; day++) {
+                quality = applyQuality(sellIn, quality);
+                sellIn -= step;
+            }
+            sellIns[i] = sellIn;
+            qualities[i] = quality;
+        }
+    }
+
 }
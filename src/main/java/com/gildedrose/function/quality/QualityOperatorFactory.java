@@ -1,7 +1,7 @@
 package com.gildedrose.function.quality;
 
 import com.gildedrose.config.quality.QualityConfiguration;
-import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Category;
 import com.gildedrose.model.Item;
 
 
@@ -24,23 +24,33 @@ public class QualityOperatorFactory {
             throw new IllegalArgumentException("To get a QualityOperator a non-null item must be provided.");
         }
 
-        if (Inventory.AGED_BRIE.equals(item.name)) {
-            return createImproveQualityOperator(configuration);
-        }
-
-        if (Inventory.BACKSTAGE_TAFKAL80ETC.equals(item.name)) {
-            return createBackstagePassQualityOperator(configuration);
-        }
-
-        if (Inventory.SULFURAS.equals(item.name)) {
-            return createLegendaryQualityOperator(configuration);
-        }
+        return getQualityOperator(configuration, Category.of(item.name));
+    }
 
-        if (Inventory.MANA_CAKE.equals(item.name)) {
-            return createConjuredQualityOperator(configuration);
+    /**
+     * Create an instance of a concrete {@link QualityOperator} that applies to all {@link Item}s of the given {@link Category}.
+     * 
+     * @param configuration {@link QualityConfiguration} instance.
+     * @param category The {@link Category} of the {@link Item}s that need to be modified.
+     * @return The {@link QualityOperator} which applies to the given {@link Category}.
+     */
+    public static QualityOperator getQualityOperator(QualityConfiguration configuration, Category category) {
+        switch (category) {
+            case IMPROVING:
+                return createImproveQualityOperator(configuration);
+            case EXPIRING:
+                return createBackstagePassQualityOperator(configuration);
+            case LEGENDARY:
+                return createLegendaryQualityOperator(configuration);
+            case CONJURED:
+                return createConjuredQualityOperator(configuration);
+            case CONJURED_IMPROVING:
+                return createConjuredImproveQualityOperator(configuration);
+            case CONJURED_EXPIRING:
+                return createConjuredBackstagePassQualityOperator(configuration);
+            default:
+                return createDegradeQualityOperator(configuration);
         }
-
-        return createDegradeQualityOperator(configuration);
     }
 
     /**
@@ -71,7 +81,17 @@ public class QualityOperatorFactory {
      * @return an instance of {@link LegendaryQuality} operator.
      */
     public static LegendaryQuality createLegendaryQualityOperator(QualityConfiguration configuration) {
-        return new LegendaryQuality(configuration.getLegendaryQuality());
+        return createLegendaryQualityOperator(configuration.getLegendaryQuality());
+    }
+
+    /**
+     * Create a {@link QualityOperator} for legendary {@link Item}s of the given constant quality.
+     *
+     * @param legendaryQuality single allowed quality of the legendary {@link Item}s.
+     * @return an instance of {@link LegendaryQuality} operator.
+     */
+    public static LegendaryQuality createLegendaryQualityOperator(int legendaryQuality) {
+        return new LegendaryQuality(legendaryQuality);
     }
 
     /**
@@ -99,4 +119,50 @@ public class QualityOperatorFactory {
                                  configuration.getBackstagePassQualityModifiers());
     }
 
+    /**
+     * Create a {@link QualityOperator} for conjured improving {@link Item}s, e.g. "Conjured Aged Brie".
+     * The quality increases twice as fast as for improving items.
+     * 
+     * @param configuration {@link QualityConfiguration} instance.
+     * @return an instance of {@link FusedQuality} operator.
+     * @throws IllegalArgumentException if the conjured modifier is not a whole multiple of the normal modifier.
+     */
+    public static FusedQuality createConjuredImproveQualityOperator(QualityConfiguration configuration) {
+        return new FusedQuality.Builder().from(createImproveQualityOperator(configuration))
+                                         .withMultiplier(getConjuredMultiplier(configuration))
+                                         .build();
+    }
+
+    /**
+     * Create a {@link QualityOperator} for conjured backstage passes.
+     * The quality increases twice as fast as for backstage passes, in every tier, and still drops to the minimum once expired.
+     * 
+     * @param configuration {@link QualityConfiguration} instance.
+     * @return an instance of {@link FusedQuality} operator.
+     * @throws IllegalArgumentException if the conjured modifier is not a whole multiple of the normal modifier.
+     */
+    public static FusedQuality createConjuredBackstagePassQualityOperator(QualityConfiguration configuration) {
+        return new FusedQuality.Builder().from(createBackstagePassQualityOperator(configuration))
+                                         .withMultiplier(getConjuredMultiplier(configuration))
+                                         .build();
+    }
+
+    /**
+     * How many times faster conjured items change than their normal counterparts.
+     * 
+     * @param configuration {@link QualityConfiguration} instance.
+     * @return the conjured modifier divided by the normal modifier, 1 if both are 0.
+     * @throws IllegalArgumentException if the conjured modifier is not a whole multiple of the normal modifier.
+     */
+    public static int getConjuredMultiplier(QualityConfiguration configuration) {
+        final int normal = configuration.getNormalQualityModifier();
+        final int conjured = configuration.getConjuredQualityModifier();
+        if (normal == 0 ? conjured != 0 : conjured % normal != 0) {
+            throw new IllegalArgumentException("The conjured quality modifier " + conjured + " must be a whole multiple of the normal quality modifier "
+                            + normal + ".");
+        }
+
+        return normal == 0 ? 1 : Math.abs(conjured / normal);
+    }
+
 }
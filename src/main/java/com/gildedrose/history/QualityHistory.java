@@ -0,0 +1,429 @@
+package com.gildedrose.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.gildedrose.model.ItemView;
+
+
+/**
+ * Compressed history of the quality and sellIn of every item, day by day.
+ * <p>
+ * Under the update rules an item's trajectory is piecewise linear: a constant change per day, a faster one past the sell by
+ * date and plateaus at the quality limits. Every item therefore keeps an open segment (first day, first values and the
+ * change per day) that is extended as long as a new day stays on its line, and only written out when the line breaks.
+ * A lifetime of daily values shrinks to a handful of segments.
+ * <p>
+ * Closed segments are appended to preallocated memory-mapped segment files. Each one points back to the previous segment of
+ * its item, so the value on a day is found by walking an item's few segments back from its last one and interpolating,
+ * without reading any other item's history.
+ * <p>
+ * Open segments are written by {@link #close()}. {@link #flush()} also stores them, as provisional segments in a separate
+ * file replaced on every flush, so the history up to the last flushed day survives a crash. On reopen the provisional
+ * segments are opened again, unless the segment files already hold a later segment of the item.
+ * <p>
+ * Not thread-safe: append and query from a single thread, or synchronize externally.
+ *
+ * @author kavert
+ */
+public final class QualityHistory implements Closeable {
+
+    static final String FILE_PREFIX = "history-";
+    static final String FILE_SUFFIX = ".seg";
+    static final String OPEN_FILE_NAME = "history.open";
+
+    private static final int OPEN_MAGIC = 0x4752484F; // "GRHO"
+    private static final int OPEN_VERSION = 1;
+
+    private static final long NONE = -1L;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Path directory;
+    private final int segmentsPerFile;
+    private final List<SegmentFile> files = new ArrayList<>();
+
+    // Per item: the last closed segment and the open segment.
+    private long[] lastSegment = new long[0];
+    private int[] startDay = new int[0];
+    private int[] length = new int[0];
+    private int[] startQuality = new int[0];
+    private int[] qualityDelta = new int[0];
+    private int[] startSellIn = new int[0];
+    private int[] sellInDelta = new int[0];
+    private int items;
+
+    private int lastDay = Integer.MIN_VALUE;
+    private long segments;
+
+    private QualityHistory(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.segmentsPerFile = builder.segmentsPerFile;
+
+        Files.createDirectories(directory);
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            stream.forEach(paths::add);
+        }
+        paths.sort(Comparator.comparing(Path::toString));
+
+        for (Path path : paths) {
+            SegmentFile file = SegmentFile.open(path);
+            int fileIndex = files.size();
+            files.add(file);
+            for (int segment = 0; segment < file.count(); segment++) {
+                int item = file.getInt(segment, SegmentFile.ITEM);
+                ensureCapacity(item + 1);
+                lastSegment[item] = pointer(fileIndex, segment);
+                lastDay = Math.max(lastDay, file.getInt(segment, SegmentFile.START_DAY) + file.getInt(segment, SegmentFile.LENGTH) - 1);
+                segments++;
+            }
+        }
+
+        Path openPath = directory.resolve(OPEN_FILE_NAME);
+        if (Files.exists(openPath)) {
+            readOpenSegments(openPath);
+        }
+    }
+
+    /**
+     * Record the values of all items at the end of a day. Days must be appended in increasing order.
+     *
+     * @param day the day just updated.
+     * @param view the items, by their index.
+     * @throws IOException if a new segment file can not be created.
+     */
+    public void append(int day, ItemView view) throws IOException {
+        if (day <= lastDay) {
+            throw new IllegalArgumentException("Day " + day + " is not after the last recorded day " + lastDay + ".");
+        }
+
+        final int size = view.size();
+        ensureCapacity(size);
+        for (int item = 0; item < size; item++) {
+            append(item, day, view.quality(item), view.sellIn(item));
+        }
+        lastDay = day;
+    }
+
+    private void append(int item, int day, int quality, int sellIn) throws IOException {
+        final int open = length[item];
+        if (open > 0 && startDay[item] + open == day) {
+            if (open == 1) {
+                qualityDelta[item] = quality - startQuality[item];
+                sellInDelta[item] = sellIn - startSellIn[item];
+                length[item] = 2;
+                return;
+            }
+            if (quality == startQuality[item] + qualityDelta[item] * open && sellIn == startSellIn[item] + sellInDelta[item] * open) {
+                length[item] = open + 1;
+                return;
+            }
+        }
+
+        closeSegment(item);
+        startDay[item] = day;
+        length[item] = 1;
+        startQuality[item] = quality;
+        qualityDelta[item] = 0;
+        startSellIn[item] = sellIn;
+        sellInDelta[item] = 0;
+    }
+
+    /**
+     * @param item the index of the item.
+     * @param day a recorded day.
+     * @return the quality of the item at the end of the given day.
+     * @throws IllegalArgumentException if the item has no history on the given day.
+     */
+    public int quality(int item, int day) {
+        if (item >= 0 && item < items && isOpenOn(item, day)) {
+            return startQuality[item] + qualityDelta[item] * (day - startDay[item]);
+        }
+
+        long segment = findSegment(item, day);
+        SegmentFile file = files.get(fileIndex(segment));
+        int index = segmentIndex(segment);
+        return file.getInt(index, SegmentFile.START_QUALITY)
+                        + file.getInt(index, SegmentFile.QUALITY_DELTA) * (day - file.getInt(index, SegmentFile.START_DAY));
+    }
+
+    /**
+     * @param item the index of the item.
+     * @param day a recorded day.
+     * @return the sellIn of the item at the end of the given day.
+     * @throws IllegalArgumentException if the item has no history on the given day.
+     */
+    public int sellIn(int item, int day) {
+        if (item >= 0 && item < items && isOpenOn(item, day)) {
+            return startSellIn[item] + sellInDelta[item] * (day - startDay[item]);
+        }
+
+        long segment = findSegment(item, day);
+        SegmentFile file = files.get(fileIndex(segment));
+        int index = segmentIndex(segment);
+        return file.getInt(index, SegmentFile.START_SELL_IN)
+                        + file.getInt(index, SegmentFile.SELL_IN_DELTA) * (day - file.getInt(index, SegmentFile.START_DAY));
+    }
+
+    /**
+     * @return amount of closed segments written so far.
+     */
+    public long getSegments() {
+        return segments;
+    }
+
+    /**
+     * @return the last recorded day, {@link Integer#MIN_VALUE} if none.
+     */
+    public int getLastDay() {
+        return lastDay;
+    }
+
+    /**
+     * Write the closed segments to the segment files and replace the provisional file with the open segments.
+     *
+     * @throws IOException if the provisional file can not be written.
+     */
+    public void flush() throws IOException {
+        forceFiles();
+        writeOpenSegments(directory.resolve(OPEN_FILE_NAME));
+    }
+
+    /**
+     * Close all open segments and write them to the segment files.
+     *
+     * @throws IOException if a new segment file can not be created.
+     */
+    @Override
+    public void close() throws IOException {
+        for (int item = 0; item < items; item++) {
+            closeSegment(item);
+        }
+        forceFiles();
+        Files.deleteIfExists(directory.resolve(OPEN_FILE_NAME));
+    }
+
+    private void forceFiles() {
+        for (SegmentFile file : files) {
+            file.force();
+        }
+    }
+
+    /*
+     * Layout, big-endian: magic "GRHO", version, last day, count, then per open segment the item, first day, amount of days,
+     * quality and sellIn on the first day and their change per day.
+     */
+    private void writeOpenSegments(Path path) throws IOException {
+        int count = 0;
+        for (int item = 0; item < items; item++) {
+            if (length[item] > 0) {
+                count++;
+            }
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(OPEN_MAGIC);
+            out.writeInt(OPEN_VERSION);
+            out.writeInt(lastDay);
+            out.writeInt(count);
+            for (int item = 0; item < items; item++) {
+                if (length[item] > 0) {
+                    out.writeInt(item);
+                    out.writeInt(startDay[item]);
+                    out.writeInt(length[item]);
+                    out.writeInt(startQuality[item]);
+                    out.writeInt(qualityDelta[item]);
+                    out.writeInt(startSellIn[item]);
+                    out.writeInt(sellInDelta[item]);
+                }
+            }
+            out.flush();
+            channel.force(false);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+     * A provisional segment is stale once a segment of the item was closed after the flush that wrote it.
+     */
+    private void readOpenSegments(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != OPEN_MAGIC) {
+                throw new IOException("'" + path + "' is not an open segment file.");
+            }
+            int version = in.readInt();
+            if (version != OPEN_VERSION) {
+                throw new IOException("Unsupported open segment file version '" + version + "' in '" + path + "'.");
+            }
+
+            lastDay = Math.max(lastDay, in.readInt());
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int item = in.readInt();
+                int day = in.readInt();
+                ensureCapacity(item + 1);
+                if (lastSegment[item] != NONE && lastDayOf(lastSegment[item]) >= day) {
+                    in.skipBytes(5 * Integer.BYTES);
+                    continue;
+                }
+
+                startDay[item] = day;
+                length[item] = in.readInt();
+                startQuality[item] = in.readInt();
+                qualityDelta[item] = in.readInt();
+                startSellIn[item] = in.readInt();
+                sellInDelta[item] = in.readInt();
+            }
+        }
+    }
+
+    private int lastDayOf(long segment) {
+        SegmentFile file = files.get(fileIndex(segment));
+        int index = segmentIndex(segment);
+        return file.getInt(index, SegmentFile.START_DAY) + file.getInt(index, SegmentFile.LENGTH) - 1;
+    }
+
+    private boolean isOpenOn(int item, int day) {
+        return length[item] > 0 && day >= startDay[item] && day < startDay[item] + length[item];
+    }
+
+    /*
+     * Segments of an item are linked from the last one back to the first, in decreasing day order.
+     */
+    private long findSegment(int item, int day) {
+        long segment = item >= 0 && item < items ? lastSegment[item] : NONE;
+        while (segment != NONE) {
+            SegmentFile file = files.get(fileIndex(segment));
+            int index = segmentIndex(segment);
+            int segmentStart = file.getInt(index, SegmentFile.START_DAY);
+            if (day >= segmentStart) {
+                if (day < segmentStart + file.getInt(index, SegmentFile.LENGTH)) {
+                    return segment;
+                }
+                break;
+            }
+            segment = file.getLong(index, SegmentFile.PREVIOUS);
+        }
+        throw new IllegalArgumentException("No history of item " + item + " on day " + day + ".");
+    }
+
+    private void closeSegment(int item) throws IOException {
+        if (length[item] == 0) {
+            return;
+        }
+
+        SegmentFile file = files.isEmpty() ? null : files.get(files.size() - 1);
+        if (file == null || file.isFull()) {
+            if (file != null) {
+                file.force();
+            }
+            file = SegmentFile.create(directory.resolve(fileName(files.size())), segmentsPerFile);
+            files.add(file);
+        }
+
+        int index = file.append(item, startDay[item], length[item], startQuality[item], qualityDelta[item], startSellIn[item],
+                                sellInDelta[item], lastSegment[item]);
+        lastSegment[item] = pointer(files.size() - 1, index);
+        length[item] = 0;
+        segments++;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > lastSegment.length) {
+            int capacity = Math.max(size, Math.max(INITIAL_CAPACITY, lastSegment.length * 2));
+            int previous = lastSegment.length;
+            lastSegment = Arrays.copyOf(lastSegment, capacity);
+            Arrays.fill(lastSegment, previous, capacity, NONE);
+            startDay = Arrays.copyOf(startDay, capacity);
+            length = Arrays.copyOf(length, capacity);
+            startQuality = Arrays.copyOf(startQuality, capacity);
+            qualityDelta = Arrays.copyOf(qualityDelta, capacity);
+            startSellIn = Arrays.copyOf(startSellIn, capacity);
+            sellInDelta = Arrays.copyOf(sellInDelta, capacity);
+        }
+        items = Math.max(items, size);
+    }
+
+    static String fileName(int index) {
+        return String.format("%s%08d%s", FILE_PREFIX, index, FILE_SUFFIX);
+    }
+
+    private static long pointer(int fileIndex, int segment) {
+        return (long) fileIndex << 32 | segment;
+    }
+
+    private static int fileIndex(long pointer) {
+        return (int) (pointer >>> 32);
+    }
+
+    private static int segmentIndex(long pointer) {
+        return (int) pointer;
+    }
+
+    /**
+     * Builds (instantiates) a {@link QualityHistory}, continuing the history already stored in its directory.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private Path directory;
+        private int segmentsPerFile = 1 << 20;
+
+        /**
+         * @param directory the directory holding the segment files.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withDirectory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * @param segmentsPerFile amount of segments preallocated per segment file.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withSegmentsPerFile(int segmentsPerFile) {
+            if (segmentsPerFile <= 0 || segmentsPerFile > (Integer.MAX_VALUE - SegmentFile.HEADER_SIZE) / SegmentFile.SEGMENT_SIZE) {
+                throw new IllegalArgumentException("The amount of segments per file must be positive and fit a single mapping.");
+            }
+
+            this.segmentsPerFile = segmentsPerFile;
+            return this;
+        }
+
+        /**
+         * Instantiates a new {@link QualityHistory}, mapping the segment files already in the directory.
+         *
+         * @return a new QualityHistory object.
+         * @throws IOException if the directory or a segment file can not be read.
+         */
+        public QualityHistory build() throws IOException {
+            if (directory == null) {
+                throw new IllegalStateException("A quality history needs a directory to store its segments in.");
+            }
+
+            return new QualityHistory(this);
+        }
+
+    }
+
+}
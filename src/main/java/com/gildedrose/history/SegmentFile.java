@@ -0,0 +1,133 @@
+package com.gildedrose.history;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * A memory-mapped file of fixed-size history segments, preallocated to its capacity and appended to in place.
+ * <p>
+ * Layout, little-endian: a header (magic "GRHS", version, segment count, capacity) followed by the segments. A segment holds
+ * the item, the first day, the amount of days, the quality and sellIn on the first day, their change per day and a pointer
+ * to the previous segment of the same item.
+ *
+ * @author kavert
+ */
+final class SegmentFile {
+
+    static final int MAGIC = 0x47524853; // "GRHS"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 16;
+    static final int SEGMENT_SIZE = 40;
+
+    private static final int COUNT_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 12;
+
+    static final int ITEM = 0;
+    static final int START_DAY = 4;
+    static final int LENGTH = 8;
+    static final int START_QUALITY = 12;
+    static final int QUALITY_DELTA = 16;
+    static final int START_SELL_IN = 20;
+    static final int SELL_IN_DELTA = 24;
+    static final int PREVIOUS = 32;
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private int count;
+
+    private SegmentFile(MappedByteBuffer buffer, int capacity, int count) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.count = count;
+    }
+
+    /**
+     * Create a new, empty segment file.
+     */
+    static SegmentFile create(Path path, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SEGMENT_SIZE);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(COUNT_OFFSET, 0);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+            return new SegmentFile(buffer, capacity, 0);
+        }
+    }
+
+    /**
+     * Map an existing segment file.
+     */
+    static SegmentFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("'" + path + "' is not a history segment file.");
+            }
+
+            MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("'" + path + "' is not a history segment file.");
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported history version '" + buffer.getInt(4) + "' in '" + path + "'.");
+            }
+
+            int count = buffer.getInt(COUNT_OFFSET);
+            int capacity = buffer.getInt(CAPACITY_OFFSET);
+            if (count < 0 || count > capacity || channel.size() != HEADER_SIZE + (long) capacity * SEGMENT_SIZE) {
+                throw new IOException("History segment file '" + path + "' is corrupt.");
+            }
+            return new SegmentFile(buffer, capacity, count);
+        }
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * @return the index of the appended segment.
+     */
+    int append(int item, int startDay, int length, int startQuality, int qualityDelta, int startSellIn, int sellInDelta, long previous) {
+        int offset = HEADER_SIZE + count * SEGMENT_SIZE;
+        buffer.putInt(offset + ITEM, item);
+        buffer.putInt(offset + START_DAY, startDay);
+        buffer.putInt(offset + LENGTH, length);
+        buffer.putInt(offset + START_QUALITY, startQuality);
+        buffer.putInt(offset + QUALITY_DELTA, qualityDelta);
+        buffer.putInt(offset + START_SELL_IN, startSellIn);
+        buffer.putInt(offset + SELL_IN_DELTA, sellInDelta);
+        buffer.putLong(offset + PREVIOUS, previous);
+        return count++;
+    }
+
+    int getInt(int segment, int field) {
+        return buffer.getInt(HEADER_SIZE + segment * SEGMENT_SIZE + field);
+    }
+
+    long getLong(int segment, int field) {
+        return buffer.getLong(HEADER_SIZE + segment * SEGMENT_SIZE + field);
+    }
+
+    /**
+     * Publish the segment count and write the changed pages to the file.
+     */
+    void force() {
+        buffer.putInt(COUNT_OFFSET, count);
+        buffer.force();
+    }
+
+}
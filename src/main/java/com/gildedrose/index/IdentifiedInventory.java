@@ -0,0 +1,207 @@
+package com.gildedrose.index;
+
+import java.util.Arrays;
+
+import com.gildedrose.model.Item;
+
+
+/**
+ * Inventory of {@link Item}s with stable ids. Names are not unique and positions change, so each {@link Item} gets an id
+ * that stays its own until it is removed, and a {@link LongIntHashIndex} finds its current slot in O(1).
+ * <p>
+ * Removing an {@link Item} leaves a hole, so the other {@link Item}s keep their slots. {@link #compact()} moves the
+ * remaining {@link Item}s down over the holes and updates the index for every moved {@link Item}; the ids do not change.
+ * <p>
+ * Not thread-safe.
+ *
+ * @author kavert
+ */
+public class IdentifiedInventory {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final LongIntHashIndex index;
+    private Item[] items;
+    private long[] ids;
+    private int size;
+    private int count;
+    private long nextId;
+
+    /**
+     * Initiates an empty inventory.
+     *
+     * @param capacity the initial amount of {@link Item}s the inventory can hold.
+     */
+    public IdentifiedInventory(int capacity) {
+        this.index = new LongIntHashIndex(capacity);
+        this.items = new Item[Math.max(capacity, INITIAL_CAPACITY)];
+        this.ids = new long[items.length];
+    }
+
+    /**
+     * Create an inventory holding the given {@link Item}s, with ids 0 to {@code items.length - 1}.
+     *
+     * @param items the {@link Item}s to add.
+     * @return a new {@link IdentifiedInventory}.
+     */
+    public static IdentifiedInventory of(Item[] items) {
+        IdentifiedInventory inventory = new IdentifiedInventory(items.length);
+        for (Item item : items) {
+            inventory.add(item);
+        }
+        return inventory;
+    }
+
+    /**
+     * Add an {@link Item} with the next free id.
+     *
+     * @param item the {@link Item} to add.
+     * @return the id of the {@link Item}.
+     */
+    public long add(Item item) {
+        while (index.contains(nextId)) {
+            nextId++;
+        }
+        long id = nextId++;
+        add(id, item);
+        return id;
+    }
+
+    /**
+     * Add an {@link Item} with an id given elsewhere, like a SKU.
+     *
+     * @param id the id of the {@link Item}.
+     * @param item the {@link Item} to add.
+     */
+    public void add(long id, Item item) {
+        if (item == null) {
+            throw new IllegalArgumentException("A non-null item must be provided.");
+        }
+        if (index.contains(id)) {
+            throw new IllegalArgumentException("Duplicate item id " + id + ".");
+        }
+
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+
+        items[size] = item;
+        ids[size] = id;
+        index.put(id, size);
+        size++;
+        count++;
+    }
+
+    /**
+     * @param id the id of an {@link Item}.
+     * @return the {@link Item}, {@code null} if there is none with the id.
+     */
+    public Item get(long id) {
+        int slot = index.get(id);
+        return slot == LongIntHashIndex.NONE ? null : items[slot];
+    }
+
+    /**
+     * @param id the id of an {@link Item}.
+     * @return the current slot of the {@link Item}, {@link LongIntHashIndex#NONE} if there is none with the id.
+     */
+    public int slotOf(long id) {
+        return index.get(id);
+    }
+
+    /**
+     * @param slot a slot below {@link #size()}.
+     * @return the {@link Item} in the slot, {@code null} for a hole.
+     */
+    public Item itemAt(int slot) {
+        checkSlot(slot);
+        return items[slot];
+    }
+
+    /**
+     * @param slot a slot below {@link #size()}.
+     * @return the id of the {@link Item} in the slot, undefined for a hole.
+     */
+    public long idAt(int slot) {
+        checkSlot(slot);
+        return ids[slot];
+    }
+
+    /**
+     * Remove an {@link Item}, leaving a hole in its slot.
+     *
+     * @param id the id of an {@link Item}.
+     * @return the removed {@link Item}, {@code null} if there is none with the id.
+     */
+    public Item remove(long id) {
+        int slot = index.remove(id);
+        if (slot == LongIntHashIndex.NONE) {
+            return null;
+        }
+
+        Item removed = items[slot];
+        items[slot] = null;
+        count--;
+        return removed;
+    }
+
+    /**
+     * Move all {@link Item}s down over the holes, keeping their order and ids.
+     *
+     * @return amount of holes removed.
+     */
+    public int compact() {
+        int target = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (items[slot] != null) {
+                if (slot != target) {
+                    items[target] = items[slot];
+                    ids[target] = ids[slot];
+                    index.put(ids[target], target);
+                }
+                target++;
+            }
+        }
+
+        int holes = size - target;
+        Arrays.fill(items, target, size, null);
+        size = target;
+        return holes;
+    }
+
+    /**
+     * @return amount of slots, holes included.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return amount of {@link Item}s.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @return the {@link Item}s in slot order, without holes.
+     */
+    public Item[] toArray() {
+        Item[] array = new Item[count];
+        int i = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (items[slot] != null) {
+                array[i++] = items[slot];
+            }
+        }
+        return array;
+    }
+
+    private void checkSlot(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("Slot: " + slot + ", Size: " + size);
+        }
+    }
+
+}
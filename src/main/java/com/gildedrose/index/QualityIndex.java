@@ -0,0 +1,241 @@
+package com.gildedrose.index;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.engine.ItemUpdateListener;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Item;
+
+
+/**
+ * Index from quality value to the ids (inventory positions) of the {@link Item}s having that quality.
+ * <p>
+ * Quality is bounded by the {@link QualityConfiguration} minimum and maximum (plus the legendary quality), so there is a
+ * bucket per quality value, each an intrusive doubly linked list over the ids. Moving an {@link Item} between buckets, and
+ * counting the {@link Item}s of a quality, is O(1); listing a range of qualities is proportional to its output.
+ * Qualities outside the bounds are kept in two overflow buckets.
+ * <p>
+ * Registered as an {@link ItemUpdateListener}, the index follows every quality change of the daily update.
+ * Not thread-safe: updates and queries must not run concurrently.
+ * 
+ * @author kavert
+ */
+public class QualityIndex implements ItemUpdateListener {
+
+    private static final int NONE = -1;
+
+    private final int lowest;
+    private final int highest;
+
+    // Bucket 0 holds qualities below the lowest, the last bucket qualities above the highest.
+    private final int[] heads;
+    private final int[] counts;
+
+    private int[] next;
+    private int[] previous;
+    private int[] qualities;
+    private int size;
+
+    /**
+     * Initiates an empty index for the bounds of the given configuration.
+     * 
+     * @param configuration {@link QualityConfiguration} instance.
+     * @param capacity the initial amount of ids the index can hold.
+     */
+    public QualityIndex(QualityConfiguration configuration, int capacity) {
+        this.lowest = Math.min(configuration.getMinimumQuality(), configuration.getLegendaryQuality());
+        this.highest = Math.max(configuration.getMaximumQuality(), configuration.getLegendaryQuality());
+
+        int buckets = highest - lowest + 3;
+        this.heads = new int[buckets];
+        this.counts = new int[buckets];
+        Arrays.fill(this.heads, NONE);
+
+        this.next = new int[Math.max(capacity, 1)];
+        this.previous = new int[Math.max(capacity, 1)];
+        this.qualities = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Create an index over the given {@link Item}s, identified by their position.
+     * 
+     * @param configuration {@link QualityConfiguration} instance.
+     * @param items the {@link Item}s to index.
+     * @return a new {@link QualityIndex}.
+     */
+    public static QualityIndex of(QualityConfiguration configuration, Item[] items) {
+        QualityIndex index = new QualityIndex(configuration, items.length);
+        for (Item item : items) {
+            index.add(item.quality);
+        }
+        return index;
+    }
+
+    /**
+     * Add a new id with the given quality.
+     * 
+     * @param quality the quality of the new {@link Item}.
+     * @return the id of the new {@link Item}, the next inventory position.
+     */
+    public int add(int quality) {
+        if (size == next.length) {
+            next = Arrays.copyOf(next, size * 2);
+            previous = Arrays.copyOf(previous, size * 2);
+            qualities = Arrays.copyOf(qualities, size * 2);
+        }
+
+        int id = size++;
+        link(id, quality);
+        return id;
+    }
+
+    /**
+     * Move an id to the bucket of its new quality.
+     * 
+     * @param id the id of the {@link Item}.
+     * @param quality the new quality of the {@link Item}.
+     */
+    public void update(int id, int quality) {
+        checkId(id);
+        if (qualities[id] != quality) {
+            unlink(id);
+            link(id, quality);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void itemUpdated(int index, Category category, int previousQuality, Item item) {
+        if (previousQuality != item.quality) {
+            update(index, item.quality);
+        }
+    }
+
+    /**
+     * @param quality a quality value.
+     * @return amount of {@link Item}s with exactly the given quality.
+     */
+    public int count(int quality) {
+        int bucket = bucket(quality);
+        if (isOverflow(bucket)) {
+            int count = 0;
+            for (int id = heads[bucket]; id != NONE; id = next[id]) {
+                if (qualities[id] == quality) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        return counts[bucket];
+    }
+
+    /**
+     * @param from the lowest quality, inclusive.
+     * @param to the highest quality, inclusive.
+     * @return amount of {@link Item}s with a quality in the given range.
+     */
+    public int count(int from, int to) {
+        int count = 0;
+        for (int bucket = bucket(from); bucket <= bucket(to); bucket++) {
+            if (isOverflow(bucket)) {
+                for (int id = heads[bucket]; id != NONE; id = next[id]) {
+                    if (qualities[id] >= from && qualities[id] <= to) {
+                        count++;
+                    }
+                }
+            } else {
+                count += counts[bucket];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Pass the id of every {@link Item} with a quality in the given range to the consumer, grouped by quality.
+     * 
+     * @param from the lowest quality, inclusive.
+     * @param to the highest quality, inclusive.
+     * @param consumer receives the ids.
+     */
+    public void forEach(int from, int to, IntConsumer consumer) {
+        for (int bucket = bucket(from); bucket <= bucket(to); bucket++) {
+            for (int id = heads[bucket]; id != NONE; id = next[id]) {
+                if (!isOverflow(bucket) || (qualities[id] >= from && qualities[id] <= to)) {
+                    consumer.accept(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param from the lowest quality, inclusive.
+     * @param to the highest quality, inclusive.
+     * @return the ids of all {@link Item}s with a quality in the given range, grouped by quality.
+     */
+    public int[] ids(int from, int to) {
+        int[] ids = new int[count(from, to)];
+        int[] position = new int[1];
+        forEach(from, to, id -> ids[position[0]++] = id);
+        return ids;
+    }
+
+    /**
+     * @return amount of ids in this index.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void link(int id, int quality) {
+        int bucket = bucket(quality);
+        int head = heads[bucket];
+
+        qualities[id] = quality;
+        previous[id] = NONE;
+        next[id] = head;
+        if (head != NONE) {
+            previous[head] = id;
+        }
+        heads[bucket] = id;
+        counts[bucket]++;
+    }
+
+    private void unlink(int id) {
+        int bucket = bucket(qualities[id]);
+
+        if (previous[id] != NONE) {
+            next[previous[id]] = next[id];
+        } else {
+            heads[bucket] = next[id];
+        }
+        if (next[id] != NONE) {
+            previous[next[id]] = previous[id];
+        }
+        counts[bucket]--;
+    }
+
+    private int bucket(int quality) {
+        if (quality < lowest) {
+            return 0;
+        }
+        if (quality > highest) {
+            return heads.length - 1;
+        }
+        return quality - lowest + 1;
+    }
+
+    private boolean isOverflow(int bucket) {
+        return bucket == 0 || bucket == heads.length - 1;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Id: " + id + ", Size: " + size);
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.gildedrose.model;
+
+/**
+ * The categories of {@link Item}s in our {@link Inventory}, each with its own quality rules.
+ * 
+ * @author kavert
+ */
+public enum Category {
+
+    /**
+     * "Normal" items degrade in quality, twice as fast once the sell by date has passed.
+     */
+    DEGRADING,
+
+    /**
+     * Items that increase in quality the older they get.
+     */
+    IMPROVING,
+
+    /**
+     * Items that increase in quality as the expiration date approaches, but drop to the minimum quality once expired.
+     */
+    EXPIRING,
+
+    /**
+     * Items that never have to be sold nor decrease in quality.
+     */
+    LEGENDARY,
+
+    /**
+     * Items that degrade in quality twice as fast as normal items.
+     */
+    CONJURED,
+
+    /**
+     * Improving items that increase in quality twice as fast.
+     */
+    CONJURED_IMPROVING,
+
+    /**
+     * Expiring items that increase in quality twice as fast, but still drop to the minimum quality once expired.
+     */
+    CONJURED_EXPIRING;
+
+    /**
+     * Resolve the category of an {@link Item} by its name. Names not listed in the {@link Inventory} are {@link #DEGRADING}.
+     * 
+     * @param name the name of the {@link Item}. May be null.
+     * @return the {@link Category} of the {@link Item}. Never null.
+     */
+    public static Category of(String name) {
+        if (Inventory.IMPROVING_ITEMS.contains(name)) {
+            return IMPROVING;
+        }
+
+        if (Inventory.EXPIRING_ITEMS.contains(name)) {
+            return EXPIRING;
+        }
+
+        if (Inventory.LEGENDARY_ITEMS.contains(name)) {
+            return LEGENDARY;
+        }
+
+        if (Inventory.CONJURED_ITEMS.contains(name)) {
+            return CONJURED;
+        }
+
+        if (Inventory.CONJURED_IMPROVING_ITEMS.contains(name)) {
+            return CONJURED_IMPROVING;
+        }
+
+        if (Inventory.CONJURED_EXPIRING_ITEMS.contains(name)) {
+            return CONJURED_EXPIRING;
+        }
+
+        return DEGRADING;
+    }
+
+}
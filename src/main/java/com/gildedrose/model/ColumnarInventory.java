@@ -0,0 +1,191 @@
+package com.gildedrose.model;
+
+import java.util.Arrays;
+
+
+/**
+ * Inventory stored column by column: a name id, a {@code sellIn} and a {@code quality} per {@link Item}.<br>
+ * Names are held once in a {@link NameDictionary} and are only resolved back to {@link Item}s on export.
+ * 
+ * @author kavert
+ */
+public final class ColumnarInventory implements ItemView {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final NameDictionary dictionary;
+
+    private int[] nameIds;
+    private int[] sellIns;
+    private int[] qualities;
+    private int size;
+
+    /**
+     * Initiates an empty inventory with its own {@link NameDictionary}.
+     */
+    public ColumnarInventory() {
+        this(new NameDictionary(), INITIAL_CAPACITY);
+    }
+
+    /**
+     * Initiates an empty inventory.
+     * 
+     * @param dictionary the {@link NameDictionary} to store the names in, may be shared with other inventories.
+     * @param capacity the initial amount of {@link Item}s this inventory can hold.
+     */
+    public ColumnarInventory(NameDictionary dictionary, int capacity) {
+        if (dictionary == null) {
+            throw new IllegalArgumentException("A columnar inventory needs a non-null name dictionary.");
+        }
+
+        this.dictionary = dictionary;
+        this.nameIds = new int[Math.max(capacity, 1)];
+        this.sellIns = new int[Math.max(capacity, 1)];
+        this.qualities = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Create a columnar inventory holding the values of the given {@link Item}s.
+     * 
+     * @param items the {@link Item}s to import.
+     * @return a new {@link ColumnarInventory}, in the same order as the {@link Item}s.
+     */
+    public static ColumnarInventory of(Item[] items) {
+        ColumnarInventory inventory = new ColumnarInventory(new NameDictionary(), items.length);
+        for (Item item : items) {
+            inventory.add(item.name, item.sellIn, item.quality);
+        }
+        return inventory;
+    }
+
+    /**
+     * Add an {@link Item} at the end of this inventory.
+     * 
+     * @param name name of the {@link Item}.
+     * @param sellIn the sellIn of the {@link Item}.
+     * @param quality the quality of the {@link Item}.
+     * @return the index of the added {@link Item}.
+     */
+    public int add(String name, int sellIn, int quality) {
+        if (size == nameIds.length) {
+            nameIds = Arrays.copyOf(nameIds, size * 2);
+            sellIns = Arrays.copyOf(sellIns, size * 2);
+            qualities = Arrays.copyOf(qualities, size * 2);
+        }
+
+        nameIds[size] = dictionary.idOf(name);
+        sellIns[size] = sellIn;
+        qualities[size] = quality;
+        return size++;
+    }
+
+    /**
+     * Export all {@link Item}s, resolving their names.
+     * 
+     * @return a new array of new {@link Item}s, in inventory order.
+     */
+    public Item[] toItems() {
+        Item[] items = new Item[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = new Item(dictionary.nameOf(nameIds[i]), sellIns[i], qualities[i]);
+        }
+        return items;
+    }
+
+    /**
+     * Copy the values of this inventory into existing {@link Item}s, in inventory order.
+     * 
+     * @param items the {@link Item}s to update, at least {@link #size()} long.
+     */
+    public void copyTo(Item[] items) {
+        for (int i = 0; i < size; i++) {
+            items[i].sellIn = sellIns[i];
+            items[i].quality = qualities[i];
+        }
+    }
+
+    /**
+     * @return the {@link NameDictionary} holding the names of this inventory.
+     */
+    public NameDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * @return amount of {@link Item}s in this inventory.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index index of an {@link Item}.
+     * @return the name id of the {@link Item}.
+     */
+    public int nameId(int index) {
+        return nameIds[checkIndex(index)];
+    }
+
+    /**
+     * @param index index of an {@link Item}.
+     * @return the name of the {@link Item}.
+     */
+    @Override
+    public String name(int index) {
+        return dictionary.nameOf(nameIds[checkIndex(index)]);
+    }
+
+    /**
+     * @param index index of an {@link Item}.
+     * @return the {@link Category} of the {@link Item}.
+     */
+    @Override
+    public Category category(int index) {
+        return dictionary.categoryOf(nameIds[checkIndex(index)]);
+    }
+
+    /**
+     * @param index index of an {@link Item}.
+     * @return the sellIn of the {@link Item}.
+     */
+    @Override
+    public int sellIn(int index) {
+        return sellIns[checkIndex(index)];
+    }
+
+    /**
+     * @param index index of an {@link Item}.
+     * @param sellIn the new sellIn of the {@link Item}.
+     */
+    @Override
+    public void setSellIn(int index, int sellIn) {
+        sellIns[checkIndex(index)] = sellIn;
+    }
+
+    /**
+     * @param index index of an {@link Item}.
+     * @return the quality of the {@link Item}.
+     */
+    @Override
+    public int quality(int index) {
+        return qualities[checkIndex(index)];
+    }
+
+    /**
+     * @param index index of an {@link Item}.
+     * @param quality the new quality of the {@link Item}.
+     */
+    @Override
+    public void setQuality(int index, int quality) {
+        qualities[checkIndex(index)] = quality;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return index;
+    }
+
+}
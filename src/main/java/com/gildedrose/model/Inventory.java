@@ -37,6 +37,18 @@ public final class Inventory {
     public static final String MANA_CAKE = "Conjured Mana Cake";
     public static final List<String> CONJURED_ITEMS = Arrays.asList(MANA_CAKE);
 
+    /*
+     * Conjured improving items
+     */
+    public static final String CONJURED_AGED_BRIE = "Conjured Aged Brie";
+    public static final List<String> CONJURED_IMPROVING_ITEMS = Arrays.asList(CONJURED_AGED_BRIE);
+
+    /*
+     * Conjured expiring items
+     */
+    public static final String CONJURED_BACKSTAGE_TAFKAL80ETC = "Conjured Backstage passes to a TAFKAL80ETC concert";
+    public static final List<String> CONJURED_EXPIRING_ITEMS = Arrays.asList(CONJURED_BACKSTAGE_TAFKAL80ETC);
+
     private Inventory() {
         throw new AssertionError("Constants class 'Inventory' cannot be instantiated");
     }
@@ -0,0 +1,69 @@
+package com.gildedrose.model;
+
+/**
+ * Accessor over the values of an inventory by index, whatever stores them: an array of {@link Item}s, of legacy
+ * {@link com.gildedrose.Item}s, or columns. Lets a single update loop run over every store in place, without copying
+ * the {@link Item}s into another representation first.
+ * 
+ * @author kavert
+ */
+public interface ItemView {
+
+    /**
+     * @return amount of items in the view.
+     */
+    int size();
+
+    /**
+     * @param index index of an item.
+     * @return the name of the item.
+     */
+    String name(int index);
+
+    /**
+     * @param index index of an item.
+     * @return the {@link Category} of the item.
+     */
+    Category category(int index);
+
+    /**
+     * @param index index of an item.
+     * @return the sellIn of the item.
+     */
+    int sellIn(int index);
+
+    /**
+     * @param index index of an item.
+     * @param sellIn the new sellIn of the item.
+     */
+    void setSellIn(int index, int sellIn);
+
+    /**
+     * @param index index of an item.
+     * @return the quality of the item.
+     */
+    int quality(int index);
+
+    /**
+     * @param index index of an item.
+     * @param quality the new quality of the item.
+     */
+    void setQuality(int index, int quality);
+
+    /**
+     * @param items the {@link Item}s to view, not copied.
+     * @return an {@link ItemView} reading and writing the given array.
+     */
+    static ItemView of(Item[] items) {
+        return new ItemArrayView(items);
+    }
+
+    /**
+     * @param items the legacy {@link com.gildedrose.Item}s to view, not copied.
+     * @return an {@link ItemView} reading and writing the given array.
+     */
+    static ItemView of(com.gildedrose.Item[] items) {
+        return new LegacyItemArrayView(items);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.gildedrose.model;
+
+/**
+ * {@link ItemView} over an array of legacy {@link com.gildedrose.Item}s, in place.
+ * 
+ * @author kavert
+ */
+final class LegacyItemArrayView implements ItemView {
+
+    private final com.gildedrose.Item[] items;
+
+    LegacyItemArrayView(com.gildedrose.Item[] items) {
+        if (items == null) {
+            throw new IllegalArgumentException("A view needs a non-null array of items.");
+        }
+
+        this.items = items;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String name(int index) {
+        return items[index].name;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Category category(int index) {
+        return Category.of(items[index].name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int sellIn(int index) {
+        return items[index].sellIn;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSellIn(int index, int sellIn) {
+        items[index].sellIn = sellIn;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int quality(int index) {
+        return items[index].quality;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setQuality(int index, int quality) {
+        items[index].quality = quality;
+    }
+
+}
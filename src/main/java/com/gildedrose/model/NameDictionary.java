@@ -0,0 +1,79 @@
+package com.gildedrose.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Dictionary of distinct {@link Item} names.<br>
+ * Each distinct name is stored once and mapped to a compact {@code int} id, together with its resolved {@link Category},
+ * so inventories can hold ids instead of names and resolve the {@link Category} of an {@link Item} with an array lookup.
+ * 
+ * @author kavert
+ */
+public final class NameDictionary {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    private String[] names = new String[INITIAL_CAPACITY];
+    private Category[] categories = new Category[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Get the id of a name, adding the name to the dictionary if it is new.
+     * 
+     * @param name the name of an {@link Item}. May be null.
+     * @return the id of the name, from 0 up to {@link #size()}.
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            categories = Arrays.copyOf(categories, size * 2);
+        }
+
+        names[size] = name;
+        categories[size] = Category.of(name);
+        ids.put(name, size);
+        return size++;
+    }
+
+    /**
+     * @param id the id of a name in this dictionary.
+     * @return the name with the given id.
+     */
+    public String nameOf(int id) {
+        checkId(id);
+        return names[id];
+    }
+
+    /**
+     * @param id the id of a name in this dictionary.
+     * @return the {@link Category} of the {@link Item}s with the given name id.
+     */
+    public Category categoryOf(int id) {
+        checkId(id);
+        return categories[id];
+    }
+
+    /**
+     * @return amount of distinct names in this dictionary.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Unknown name id '" + id + "'.");
+        }
+    }
+
+}
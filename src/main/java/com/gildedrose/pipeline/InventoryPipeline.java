@@ -0,0 +1,308 @@
+package com.gildedrose.pipeline;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.function.quality.QualityOperator;
+import com.gildedrose.function.quality.QualityOperatorFactory;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Item;
+
+
+/**
+ * Processes an inventory as a pipeline of stages, each running on its own thread:<br>
+ * source &rarr; classify ({@link Category}) &rarr; apply {@link QualityOperator} &rarr; decrement sellIn &rarr; sink.
+ * <p>
+ * Stages pass batches of {@link Item}s to each other. A stage can only hand over a batch when the next stage has demand
+ * for it: every stage accepts at most {@code demand} batches ahead of its work, so a slow stage (e.g. a sink persisting
+ * to disk) pushes back all the way to the source. Batches are recycled, the pipeline never holds more than a fixed
+ * amount of them.
+ *
+ * @author kavert
+ */
+public class InventoryPipeline {
+
+    private static final String[] STAGE_NAMES = {"source", "classify", "apply", "age", "sink"};
+
+    private final int batchSize;
+    private final int demand;
+    private final QualityOperator[] operators;
+
+    private InventoryPipeline(Builder builder) {
+        this.batchSize = builder.batchSize;
+        this.demand = builder.demand;
+
+        Category[] categories = Category.values();
+        this.operators = new QualityOperator[categories.length];
+        for (Category category : categories) {
+            this.operators[category.ordinal()] = QualityOperatorFactory.getQualityOperator(builder.configuration, category);
+        }
+    }
+
+    /**
+     * Apply a single day of updates to all {@link Item}s of the source and hand them to the sink, in source order.
+     * Returns once the sink received the last {@link Item}, or as soon as any stage fails.
+     *
+     * @param source the {@link ItemSource} to read {@link Item}s from.
+     * @param sink the {@link ItemSink} to write updated {@link Item}s to.
+     * @throws IOException if the source or the sink fails.
+     * @throws InterruptedException if interrupted while waiting for the pipeline.
+     */
+    public void run(ItemSource source, ItemSink sink) throws IOException, InterruptedException {
+        final int batches = demand * (STAGE_NAMES.length - 1) + STAGE_NAMES.length;
+        BlockingQueue<Batch> free = new ArrayBlockingQueue<>(batches);
+        for (int i = 0; i < batches; i++) {
+            free.add(new Batch(batchSize));
+        }
+
+        List<BlockingQueue<Batch>> queues = new ArrayList<>();
+        for (int i = 1; i < STAGE_NAMES.length; i++) {
+            queues.add(new ArrayBlockingQueue<>(demand));
+        }
+
+        List<ExecutorService> executors = new ArrayList<>();
+        List<Future<?>> stages = new CopyOnWriteArrayList<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        try {
+            start(0, executors, stages, failure, () -> produce(source, free, queues.get(0)));
+            start(1, executors, stages, failure, () -> transform(queues.get(0), queues.get(1), this::classify));
+            start(2, executors, stages, failure, () -> transform(queues.get(1), queues.get(2), this::apply));
+            start(3, executors, stages, failure, () -> transform(queues.get(2), queues.get(3), this::age));
+            start(4, executors, stages, failure, () -> consume(queues.get(3), free, sink));
+            if (failure.get() != null) {
+                cancel(stages);
+            }
+
+            for (Future<?> stage : stages) {
+                stage.get();
+            }
+        } catch (ExecutionException | CancellationException e) {
+            rethrow(failure.get() != null ? failure.get() : e);
+        } finally {
+            cancel(stages);
+            executors.forEach(ExecutorService::shutdown);
+        }
+
+        if (failure.get() != null) {
+            rethrow(failure.get());
+        }
+    }
+
+    private static void start(int stage, List<ExecutorService> executors, List<Future<?>> stages, AtomicReference<Throwable> failure,
+                              StageBody body) {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-pipeline-" + STAGE_NAMES[stage]);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executors.add(executor);
+
+        stages.add(executor.submit(() -> {
+            try {
+                body.run();
+            } catch (Throwable t) {
+                // Only the first failure is reported, the others are caused by cancelling the remaining stages.
+                if (failure.compareAndSet(null, t)) {
+                    cancel(stages);
+                }
+            }
+            return null;
+        }));
+    }
+
+    private static void cancel(List<Future<?>> stages) {
+        for (Future<?> stage : stages) {
+            stage.cancel(true);
+        }
+    }
+
+    private static void produce(ItemSource source, BlockingQueue<Batch> free, BlockingQueue<Batch> out) throws Exception {
+        while (true) {
+            Batch batch = free.take();
+            batch.length = source.read(batch.items);
+            if (batch.length < 0) {
+                out.put(batch);
+                return;
+            }
+            if (batch.length > 0) {
+                out.put(batch);
+            } else {
+                free.put(batch);
+            }
+        }
+    }
+
+    private static void transform(BlockingQueue<Batch> in, BlockingQueue<Batch> out, BatchOperation operation) throws Exception {
+        while (true) {
+            Batch batch = in.take();
+            if (batch.length >= 0) {
+                operation.apply(batch);
+            }
+            out.put(batch);
+            if (batch.length < 0) {
+                return;
+            }
+        }
+    }
+
+    private static void consume(BlockingQueue<Batch> in, BlockingQueue<Batch> free, ItemSink sink) throws Exception {
+        while (true) {
+            Batch batch = in.take();
+            if (batch.length < 0) {
+                return;
+            }
+            sink.write(batch.items, batch.length);
+            batch.clear();
+            free.put(batch);
+        }
+    }
+
+    private void classify(Batch batch) {
+        for (int i = 0; i < batch.length; i++) {
+            Item item = batch.items[i];
+            if (item == null) {
+                throw new IllegalArgumentException("To get a QualityOperator a non-null item must be provided.");
+            }
+            batch.categories[i] = Category.of(item.name);
+        }
+    }
+
+    private void apply(Batch batch) {
+        for (int i = 0; i < batch.length; i++) {
+            batch.items[i] = operators[batch.categories[i].ordinal()].apply(batch.items[i]);
+        }
+    }
+
+    private void age(Batch batch) {
+        for (int i = 0; i < batch.length; i++) {
+            if (batch.categories[i] != Category.LEGENDARY) {
+                batch.items[i].sellIn = batch.items[i].sellIn - 1;
+            }
+        }
+    }
+
+    private static void rethrow(Throwable failure) throws IOException, InterruptedException {
+        Throwable cause = failure instanceof ExecutionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        }
+        if (cause instanceof InterruptedException) {
+            throw (InterruptedException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw new IllegalStateException("Inventory pipeline failed.", cause);
+    }
+
+    @FunctionalInterface
+    private interface StageBody {
+        void run() throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface BatchOperation {
+        void apply(Batch batch);
+    }
+
+    /*
+     * A batch of items with their classification. A negative length marks the end of the stream.
+     */
+    private static final class Batch {
+
+        private final Item[] items;
+        private final Category[] categories;
+        private int length;
+
+        private Batch(int size) {
+            this.items = new Item[size];
+            this.categories = new Category[size];
+        }
+
+        private void clear() {
+            for (int i = 0; i < length; i++) {
+                items[i] = null;
+                categories[i] = null;
+            }
+            length = 0;
+        }
+
+    }
+
+    /**
+     * Builds (instantiates) a new {@link InventoryPipeline} object with the given attributes.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private QualityConfiguration configuration;
+        private int batchSize = 1024;
+        private int demand = 4;
+
+        /**
+         * @param configuration the {@link QualityConfiguration} to create the {@link QualityOperator}s with.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withConfiguration(QualityConfiguration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        /**
+         * @param batchSize amount of {@link Item}s passed between stages at once. Must be positive.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withBatchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("The batch size of a pipeline must be positive.");
+            }
+
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * @param demand amount of batches a stage accepts ahead of its work. Must be positive.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withDemand(int demand) {
+            if (demand <= 0) {
+                throw new IllegalArgumentException("The demand of a pipeline stage must be positive.");
+            }
+
+            this.demand = demand;
+            return this;
+        }
+
+        /**
+         * Instantiates a new {@link InventoryPipeline} object with the given attributes.
+         *
+         * @return a new InventoryPipeline object.
+         */
+        public InventoryPipeline build() {
+            if (configuration == null) {
+                throw new IllegalStateException("An inventory pipeline needs a QualityConfiguration.");
+            }
+
+            return new InventoryPipeline(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.gildedrose.pipeline;
+
+import java.io.IOException;
+
+import com.gildedrose.model.Item;
+import com.gildedrose.report.InventoryReportWriter;
+
+
+/**
+ * The sink stage of an {@link InventoryPipeline}: receives batches of updated {@link Item}s.
+ * 
+ * @author kavert
+ */
+@FunctionalInterface
+public interface ItemSink {
+
+    /**
+     * Consume a batch of updated {@link Item}s. The array is owned by the pipeline and must not be kept.
+     * 
+     * @param batch the updated {@link Item}s.
+     * @param length the amount of {@link Item}s in the batch, starting from index 0.
+     * @throws IOException if the {@link Item}s can not be persisted.
+     */
+    void write(Item[] batch, int length) throws IOException;
+
+    /**
+     * @param writer the report to append the {@link Item}s to. Flushed by its owner.
+     * @return an {@link ItemSink} writing "name, sellIn, quality" rows.
+     */
+    static ItemSink of(InventoryReportWriter writer) {
+        return (batch, length) -> {
+            for (int i = 0; i < length; i++) {
+                writer.writeItem(batch[i]);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.gildedrose.pipeline;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+
+import com.gildedrose.model.Item;
+import com.gildedrose.report.InventoryReportReader;
+
+
+/**
+ * The source stage of an {@link InventoryPipeline}: fills batches of {@link Item}s.
+ * 
+ * @author kavert
+ */
+@FunctionalInterface
+public interface ItemSource {
+
+    /**
+     * Read the next {@link Item}s into the given batch.
+     * 
+     * @param batch the array to fill, from index 0.
+     * @return the amount of {@link Item}s read, or -1 when the source is exhausted.
+     * @throws IOException if the source can not be read.
+     * @throws InterruptedException if interrupted while waiting for {@link Item}s.
+     */
+    int read(Item[] batch) throws IOException, InterruptedException;
+
+    /**
+     * @param items the {@link Item}s to read, in order.
+     * @return an {@link ItemSource} over an array of {@link Item}s.
+     */
+    static ItemSource of(Item[] items) {
+        return new ItemSource() {
+
+            private int position;
+
+            @Override
+            public int read(Item[] batch) {
+                if (position == items.length) {
+                    return -1;
+                }
+
+                int length = Math.min(batch.length, items.length - position);
+                System.arraycopy(items, position, batch, 0, length);
+                position += length;
+                return length;
+            }
+
+        };
+    }
+
+    /**
+     * Reads {@link Item}s from a queue until the {@code endOfStream} marker is taken.
+     * Blocks for the first {@link Item} of every batch, then drains what is available without waiting.
+     * 
+     * @param queue the queue to take {@link Item}s from.
+     * @param endOfStream the marker {@link Item} put on the queue after the last {@link Item}, compared by identity.
+     * @return an {@link ItemSource} over a queue of {@link Item}s.
+     */
+    static ItemSource of(BlockingQueue<Item> queue, Item endOfStream) {
+        return new ItemSource() {
+
+            private boolean ended;
+
+            @Override
+            public int read(Item[] batch) throws InterruptedException {
+                if (ended) {
+                    return -1;
+                }
+
+                int length = 0;
+                Item item = queue.take();
+                while (item != null) {
+                    if (item == endOfStream) {
+                        ended = true;
+                        return length == 0 ? -1 : length;
+                    }
+
+                    batch[length++] = item;
+                    item = length < batch.length ? queue.poll() : null;
+                }
+                return length;
+            }
+
+        };
+    }
+
+    /**
+     * @param reader the "name, sellIn, quality" report to read.
+     * @return an {@link ItemSource} over the rows of a report.
+     */
+    static ItemSource of(InventoryReportReader reader) {
+        return batch -> {
+            int length = 0;
+            Item item;
+            while (length < batch.length && (item = reader.readItem()) != null) {
+                batch[length++] = item;
+            }
+            return length == 0 ? -1 : length;
+        };
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.gildedrose.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.UnaryOperator;
+
+import com.gildedrose.model.Item;
+
+
+/**
+ * Sorts "name, sellIn, quality" reports larger than memory by name, then {@code sellIn}, then quality (external merge
+ * sort). The report is read in runs of a bounded amount of {@link Item}s; every run is sorted in memory and written to a
+ * temporary report file. The sorted {@link Item}s are then streamed by merging all runs, reading each file sequentially.
+ * A report that fits a single run never touches the disk.
+ *
+ * @author kavert
+ */
+public class ExternalItemSorter {
+
+    /**
+     * Order of the sorted {@link Item}s: by name, then {@code sellIn}, then quality.
+     */
+    public static final Comparator<Item> ORDER = Comparator.<Item, String> comparing(item -> item.name)
+                                                           .thenComparingInt(item -> item.sellIn)
+                                                           .thenComparingInt(item -> item.quality);
+
+    private final Path directory;
+    private final int itemsPerRun;
+
+    /**
+     * @param directory the directory for the temporary run files.
+     * @param itemsPerRun maximum amount of {@link Item}s sorted in memory at once.
+     */
+    public ExternalItemSorter(Path directory, int itemsPerRun) {
+        if (itemsPerRun <= 0) {
+            throw new IllegalArgumentException("The amount of items per run must be positive.");
+        }
+
+        this.directory = directory;
+        this.itemsPerRun = itemsPerRun;
+    }
+
+    /**
+     * Sort all {@link Item}s of a report. The reader is read to its end but not closed.
+     *
+     * @param reader the report to sort.
+     * @return the sorted {@link Item}s; close them to delete the run files.
+     * @throws IOException if the report or a run file can not be read or written.
+     */
+    public SortedItems sort(InventoryReportReader reader) throws IOException {
+        return sort(reader, UnaryOperator.identity());
+    }
+
+    /**
+     * Sort all {@link Item}s of a report after mapping each of them. The reader is read to its end but not closed.
+     *
+     * @param reader the report to sort.
+     * @param mapper applied to every {@link Item} as it is read, before sorting.
+     * @return the sorted {@link Item}s; close them to delete the run files.
+     * @throws IOException if the report or a run file can not be read or written.
+     */
+    public SortedItems sort(InventoryReportReader reader, UnaryOperator<Item> mapper) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        Item[] run = new Item[itemsPerRun];
+        try {
+            while (true) {
+                int length = 0;
+                Item item;
+                while (length < run.length && (item = reader.readItem()) != null) {
+                    run[length++] = mapper.apply(item);
+                }
+                Arrays.sort(run, 0, length, ORDER);
+
+                if (runs.isEmpty() && length < run.length) {
+                    return new SortedItems(Arrays.copyOf(run, length));
+                }
+                if (length > 0) {
+                    runs.add(writeRun(run, length));
+                }
+                if (length < run.length) {
+                    return new SortedItems(runs);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteAll(runs);
+            throw e;
+        }
+    }
+
+    private Path writeRun(Item[] run, int length) throws IOException {
+        Path path = Files.createTempFile(directory, "sort-run-", ".txt");
+        try (InventoryReportWriter writer = InventoryReportWriter.open(path)) {
+            for (int i = 0; i < length; i++) {
+                writer.writeItem(run[i]);
+                run[i] = null;
+            }
+        }
+        return path;
+    }
+
+    private static void deleteAll(List<Path> runs) throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+    }
+
+    /**
+     * Stream of sorted {@link Item}s, merged from the sorted runs.
+     *
+     * @author kavert
+     */
+    public static final class SortedItems implements Closeable {
+
+        private final List<Path> runs;
+        private final List<InventoryReportReader> readers = new ArrayList<>();
+        private final PriorityQueue<Cursor> cursors = new PriorityQueue<>((a, b) -> ORDER.compare(a.item, b.item));
+        private final Item[] items;
+        private int position;
+
+        private SortedItems(Item[] items) {
+            this.runs = new ArrayList<>();
+            this.items = items;
+        }
+
+        private SortedItems(List<Path> runs) throws IOException {
+            this.runs = runs;
+            this.items = null;
+            try {
+                for (Path run : runs) {
+                    InventoryReportReader reader = InventoryReportReader.open(run);
+                    readers.add(reader);
+                    Cursor cursor = new Cursor(reader);
+                    if (cursor.advance()) {
+                        cursors.add(cursor);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * @return the next {@link Item} in {@link ExternalItemSorter#ORDER}, or {@code null} after the last one.
+         * @throws IOException if a run file can not be read.
+         */
+        public Item readItem() throws IOException {
+            if (items != null) {
+                return position < items.length ? items[position++] : null;
+            }
+
+            Cursor cursor = cursors.poll();
+            if (cursor == null) {
+                return null;
+            }
+
+            Item item = cursor.item;
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+            return item;
+        }
+
+        /**
+         * Close and delete the run files.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                for (InventoryReportReader reader : readers) {
+                    reader.close();
+                }
+            } finally {
+                deleteAll(runs);
+            }
+        }
+
+    }
+
+    private static final class Cursor {
+
+        private final InventoryReportReader reader;
+        private Item item;
+
+        private Cursor(InventoryReportReader reader) {
+            this.reader = reader;
+        }
+
+        private boolean advance() throws IOException {
+            item = reader.readItem();
+            return item != null;
+        }
+
+    }
+
+}
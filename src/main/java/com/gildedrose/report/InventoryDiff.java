@@ -0,0 +1,279 @@
+package com.gildedrose.report;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.function.quality.QualityOperator;
+import com.gildedrose.function.quality.QualityOperatorFactory;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Item;
+
+
+/**
+ * Compares two "name, sellIn, quality" reports of the same inventory, taken a number of days apart or by different systems,
+ * without loading either into memory.
+ * <p>
+ * Every {@link Item} of the earlier report is first advanced by the elapsed days under the update rules, so it predicts
+ * the later report. Both reports are sorted on disk ({@link ExternalItemSorter}) and merged in a single sequential pass.
+ * Rows equal to a prediction match. Names are not unique, so within a name the remaining predicted and actual rows are
+ * paired in sort order and reported as {@link Difference#CHANGED}; unpaired rows are {@link Difference#REMOVED} or
+ * {@link Difference#ADDED}. Memory holds one sort run and, per name, the rows still waiting for a pair.
+ * <p>
+ * Usage: {@code InventoryDiff <before report> <after report> <elapsed days>}
+ *
+ * @author kavert
+ */
+public class InventoryDiff {
+
+    /**
+     * Kind of difference between the two reports.
+     */
+    public enum Difference {
+        /** Only in the later report. */
+        ADDED,
+        /** Only in the earlier report. */
+        REMOVED,
+        /** In both reports, with other values than predicted. */
+        CHANGED
+    }
+
+    /**
+     * Receives the differences in name order.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        /**
+         * @param difference the kind of difference.
+         * @param expected the predicted {@link Item}, {@code null} if {@link Difference#ADDED}.
+         * @param actual the {@link Item} of the later report, {@code null} if {@link Difference#REMOVED}.
+         */
+        void difference(Difference difference, Item expected, Item actual);
+
+    }
+
+    private final QualityOperator[] operators;
+    private final int days;
+    private final ExternalItemSorter sorter;
+
+    private long matched;
+    private final long[] counts = new long[Difference.values().length];
+
+    private InventoryDiff(Builder builder) {
+        Category[] categories = Category.values();
+        this.operators = new QualityOperator[categories.length];
+        for (Category category : categories) {
+            this.operators[category.ordinal()] = QualityOperatorFactory.getQualityOperator(builder.configuration, category);
+        }
+
+        this.days = builder.days;
+        this.sorter = new ExternalItemSorter(builder.directory, builder.itemsPerRun);
+    }
+
+    /**
+     * Compare two reports.
+     *
+     * @param before the earlier report.
+     * @param after the later report.
+     * @param listener receives every difference.
+     * @throws IOException if a report or a sort run can not be read or written.
+     * @throws IllegalStateException if the update rules reject an {@link Item} of the earlier report.
+     */
+    public void compare(Path before, Path after, Listener listener) throws IOException {
+        try (InventoryReportReader beforeReader = InventoryReportReader.open(before);
+                        ExternalItemSorter.SortedItems expected = sorter.sort(beforeReader, this::predict);
+                        InventoryReportReader afterReader = InventoryReportReader.open(after);
+                        ExternalItemSorter.SortedItems actual = sorter.sort(afterReader)) {
+            merge(expected, actual, listener);
+        }
+    }
+
+    private void merge(ExternalItemSorter.SortedItems expected, ExternalItemSorter.SortedItems actual, Listener listener)
+                    throws IOException {
+        ArrayDeque<Item> unpairedExpected = new ArrayDeque<>();
+        ArrayDeque<Item> unpairedActual = new ArrayDeque<>();
+        String name = null;
+
+        Item left = expected.readItem();
+        Item right = actual.readItem();
+        while (left != null || right != null) {
+            int order = left == null ? 1 : right == null ? -1 : ExternalItemSorter.ORDER.compare(left, right);
+            String next = order <= 0 ? left.name : right.name;
+            if (!next.equals(name)) {
+                flush(unpairedExpected, unpairedActual, listener);
+                name = next;
+            }
+
+            if (order == 0) {
+                matched++;
+                left = expected.readItem();
+                right = actual.readItem();
+            } else if (order < 0) {
+                if (unpairedActual.isEmpty()) {
+                    unpairedExpected.add(left);
+                } else {
+                    report(Difference.CHANGED, left, unpairedActual.poll(), listener);
+                }
+                left = expected.readItem();
+            } else {
+                if (unpairedExpected.isEmpty()) {
+                    unpairedActual.add(right);
+                } else {
+                    report(Difference.CHANGED, unpairedExpected.poll(), right, listener);
+                }
+                right = actual.readItem();
+            }
+        }
+        flush(unpairedExpected, unpairedActual, listener);
+    }
+
+    private void flush(ArrayDeque<Item> unpairedExpected, ArrayDeque<Item> unpairedActual, Listener listener) {
+        for (Item item = unpairedExpected.poll(); item != null; item = unpairedExpected.poll()) {
+            report(Difference.REMOVED, item, null, listener);
+        }
+        for (Item item = unpairedActual.poll(); item != null; item = unpairedActual.poll()) {
+            report(Difference.ADDED, null, item, listener);
+        }
+    }
+
+    private void report(Difference difference, Item expected, Item actual, Listener listener) {
+        counts[difference.ordinal()]++;
+        listener.difference(difference, expected, actual);
+    }
+
+    /*
+     * Advance a row of the earlier report by the elapsed days.
+     */
+    private Item predict(Item item) {
+        Category category = Category.of(item.name);
+        QualityOperator operator = operators[category.ordinal()];
+        int sellIn = item.sellIn;
+        int quality = item.quality;
+        for (int day = 0; day < days; day++) {
+            quality = operator.applyQuality(sellIn, quality);
+            if (category != Category.LEGENDARY) {
+                sellIn--;
+            }
+        }
+        item.sellIn = sellIn;
+        item.quality = quality;
+        return item;
+    }
+
+    /**
+     * @return amount of rows matching their prediction, over all comparisons.
+     */
+    public long getMatched() {
+        return matched;
+    }
+
+    /**
+     * @param difference a kind of difference.
+     * @return amount of differences of the given kind reported, over all comparisons.
+     */
+    public long getCount(Difference difference) {
+        return counts[difference.ordinal()];
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: InventoryDiff <before report> <after report> <elapsed days>");
+        }
+
+        InventoryDiff diff = new InventoryDiff.Builder().withDays(Integer.parseInt(args[2]))
+                                                        .build();
+        diff.compare(Paths.get(args[0]), Paths.get(args[1]), (difference, expected, actual) -> {
+            switch (difference) {
+                case ADDED:
+                    System.out.println("ADDED    " + actual);
+                    break;
+                case REMOVED:
+                    System.out.println("REMOVED  " + expected);
+                    break;
+                default:
+                    System.out.println("CHANGED  " + expected + " -> " + actual);
+            }
+        });
+        System.out.println("matched " + diff.getMatched() + ", added " + diff.getCount(Difference.ADDED) + ", removed "
+                        + diff.getCount(Difference.REMOVED) + ", changed " + diff.getCount(Difference.CHANGED));
+    }
+
+    /**
+     * Builds (instantiates) a new {@link InventoryDiff}.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private QualityConfiguration configuration = QualityConfigurationFactory.createItemQualityConfiguration();
+        private int days;
+        private Path directory = Paths.get(System.getProperty("java.io.tmpdir"));
+        private int itemsPerRun = 1 << 20;
+
+        /**
+         * @param configuration {@link QualityConfiguration} predicting the later report.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withConfiguration(QualityConfiguration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        /**
+         * @param days amount of daily updates between the two reports, 0 to compare them as is.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withDays(int days) {
+            if (days < 0) {
+                throw new IllegalArgumentException("The amount of elapsed days can not be negative.");
+            }
+
+            this.days = days;
+            return this;
+        }
+
+        /**
+         * @param directory the directory for the temporary sort runs.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withTempDirectory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * @param itemsPerRun maximum amount of {@link Item}s sorted in memory at once.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withItemsPerRun(int itemsPerRun) {
+            if (itemsPerRun <= 0) {
+                throw new IllegalArgumentException("The amount of items per run must be positive.");
+            }
+
+            this.itemsPerRun = itemsPerRun;
+            return this;
+        }
+
+        /**
+         * Instantiates a new {@link InventoryDiff}.
+         *
+         * @return a new InventoryDiff object.
+         */
+        public InventoryDiff build() {
+            if (configuration == null) {
+                throw new IllegalStateException("An inventory diff needs a quality configuration.");
+            }
+            if (directory == null) {
+                throw new IllegalStateException("An inventory diff needs a directory for its sort runs.");
+            }
+
+            return new InventoryDiff(this);
+        }
+
+    }
+
+}
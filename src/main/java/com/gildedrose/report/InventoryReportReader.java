@@ -0,0 +1,92 @@
+package com.gildedrose.report;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.gildedrose.model.Item;
+
+
+/**
+ * Reads the {@link Item}s back from a "name, sellIn, quality" report, as written by {@link InventoryReportWriter}
+ * or {@link Item#toString()}. Day banners, headers and empty lines are skipped.
+ *
+ * @author kavert
+ */
+public class InventoryReportReader implements Closeable {
+
+    private static final String SEPARATOR = ", ";
+    private static final String HEADER = "name, sellIn, quality";
+    private static final String DAY_PREFIX = "-------- day ";
+
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    /**
+     * @param reader the report to read.
+     */
+    public InventoryReportReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Open a report file.
+     *
+     * @param path the report file.
+     * @return a new {@link InventoryReportReader}.
+     * @throws IOException if the file can not be opened.
+     */
+    public static InventoryReportReader open(Path path) throws IOException {
+        return new InventoryReportReader(Files.newBufferedReader(path, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read the next {@link Item} row.
+     *
+     * @return a new {@link Item}, or {@code null} at the end of the report.
+     * @throws IOException if the report can not be read or holds a malformed row.
+     */
+    public Item readItem() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isEmpty() && !line.equals(HEADER) && !line.startsWith(DAY_PREFIX)) {
+                return parseItem(line);
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Names may contain the separator themselves (e.g. "Sulfuras, Hand of Ragnaros"), so parse from the end of the row.
+     */
+    private Item parseItem(String line) throws IOException {
+        int qualitySeparator = line.lastIndexOf(SEPARATOR);
+        int sellInSeparator = qualitySeparator > 0 ? line.lastIndexOf(SEPARATOR, qualitySeparator - 1) : -1;
+        if (sellInSeparator < 0) {
+            throw new IOException("Malformed report row at line " + lineNumber + ": '" + line + "'.");
+        }
+
+        try {
+            String name = line.substring(0, sellInSeparator);
+            int sellIn = Integer.parseInt(line.substring(sellInSeparator + SEPARATOR.length(), qualitySeparator));
+            int quality = Integer.parseInt(line.substring(qualitySeparator + SEPARATOR.length()));
+            return new Item(name, sellIn, quality);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed report row at line " + lineNumber + ": '" + line + "'.", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+}
@@ -0,0 +1,226 @@
+package com.gildedrose.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.gildedrose.model.Item;
+
+
+/**
+ * Writes "name, sellIn, quality" reports of {@link Item}s, in the same format as {@link Item#toString()}.<br>
+ * Rows are formatted straight into one reusable {@link ByteBuffer}: integers are encoded digit by digit,
+ * the most recently written names are cached encoded, and the buffer is only handed to the channel when it is full.
+ *
+ * @author kavert
+ */
+public class InventoryReportWriter implements Closeable {
+
+    /**
+     * Default size of the output buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Most encoded names kept; the least recently written name is encoded again when it comes back.
+     */
+    public static final int MAX_CACHED_NAMES = 1024;
+
+    private static final byte[] SEPARATOR = ", ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HEADER = "name, sellIn, quality".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DAY_PREFIX = "-------- day ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DAY_SUFFIX = " --------".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MIN_VALUE = Integer.toString(Integer.MIN_VALUE).getBytes(StandardCharsets.UTF_8);
+
+    // Longest encoded int: a sign followed by 10 digits.
+    private static final int MAX_INT_LENGTH = 11;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final Map<String, byte[]> encodedNames = new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return size() > MAX_CACHED_NAMES;
+        }
+
+    };
+
+    /**
+     * Initiates a report writer on the given channel with a buffer of {@link #DEFAULT_BUFFER_SIZE}.
+     *
+     * @param channel the channel to write the report to.
+     */
+    public InventoryReportWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Initiates a report writer on the given channel.
+     *
+     * @param channel the channel to write the report to.
+     * @param bufferSize size in bytes of the output buffer, at least large enough to hold a single row of integers.
+     */
+    public InventoryReportWriter(WritableByteChannel channel, int bufferSize) {
+        if (channel == null) {
+            throw new IllegalArgumentException("A report writer needs a non-null channel.");
+        }
+        if (bufferSize < 4 * MAX_INT_LENGTH) {
+            throw new IllegalArgumentException("The buffer size of a report writer must be at least " + 4 * MAX_INT_LENGTH + " bytes.");
+        }
+
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Open a report writer on a new (or truncated) file.
+     *
+     * @param path the report file.
+     * @return a new {@link InventoryReportWriter} writing to a {@link FileChannel}.
+     * @throws IOException if the file can not be opened.
+     */
+    public static InventoryReportWriter open(Path path) throws IOException {
+        return new InventoryReportWriter(FileChannel.open(path,
+                                                          StandardOpenOption.CREATE,
+                                                          StandardOpenOption.WRITE,
+                                                          StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /**
+     * Write the report of a single day: the day banner, the header, a row per {@link Item} and an empty line.
+     *
+     * @param day the day number shown in the banner.
+     * @param items the {@link Item}s to report.
+     * @return This {@link InventoryReportWriter} for chaining methods.
+     * @throws IOException if the channel can not be written to.
+     */
+    public InventoryReportWriter writeDay(int day, Item[] items) throws IOException {
+        put(DAY_PREFIX);
+        putInt(day);
+        put(DAY_SUFFIX);
+        put(LINE_SEPARATOR);
+        put(HEADER);
+        put(LINE_SEPARATOR);
+
+        final int length = items.length;
+        for (int i = 0; i < length; i++) {
+            writeItem(items[i]);
+        }
+
+        put(LINE_SEPARATOR);
+        return this;
+    }
+
+    /**
+     * Write a single "name, sellIn, quality" row.
+     *
+     * @param item the {@link Item} to report.
+     * @return This {@link InventoryReportWriter} for chaining methods.
+     * @throws IOException if the channel can not be written to.
+     */
+    public InventoryReportWriter writeItem(Item item) throws IOException {
+        put(encodeName(item.name));
+        put(SEPARATOR);
+        putInt(item.sellIn);
+        put(SEPARATOR);
+        putInt(item.quality);
+        put(LINE_SEPARATOR);
+        return this;
+    }
+
+    /**
+     * Write all buffered bytes to the channel.
+     *
+     * @throws IOException if the channel can not be written to.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flush the buffered bytes and close the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private byte[] encodeName(String name) {
+        byte[] encodedName = encodedNames.get(name);
+        if (encodedName == null) {
+            encodedName = String.valueOf(name)
+                                .getBytes(StandardCharsets.UTF_8);
+            encodedNames.put(name, encodedName);
+        }
+        return encodedName;
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        if (buffer.remaining() < bytes.length) {
+            flush();
+        }
+
+        if (bytes.length > buffer.capacity()) {
+            ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+            while (wrapped.hasRemaining()) {
+                channel.write(wrapped);
+            }
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    /*
+     * Encode the decimal digits of the value in place, from the least significant digit backwards.
+     */
+    private void putInt(int value) throws IOException {
+        if (value == Integer.MIN_VALUE) {
+            put(MIN_VALUE);
+            return;
+        }
+
+        if (buffer.remaining() < MAX_INT_LENGTH) {
+            flush();
+        }
+
+        int remainder = value < 0 ? -value : value;
+        int length = value < 0 ? 1 : 0;
+        int digits = remainder;
+        do {
+            length++;
+            digits /= 10;
+        } while (digits != 0);
+
+        final int start = buffer.position();
+        int position = start + length;
+        do {
+            buffer.put(--position, (byte) ('0' + remainder % 10));
+            remainder /= 10;
+        } while (remainder != 0);
+
+        if (value < 0) {
+            buffer.put(start, (byte) '-');
+        }
+        buffer.position(start + length);
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.gildedrose.scenario;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.function.quality.QualityOperator;
+import com.gildedrose.function.quality.QualityOperatorFactory;
+import com.gildedrose.model.Category;
+
+
+/**
+ * A what-if simulation of a {@link ScenarioBase} under its own {@link QualityConfiguration}.
+ * <p>
+ * The scenario stores only what differs from the base. {@code sellIn} does not depend on the configuration, so it is
+ * derived from the base and the amount of simulated days. Qualities live in pages of {@value #PAGE_SIZE} items that are
+ * shared with the base until the first quality in them changes, and only then copied (copy-on-write). Pages of items the
+ * rules leave alone, like legendary items or items stuck at the minimum quality, are never copied.
+ * <p>
+ * Not thread-safe: a scenario is advanced by a single thread, different scenarios can run concurrently.
+ *
+ * @author kavert
+ */
+public final class Scenario {
+
+    static final int PAGE_SHIFT = 10;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    private final String name;
+    private final QualityConfiguration configuration;
+    private final ScenarioBase base;
+    private final QualityOperator[] operators;
+
+    // Per page, the copied qualities; null while the page is shared with the base.
+    private final int[][] pages;
+    private int copiedPages;
+    private int day;
+
+    /**
+     * Initiates a scenario at day 0 of the base.
+     *
+     * @param name name of the scenario.
+     * @param configuration the {@link QualityConfiguration} simulated.
+     * @param base the shared snapshot to start from.
+     */
+    public Scenario(String name, QualityConfiguration configuration, ScenarioBase base) {
+        if (name == null || configuration == null || base == null) {
+            throw new IllegalArgumentException("A scenario needs a non-null name, configuration and base.");
+        }
+
+        this.name = name;
+        this.configuration = configuration;
+        this.base = base;
+
+        Category[] categories = Category.values();
+        this.operators = new QualityOperator[categories.length];
+        for (Category category : categories) {
+            this.operators[category.ordinal()] = QualityOperatorFactory.getQualityOperator(configuration, category);
+        }
+        this.pages = new int[(base.size() + PAGE_SIZE - 1) >>> PAGE_SHIFT][];
+    }
+
+    /**
+     * Simulate the given amount of days.
+     *
+     * @param days amount of days to simulate.
+     * @throws IllegalStateException if the configuration rejects an item, like a legendary item of another quality.
+     */
+    public void advance(int days) {
+        for (int d = 0; d < days; d++) {
+            for (int page = 0; page < pages.length; page++) {
+                advancePage(page);
+            }
+            day++;
+        }
+    }
+
+    private void advancePage(int page) {
+        final int from = page << PAGE_SHIFT;
+        final int length = Math.min(PAGE_SIZE, base.size() - from);
+        int[] qualities = pages[page];
+
+        for (int slot = 0; slot < length; slot++) {
+            final int index = from + slot;
+            final Category category = base.category(index);
+            final int quality = qualities == null ? base.quality(index) : qualities[slot];
+            final int updated = operators[category.ordinal()].applyQuality(sellIn(index), quality);
+            if (updated != quality) {
+                if (qualities == null) {
+                    qualities = new int[length];
+                    base.copyQualities(from, qualities, length);
+                    pages[page] = qualities;
+                    copiedPages++;
+                }
+                qualities[slot] = updated;
+            }
+        }
+    }
+
+    /**
+     * @return name of the scenario.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the {@link QualityConfiguration} simulated.
+     */
+    public QualityConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * @return amount of simulated days.
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * @return amount of quality pages copied from the base.
+     */
+    public int getCopiedPages() {
+        return copiedPages;
+    }
+
+    /**
+     * @return amount of quality pages, copied or shared.
+     */
+    public int getPages() {
+        return pages.length;
+    }
+
+    /**
+     * @param index index of an item.
+     * @return the simulated sellIn of the item.
+     */
+    public int sellIn(int index) {
+        return base.category(index) == Category.LEGENDARY ? base.sellIn(index) : base.sellIn(index) - day;
+    }
+
+    /**
+     * @param index index of an item.
+     * @return the simulated quality of the item.
+     */
+    public int quality(int index) {
+        int[] qualities = pages[index >>> PAGE_SHIFT];
+        return qualities == null ? base.quality(index) : qualities[index & (PAGE_SIZE - 1)];
+    }
+
+    ScenarioBase getBase() {
+        return base;
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.gildedrose.scenario;
+
+import com.gildedrose.model.Category;
+import com.gildedrose.model.ItemView;
+
+
+/**
+ * Immutable snapshot of an inventory that every {@link Scenario} starts from. Its columns are never written after the
+ * snapshot, so any amount of scenarios can read them concurrently without copying.
+ *
+ * @author kavert
+ */
+public final class ScenarioBase {
+
+    private final String[] names;
+    private final Category[] categories;
+    private final int[] sellIns;
+    private final int[] qualities;
+
+    private ScenarioBase(String[] names, Category[] categories, int[] sellIns, int[] qualities) {
+        this.names = names;
+        this.categories = categories;
+        this.sellIns = sellIns;
+        this.qualities = qualities;
+    }
+
+    /**
+     * Take a snapshot of the current values of an inventory.
+     *
+     * @param view the inventory.
+     * @return a new {@link ScenarioBase}.
+     */
+    public static ScenarioBase of(ItemView view) {
+        final int size = view.size();
+        String[] names = new String[size];
+        Category[] categories = new Category[size];
+        int[] sellIns = new int[size];
+        int[] qualities = new int[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = view.name(i);
+            categories[i] = view.category(i);
+            sellIns[i] = view.sellIn(i);
+            qualities[i] = view.quality(i);
+        }
+        return new ScenarioBase(names, categories, sellIns, qualities);
+    }
+
+    /**
+     * @return amount of items in the snapshot.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @param index index of an item.
+     * @return the name of the item.
+     */
+    public String name(int index) {
+        return names[index];
+    }
+
+    /**
+     * @param index index of an item.
+     * @return the {@link Category} of the item.
+     */
+    public Category category(int index) {
+        return categories[index];
+    }
+
+    /**
+     * @param index index of an item.
+     * @return the sellIn of the item in the snapshot.
+     */
+    public int sellIn(int index) {
+        return sellIns[index];
+    }
+
+    /**
+     * @param index index of an item.
+     * @return the quality of the item in the snapshot.
+     */
+    public int quality(int index) {
+        return qualities[index];
+    }
+
+    /*
+     * Copy the snapshot qualities of a range into a scenario page.
+     */
+    void copyQualities(int from, int[] page, int length) {
+        System.arraycopy(qualities, from, page, 0, length);
+    }
+
+}
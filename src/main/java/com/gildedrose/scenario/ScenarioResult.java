@@ -0,0 +1,158 @@
+package com.gildedrose.scenario;
+
+import com.gildedrose.model.Category;
+
+
+/**
+ * Summary metrics of a {@link Scenario} at the end of its simulation, compared to the {@link ScenarioBase} it started from.
+ * <p>
+ * An item is expired once its sell by date has passed (negative {@code sellIn}) and worthless once its quality is at or
+ * below the minimum quality of the scenario's configuration.
+ *
+ * @author kavert
+ */
+public final class ScenarioResult {
+
+    private final String name;
+    private final int days;
+    private final int count;
+    private final long baseTotalQuality;
+    private final long[] totalQualities = new long[Category.values().length];
+    private final int expiredCount;
+    private final int worthlessCount;
+    private final int copiedPages;
+    private final int pages;
+    private final long elapsedNanos;
+
+    ScenarioResult(Scenario scenario, long elapsedNanos) {
+        ScenarioBase base = scenario.getBase();
+        final int minimum = scenario.getConfiguration()
+                                    .getMinimumQuality();
+
+        long baseTotal = 0;
+        int expired = 0;
+        int worthless = 0;
+        for (int i = 0; i < base.size(); i++) {
+            int quality = scenario.quality(i);
+            baseTotal += base.quality(i);
+            totalQualities[base.category(i)
+                               .ordinal()] += quality;
+            if (scenario.sellIn(i) < 0) {
+                expired++;
+            }
+            if (quality <= minimum) {
+                worthless++;
+            }
+        }
+
+        this.name = scenario.getName();
+        this.days = scenario.getDay();
+        this.count = base.size();
+        this.baseTotalQuality = baseTotal;
+        this.expiredCount = expired;
+        this.worthlessCount = worthless;
+        this.copiedPages = scenario.getCopiedPages();
+        this.pages = scenario.getPages();
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return name of the scenario.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return amount of simulated days.
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * @return amount of items simulated.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return total quality of all items at the end of the simulation.
+     */
+    public long getTotalQuality() {
+        long total = 0;
+        for (long quality : totalQualities) {
+            total += quality;
+        }
+        return total;
+    }
+
+    /**
+     * @param category a {@link Category}.
+     * @return total quality of the items of the given {@link Category} at the end of the simulation.
+     */
+    public long getTotalQuality(Category category) {
+        return totalQualities[category.ordinal()];
+    }
+
+    /**
+     * @return average quality at the end of the simulation, 0 for an empty inventory.
+     */
+    public double getAverageQuality() {
+        return count == 0 ? 0 : (double) getTotalQuality() / count;
+    }
+
+    /**
+     * @return change of the total quality over the simulation.
+     */
+    public long getQualityChange() {
+        return getTotalQuality() - baseTotalQuality;
+    }
+
+    /**
+     * @return amount of expired items at the end of the simulation.
+     */
+    public int getExpiredCount() {
+        return expiredCount;
+    }
+
+    /**
+     * @return amount of worthless items at the end of the simulation.
+     */
+    public int getWorthlessCount() {
+        return worthlessCount;
+    }
+
+    /**
+     * @return amount of quality pages the scenario copied from the base.
+     */
+    public int getCopiedPages() {
+        return copiedPages;
+    }
+
+    /**
+     * @return amount of quality pages of the inventory.
+     */
+    public int getPages() {
+        return pages;
+    }
+
+    /**
+     * @return wall clock time of the simulation, in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: %d days, total quality %d (%+d), average %.2f, expired %d, worthless %d, copied pages %d/%d, %.1f ms",
+                             name, days, getTotalQuality(), getQualityChange(), getAverageQuality(), expiredCount,
+                             worthlessCount, copiedPages, pages, elapsedNanos / 1e6);
+    }
+
+}
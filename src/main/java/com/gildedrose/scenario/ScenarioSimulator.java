@@ -0,0 +1,142 @@
+package com.gildedrose.scenario;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.model.ItemView;
+
+
+/**
+ * Simulates the same inventory under many candidate {@link QualityConfiguration}s, to compare policies before changing
+ * them. All scenarios share one immutable {@link ScenarioBase}; each keeps only its copy-on-write quality pages
+ * ({@link Scenario}). The scenarios run in parallel on the common fork/join pool, one scenario per task.
+ *
+ * @author kavert
+ */
+public final class ScenarioSimulator {
+
+    private final ScenarioBase base;
+    private final Map<String, QualityConfiguration> configurations;
+    private final int days;
+
+    private ScenarioSimulator(Builder builder) {
+        this.base = builder.base;
+        this.configurations = new LinkedHashMap<>(builder.configurations);
+        this.days = builder.days;
+    }
+
+    /**
+     * Simulate all scenarios from the base.
+     *
+     * @return the {@link ScenarioResult} of every scenario, in the order they were added.
+     * @throws IllegalStateException if a configuration rejects an item.
+     */
+    public List<ScenarioResult> run() {
+        final List<Map.Entry<String, QualityConfiguration>> scenarios = new ArrayList<>(configurations.entrySet());
+        final ScenarioResult[] results = new ScenarioResult[scenarios.size()];
+
+        IntStream.range(0, results.length)
+                 .parallel()
+                 .forEach(i -> {
+                     long start = System.nanoTime();
+                     Scenario scenario = new Scenario(scenarios.get(i)
+                                                               .getKey(),
+                                                      scenarios.get(i)
+                                                               .getValue(),
+                                                      base);
+                     scenario.advance(days);
+                     results[i] = new ScenarioResult(scenario, System.nanoTime() - start);
+                 });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * @return the shared snapshot all scenarios start from.
+     */
+    public ScenarioBase getBase() {
+        return base;
+    }
+
+    /**
+     * Builds (instantiates) a new {@link ScenarioSimulator}.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private ScenarioBase base;
+        private final Map<String, QualityConfiguration> configurations = new LinkedHashMap<>();
+        private int days = 30;
+
+        /**
+         * @param items the inventory to simulate, taken as a snapshot.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withItems(ItemView items) {
+            this.base = ScenarioBase.of(items);
+            return this;
+        }
+
+        /**
+         * @param base the shared snapshot to simulate.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withBase(ScenarioBase base) {
+            this.base = base;
+            return this;
+        }
+
+        /**
+         * @param name unique name of the scenario.
+         * @param configuration the {@link QualityConfiguration} to simulate.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withScenario(String name, QualityConfiguration configuration) {
+            if (name == null || configuration == null) {
+                throw new IllegalArgumentException("A scenario needs a non-null name and configuration.");
+            }
+            if (configurations.containsKey(name)) {
+                throw new IllegalArgumentException("Duplicate scenario '" + name + "'.");
+            }
+
+            configurations.put(name, configuration);
+            return this;
+        }
+
+        /**
+         * @param days amount of days to simulate.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withDays(int days) {
+            if (days < 0) {
+                throw new IllegalArgumentException("The amount of days to simulate can not be negative.");
+            }
+
+            this.days = days;
+            return this;
+        }
+
+        /**
+         * Instantiates a new {@link ScenarioSimulator}.
+         *
+         * @return a new ScenarioSimulator object.
+         */
+        public ScenarioSimulator build() {
+            if (base == null) {
+                throw new IllegalStateException("A scenario simulator needs an inventory to simulate.");
+            }
+            if (configurations.isEmpty()) {
+                throw new IllegalStateException("A scenario simulator needs at least one scenario.");
+            }
+
+            return new ScenarioSimulator(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,330 @@
+package com.gildedrose.schedule;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.gildedrose.checkpoint.Checkpoint;
+import com.gildedrose.checkpoint.MappedInventory;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.engine.QualityEngine;
+import com.gildedrose.engine.TemporalBlockingEngine;
+import com.gildedrose.model.ColumnarInventory;
+import com.gildedrose.model.Item;
+
+
+/**
+ * In-process daemon applying the daily update at every day boundary, so nothing external has to call it once per day.
+ * <p>
+ * The inventory and the last applied day are stored together in a {@link Checkpoint}, replaced atomically after every tick.
+ * On startup, and at every tick, all days since the last applied day are applied in one batched
+ * {@link QualityEngine#advance(Item[], int)} call, so a weekend without the scheduler is caught up in a single pass over
+ * the inventory.
+ * <p>
+ * A day is never applied twice: ticks are serialized and only apply days after the last applied day, so a repeated tick or
+ * a clock moved backwards applies nothing. A tick advances a copy of the inventory and writes its checkpoint before the
+ * {@link Item}s and the last applied day change, so a tick failing in the engine or on the checkpoint, or a crash, leaves
+ * the inventory and the day as they were and the retry starts from there. A gap larger than the configured maximum is
+ * refused rather than applied.
+ *
+ * @author kavert
+ */
+public final class TickScheduler implements Closeable {
+
+    private final Item[] items;
+    private final QualityEngine engine;
+    private final Path checkpoint;
+    private final Clock clock;
+    private final ZoneId zone;
+    private final LocalTime dayBoundary;
+    private final int maxCatchUpDays;
+    private final Duration retryDelay;
+    private final ScheduledExecutorService executor;
+
+    private LocalDate lastAppliedDay;
+    private volatile Exception lastFailure;
+
+    private TickScheduler(Builder builder) throws IOException {
+        this.engine = builder.engine;
+        this.checkpoint = builder.checkpoint;
+        this.clock = builder.clock;
+        this.zone = builder.zone;
+        this.dayBoundary = builder.dayBoundary;
+        this.maxCatchUpDays = builder.maxCatchUpDays;
+        this.retryDelay = builder.retryDelay;
+
+        if (Files.exists(checkpoint)) {
+            // The checkpoint holds the inventory as of its day, whatever the initial items. Read, not mapped: every tick
+            // replaces the file, which a mapping kept until garbage collection would pin (or, on Windows, refuse).
+            MappedInventory stored = Checkpoint.read(checkpoint);
+            this.items = new Item[stored.size()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = new Item(stored.name(i), stored.sellIn(i), stored.quality(i));
+            }
+            this.lastAppliedDay = LocalDate.ofEpochDay(stored.getDay());
+        } else {
+            if (builder.items == null) {
+                throw new IllegalStateException("A tick scheduler without a checkpoint needs a non-null array of items.");
+            }
+
+            // A new inventory is current as of its initial day.
+            this.items = builder.items;
+            this.lastAppliedDay = builder.initialDay != null ? builder.initialDay : today();
+            Checkpoint.write(checkpoint, (int) lastAppliedDay.toEpochDay(), ColumnarInventory.of(items));
+        }
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tick-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Catch up on missed days and schedule a tick at every following day boundary.
+     */
+    public void start() {
+        executor.execute(this::runScheduled);
+    }
+
+    /**
+     * Apply all days after the last applied day, up to and including today, in one batch.
+     *
+     * @return amount of days applied, 0 if the inventory is up to date.
+     * @throws IOException if the checkpoint can not be written; no day is applied.
+     * @throws IllegalStateException if more days than the maximum catch-up are missing, or the update rules reject an
+     *             {@link Item}; no day is applied.
+     */
+    public synchronized int tick() throws IOException {
+        LocalDate today = today();
+        long missing = today.toEpochDay() - lastAppliedDay.toEpochDay();
+        if (missing <= 0) {
+            return 0;
+        }
+        if (missing > maxCatchUpDays) {
+            throw new IllegalStateException("Refusing to apply " + missing + " days at once, from " + lastAppliedDay + " to " + today
+                            + "; the maximum catch-up is " + maxCatchUpDays + " days.");
+        }
+
+        Item[] next = new Item[items.length];
+        for (int i = 0; i < items.length; i++) {
+            next[i] = new Item(items[i].name, items[i].sellIn, items[i].quality);
+        }
+        engine.advance(next, (int) missing);
+
+        ColumnarInventory advanced = ColumnarInventory.of(next);
+        Checkpoint.write(checkpoint, (int) today.toEpochDay(), advanced);
+
+        // Committed: only now the live items and the day move.
+        advanced.copyTo(items);
+        lastAppliedDay = today;
+        return (int) missing;
+    }
+
+    private void runScheduled() {
+        Duration delay;
+        try {
+            tick();
+            lastFailure = null;
+            delay = Duration.between(clock.instant(), nextBoundary().toInstant());
+        } catch (Exception e) {
+            lastFailure = e;
+            delay = retryDelay;
+        }
+
+        if (!executor.isShutdown()) {
+            executor.schedule(this::runScheduled, Math.max(0, delay.toMillis()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /*
+     * The business day of an instant: days start at the day boundary, not at midnight.
+     */
+    private LocalDate today() {
+        ZonedDateTime now = ZonedDateTime.now(clock.withZone(zone));
+        LocalDate date = now.toLocalDate();
+        return now.toLocalTime()
+                  .isBefore(dayBoundary) ? date.minusDays(1) : date;
+    }
+
+    /*
+     * The start of the day after the last applied one; already past if a tick ran over a day boundary.
+     */
+    private synchronized ZonedDateTime nextBoundary() {
+        return lastAppliedDay.plusDays(1)
+                             .atTime(dayBoundary)
+                             .atZone(zone);
+    }
+
+    /**
+     * @return the live {@link Item}s, updated in place by every tick. Read them while holding the lock of this scheduler to
+     *         never see a tick halfway.
+     */
+    public Item[] getItems() {
+        return items;
+    }
+
+    /**
+     * @return the last day the inventory was updated for, as stored in the checkpoint.
+     */
+    public synchronized LocalDate getLastAppliedDay() {
+        return lastAppliedDay;
+    }
+
+    /**
+     * @return the failure of the last scheduled tick, {@code null} if it succeeded.
+     */
+    public Exception getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Stop scheduling ticks. A tick in progress completes.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Builds (instantiates) a new {@link TickScheduler}.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private Item[] items;
+        private QualityEngine engine;
+        private Path checkpoint;
+        private Clock clock = Clock.systemUTC();
+        private ZoneId zone = ZoneId.systemDefault();
+        private LocalTime dayBoundary = LocalTime.MIDNIGHT;
+        private LocalDate initialDay;
+        private int maxCatchUpDays = 366;
+        private Duration retryDelay = Duration.ofMinutes(1);
+
+        /**
+         * @param items the initial {@link Item}s, used when there is no checkpoint yet and updated in place from then on.
+         *            Must not be updated by anything else.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withItems(Item[] items) {
+            this.items = items;
+            return this;
+        }
+
+        /**
+         * @param engine the {@link QualityEngine} applying the days, a {@link TemporalBlockingEngine} by default.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withEngine(QualityEngine engine) {
+            this.engine = engine;
+            return this;
+        }
+
+        /**
+         * @param checkpoint the {@link Checkpoint} file holding the inventory and the last applied day.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withCheckpoint(Path checkpoint) {
+            this.checkpoint = checkpoint;
+            return this;
+        }
+
+        /**
+         * @param clock the clock telling the current day.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withClock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * @param zone the time zone of the day boundaries.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withZone(ZoneId zone) {
+            this.zone = zone;
+            return this;
+        }
+
+        /**
+         * @param dayBoundary the local time a new day starts, midnight by default.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withDayBoundary(LocalTime dayBoundary) {
+            this.dayBoundary = dayBoundary;
+            return this;
+        }
+
+        /**
+         * @param initialDay the day the initial {@link Item}s are current as of, when there is no checkpoint yet; today by
+         *            default.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withInitialDay(LocalDate initialDay) {
+            this.initialDay = initialDay;
+            return this;
+        }
+
+        /**
+         * @param maxCatchUpDays most days applied in a single tick; a larger gap is refused as a likely clock error.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withMaxCatchUpDays(int maxCatchUpDays) {
+            if (maxCatchUpDays <= 0) {
+                throw new IllegalArgumentException("The maximum amount of catch-up days must be positive.");
+            }
+
+            this.maxCatchUpDays = maxCatchUpDays;
+            return this;
+        }
+
+        /**
+         * @param retryDelay delay before retrying a failed scheduled tick.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withRetryDelay(Duration retryDelay) {
+            if (retryDelay == null || retryDelay.isNegative()) {
+                throw new IllegalArgumentException("The retry delay can not be negative.");
+            }
+
+            this.retryDelay = retryDelay;
+            return this;
+        }
+
+        /**
+         * Instantiates a new {@link TickScheduler}, restoring the inventory from its checkpoint or creating the checkpoint of
+         * the initial {@link Item}s at the initial day.
+         *
+         * @return a new TickScheduler object, not started yet.
+         * @throws IOException if the checkpoint can not be read or written.
+         */
+        public TickScheduler build() throws IOException {
+            if (checkpoint == null) {
+                throw new IllegalStateException("A tick scheduler needs a checkpoint file.");
+            }
+            if (clock == null || zone == null || dayBoundary == null) {
+                throw new IllegalStateException("A tick scheduler needs a clock, a time zone and a day boundary.");
+            }
+            if (engine == null) {
+                engine = new TemporalBlockingEngine(QualityConfigurationFactory.createItemQualityConfiguration());
+            }
+
+            return new TickScheduler(this);
+        }
+
+    }
+
+}
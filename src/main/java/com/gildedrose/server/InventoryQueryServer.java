@@ -0,0 +1,482 @@
+package com.gildedrose.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.gildedrose.GildedRose;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Item;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+
+/**
+ * Embedded, read-only HTTP query endpoint on the live inventory of a {@link GildedRose}, so terminals can poll single items
+ * instead of reading a whole exported snapshot.
+ * <ul>
+ * <li>{@code GET /items/{id}}: a single item.</li>
+ * <li>{@code GET /items?name={name}&offset={offset}&limit={limit}}: a page of the items with the given name.</li>
+ * <li>{@code GET /categories}: the amount of items per {@link Category}.</li>
+ * <li>{@code GET /categories/{category}?offset={offset}&limit={limit}}: a page of the items of a {@link Category}.</li>
+ * <li>{@code GET /count}: the amount of items.</li>
+ * </ul>
+ * Names, categories and positions are indexed once at start, as they never change; sellIn and quality are read from the
+ * live {@link Item}s. Requests are served while {@code updateQuality()} runs, without locking: an item read during the update
+ * may show its new quality with its old sellIn.
+ * <p>
+ * Listings return at most {@value #MAX_LIMIT} items per page, {@value #DEFAULT_LIMIT} by default. A response that would
+ * grow beyond the maximum response size is refused with status 413 instead.
+ * <p>
+ * Requests run on a virtual thread each when the JVM offers them (Java 21 and later), else on a bounded thread pool.
+ * Responses are encoded into pooled {@link ResponseBuffer}s.
+ *
+ * @author kavert
+ */
+public final class InventoryQueryServer implements Closeable {
+
+    private static final byte[] ID = "{\"id\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NAME = ",\"name\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CATEGORY = ",\"category\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SELL_IN = "\",\"sellIn\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] QUALITY = ",\"quality\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 10_000;
+
+    private final Item[] items;
+    private final byte[][] encodedNames;
+    private final Category[] categories;
+    private final int[][] idsByCategory;
+    private final Map<String, int[]> idsByName;
+
+    private final ResponseBuffer.Pool buffers;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final HttpServer server;
+
+    private InventoryQueryServer(Builder builder) throws IOException {
+        this.items = builder.items;
+        this.encodedNames = new byte[items.length][];
+        this.categories = new Category[items.length];
+
+        Map<String, byte[]> encoded = new HashMap<>();
+        Map<String, List<Integer>> byName = new LinkedHashMap<>();
+        List<List<Integer>> byCategory = new ArrayList<>();
+        for (int i = 0; i < Category.values().length; i++) {
+            byCategory.add(new ArrayList<>());
+        }
+        for (int id = 0; id < items.length; id++) {
+            String name = items[id].name;
+            encodedNames[id] = encoded.computeIfAbsent(name, InventoryQueryServer::encodeJsonString);
+            categories[id] = Category.of(name);
+            byName.computeIfAbsent(name, key -> new ArrayList<>())
+                  .add(id);
+            byCategory.get(categories[id].ordinal())
+                      .add(id);
+        }
+        this.idsByName = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> ids : byName.entrySet()) {
+            idsByName.put(ids.getKey(), toArray(ids.getValue()));
+        }
+        this.idsByCategory = new int[byCategory.size()][];
+        for (int i = 0; i < idsByCategory.length; i++) {
+            idsByCategory[i] = toArray(byCategory.get(i));
+        }
+
+        this.buffers = new ResponseBuffer.Pool(builder.bufferPoolSize, 512, 64 << 10, builder.maxResponseBytes);
+        ExecutorService virtualThreadExecutor = newVirtualThreadExecutor();
+        this.virtualThreads = virtualThreadExecutor != null;
+        this.executor = virtualThreads ? virtualThreadExecutor : Executors.newFixedThreadPool(builder.threads, runnable -> {
+            Thread thread = new Thread(runnable, "inventory-query");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(builder.address, builder.port), builder.backlog);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    /**
+     * @return the port the server listens on.
+     */
+    public int getPort() {
+        return server.getAddress()
+                     .getPort();
+    }
+
+    /**
+     * @return whether requests run on virtual threads.
+     */
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Stop accepting requests, wait up to a second for running requests and stop the executor.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        ResponseBuffer buffer = buffers.acquire();
+        try {
+            int status;
+            try {
+                status = "GET".equals(exchange.getRequestMethod()) ? respond(exchange, buffer) : error(buffer, 405, "Only GET is supported.");
+            } catch (IllegalStateException e) {
+                buffer.clear();
+                status = error(buffer, 413, "The response is too large, request a smaller page.");
+            }
+
+            exchange.getResponseHeaders()
+                    .set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, buffer.length());
+            try (OutputStream body = exchange.getResponseBody()) {
+                buffer.writeTo(body);
+            }
+        } finally {
+            buffers.release(buffer);
+            exchange.close();
+        }
+    }
+
+    private int respond(HttpExchange exchange, ResponseBuffer buffer) {
+        String path = exchange.getRequestURI()
+                              .getPath();
+        Map<String, String> parameters;
+        try {
+            parameters = parameters(exchange.getRequestURI()
+                                            .getRawQuery());
+        } catch (IllegalArgumentException e) {
+            return error(buffer, 400, "Malformed query string.");
+        }
+
+        if ("/count".equals(path)) {
+            buffer.appendAscii("{\"count\":")
+                  .append(items.length)
+                  .append((byte) '}');
+            return 200;
+        }
+
+        if ("/items".equals(path)) {
+            String name = parameters.get("name");
+            if (name == null) {
+                return error(buffer, 400, "Query parameter 'name' is required.");
+            }
+            int[] ids = idsByName.get(name);
+            return page(buffer, ids == null ? new int[0] : ids, parameters);
+        }
+
+        if (path.startsWith("/items/")) {
+            int id = parseInt(path.substring("/items/".length()), -1);
+            if (id < 0 || id >= items.length) {
+                return error(buffer, 404, "No item with this id.");
+            }
+            item(buffer, id);
+            return 200;
+        }
+
+        if ("/categories".equals(path)) {
+            buffer.append((byte) '{');
+            for (Category category : Category.values()) {
+                if (category.ordinal() > 0) {
+                    buffer.append((byte) ',');
+                }
+                buffer.append((byte) '"')
+                      .appendAscii(category.name())
+                      .appendAscii("\":")
+                      .append(idsByCategory[category.ordinal()].length);
+            }
+            buffer.append((byte) '}');
+            return 200;
+        }
+
+        if (path.startsWith("/categories/")) {
+            Category category;
+            try {
+                category = Category.valueOf(path.substring("/categories/".length()));
+            } catch (IllegalArgumentException e) {
+                return error(buffer, 404, "No such category.");
+            }
+            return page(buffer, idsByCategory[category.ordinal()], parameters);
+        }
+
+        return error(buffer, 404, "Unknown resource.");
+    }
+
+    /*
+     * The page of items selected by the offset and limit parameters.
+     */
+    private int page(ResponseBuffer buffer, int[] ids, Map<String, String> parameters) {
+        int offset = parseInt(parameters.get("offset"), 0);
+        int limit = parseInt(parameters.get("limit"), DEFAULT_LIMIT);
+        if (offset < 0 || limit < 0 || limit > MAX_LIMIT) {
+            return error(buffer, 400, "The offset must be positive and the limit between 0 and " + MAX_LIMIT + ".");
+        }
+        int from = Math.min(offset, ids.length);
+        return itemList(buffer, ids, from, (int) Math.min(ids.length, (long) from + limit));
+    }
+
+    private int itemList(ResponseBuffer buffer, int[] ids, int from, int to) {
+        buffer.append((byte) '[');
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                buffer.append((byte) ',');
+            }
+            item(buffer, ids[i]);
+        }
+        buffer.append((byte) ']');
+        return 200;
+    }
+
+    private void item(ResponseBuffer buffer, int id) {
+        Item item = items[id];
+        buffer.append(ID)
+              .append(id)
+              .append(NAME)
+              .append(encodedNames[id])
+              .append(CATEGORY)
+              .appendAscii(categories[id].name())
+              .append(SELL_IN)
+              .append(item.sellIn)
+              .append(QUALITY)
+              .append(item.quality)
+              .append((byte) '}');
+    }
+
+    private static int error(ResponseBuffer buffer, int status, String message) {
+        buffer.appendAscii("{\"error\":")
+              .append(encodeJsonString(message))
+              .append((byte) '}');
+        return status;
+    }
+
+    private static Map<String, String> parameters(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            try {
+                parameters.put(URLDecoder.decode(key, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException("UTF-8 is always supported.", e);
+            }
+        }
+        return parameters;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] encodeJsonString(String value) {
+        if (value == null) {
+            return NULL;
+        }
+
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\')
+                    .append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"')
+                   .toString()
+                   .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /*
+     * Virtual threads are looked up reflectively, this code base still compiles for Java 8.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Builds (instantiates) and starts a new {@link InventoryQueryServer} with the given attributes.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private Item[] items;
+        private InetAddress address = InetAddress.getLoopbackAddress();
+        private int port;
+        private int backlog = 16_384;
+        private int threads = Runtime.getRuntime()
+                                     .availableProcessors() * 8;
+        private int bufferPoolSize = 1_024;
+        private int maxResponseBytes = 1 << 20;
+
+        /**
+         * @param gildedRose the {@link GildedRose} whose live inventory to serve.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withGildedRose(GildedRose gildedRose) {
+            this.items = gildedRose.getItems();
+            return this;
+        }
+
+        /**
+         * @param items the live {@link Item}s to serve.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withItems(Item[] items) {
+            this.items = items;
+            return this;
+        }
+
+        /**
+         * @param address the address to listen on, the loopback address by default.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withAddress(InetAddress address) {
+            this.address = address;
+            return this;
+        }
+
+        /**
+         * @param port the port to listen on, 0 (the default) for any free port.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withPort(int port) {
+            if (port < 0 || port > 0xFFFF) {
+                throw new IllegalArgumentException("The port must be between 0 and 65535.");
+            }
+
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * @param backlog amount of pending connections the operating system may queue.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withBacklog(int backlog) {
+            if (backlog <= 0) {
+                throw new IllegalArgumentException("The backlog must be positive.");
+            }
+
+            this.backlog = backlog;
+            return this;
+        }
+
+        /**
+         * @param threads amount of request threads when virtual threads are not available.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withThreads(int threads) {
+            if (threads <= 0) {
+                throw new IllegalArgumentException("A query server needs at least one thread.");
+            }
+
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * @param bufferPoolSize maximum amount of idle response buffers kept for reuse.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withBufferPoolSize(int bufferPoolSize) {
+            if (bufferPoolSize <= 0) {
+                throw new IllegalArgumentException("The buffer pool size must be positive.");
+            }
+
+            this.bufferPoolSize = bufferPoolSize;
+            return this;
+        }
+
+        /**
+         * @param maxResponseBytes largest response body sent; larger responses are refused with status 413.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withMaxResponseBytes(int maxResponseBytes) {
+            if (maxResponseBytes < 1_024) {
+                throw new IllegalArgumentException("The maximum response size must be at least 1024 bytes.");
+            }
+
+            this.maxResponseBytes = maxResponseBytes;
+            return this;
+        }
+
+        /**
+         * Instantiates and starts a new {@link InventoryQueryServer}.
+         *
+         * @return a new, running InventoryQueryServer.
+         * @throws IOException if the server can not listen on the address and port.
+         */
+        public InventoryQueryServer build() throws IOException {
+            if (items == null) {
+                throw new IllegalStateException("A query server needs an inventory to serve.");
+            }
+            for (Item item : items) {
+                if (item == null) {
+                    throw new IllegalStateException("A query server can only serve an inventory without null items.");
+                }
+            }
+
+            return new InventoryQueryServer(this);
+        }
+
+    }
+
+}
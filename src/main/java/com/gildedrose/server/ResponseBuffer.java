@@ -0,0 +1,143 @@
+package com.gildedrose.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+
+/**
+ * Growable byte buffer a JSON response is encoded into, borrowed from a bounded pool and returned after the response was
+ * sent. Pooling instead of a per-thread buffer, since a virtual thread per request would never reuse its thread's buffer.
+ * A buffer never grows beyond the maximum response size of its pool.
+ *
+ * @author kavert
+ */
+final class ResponseBuffer {
+
+    private static final byte[] MIN_VALUE = Integer.toString(Integer.MIN_VALUE)
+                                                   .getBytes(StandardCharsets.US_ASCII);
+
+    private final int maxCapacity;
+    private byte[] bytes;
+    private int length;
+
+    private ResponseBuffer(int capacity, int maxCapacity) {
+        this.bytes = new byte[capacity];
+        this.maxCapacity = maxCapacity;
+    }
+
+    ResponseBuffer append(byte value) {
+        ensureRemaining(1);
+        bytes[length++] = value;
+        return this;
+    }
+
+    ResponseBuffer append(byte[] values) {
+        ensureRemaining(values.length);
+        System.arraycopy(values, 0, bytes, length, values.length);
+        length += values.length;
+        return this;
+    }
+
+    /**
+     * Append a string of ASCII characters, e.g. a JSON key or an enum name.
+     */
+    ResponseBuffer appendAscii(String value) {
+        ensureRemaining(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            bytes[length++] = (byte) value.charAt(i);
+        }
+        return this;
+    }
+
+    /**
+     * Append the decimal digits of an int, without allocating a String.
+     */
+    ResponseBuffer append(int value) {
+        if (value == Integer.MIN_VALUE) {
+            return append(MIN_VALUE);
+        }
+
+        ensureRemaining(11);
+        if (value < 0) {
+            bytes[length++] = '-';
+            value = -value;
+        }
+
+        int digits = 1;
+        for (int rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = length + digits - 1; i >= length; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+        return this;
+    }
+
+    int length() {
+        return length;
+    }
+
+    /**
+     * Discard the encoded bytes, keeping the capacity.
+     */
+    void clear() {
+        length = 0;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, length);
+    }
+
+    /*
+     * @throws IllegalStateException if the response would grow beyond the maximum response size.
+     */
+    private void ensureRemaining(int amount) {
+        if (length + amount > bytes.length) {
+            if (length + amount > maxCapacity) {
+                throw new IllegalStateException("A response can not be larger than " + maxCapacity + " bytes.");
+            }
+            bytes = Arrays.copyOf(bytes, (int) Math.min(Math.max(bytes.length * 2L, length + amount), maxCapacity));
+        }
+    }
+
+    /**
+     * Bounded pool of {@link ResponseBuffer}s. Buffers grown beyond the retained capacity are dropped on release, so a single
+     * large listing does not pin its memory.
+     *
+     * @author kavert
+     */
+    static final class Pool {
+
+        private final BlockingQueue<ResponseBuffer> buffers;
+        private final int initialCapacity;
+        private final int maxRetainedCapacity;
+        private final int maxCapacity;
+
+        Pool(int size, int initialCapacity, int maxRetainedCapacity, int maxCapacity) {
+            this.buffers = new ArrayBlockingQueue<>(size);
+            this.initialCapacity = initialCapacity;
+            this.maxRetainedCapacity = maxRetainedCapacity;
+            this.maxCapacity = maxCapacity;
+        }
+
+        ResponseBuffer acquire() {
+            ResponseBuffer buffer = buffers.poll();
+            return buffer == null ? new ResponseBuffer(Math.min(initialCapacity, maxCapacity), maxCapacity) : buffer;
+        }
+
+        void release(ResponseBuffer buffer) {
+            if (buffer.bytes.length <= maxRetainedCapacity) {
+                buffer.length = 0;
+                buffers.offer(buffer);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.gildedrose.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.gildedrose.engine.ItemUpdateListener;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Item;
+
+
+/**
+ * Dashboard aggregates of an inventory: amount of {@link Item}s, total and average quality and amount of expired {@link Item}s,
+ * overall and per {@link Category}.
+ * <p>
+ * Registered as an {@link ItemUpdateListener}, the aggregates are maintained from the per-item changes of the daily update,
+ * so reading them never scans the inventory. All counters are striped ({@link LongAdder}), so concurrent updates, as done by
+ * {@code GildedRose#updateQualityInParallel()}, do not contend on a single counter.
+ * <p>
+ * An {@link Item} is expired once its sell by date has passed: its {@code sellIn} is negative.
+ * 
+ * @author kavert
+ */
+public class InventoryStatistics implements ItemUpdateListener {
+
+    private final LongAdder[] counts;
+    private final LongAdder[] qualities;
+    private final LongAdder[] expired;
+
+    /**
+     * Initiates statistics of an empty inventory.
+     */
+    public InventoryStatistics() {
+        int categories = Category.values().length;
+        this.counts = newAdders(categories);
+        this.qualities = newAdders(categories);
+        this.expired = newAdders(categories);
+    }
+
+    /**
+     * Create the statistics of the given {@link Item}s.
+     * 
+     * @param items the {@link Item}s of the inventory.
+     * @return a new {@link InventoryStatistics}.
+     */
+    public static InventoryStatistics of(Item[] items) {
+        InventoryStatistics statistics = new InventoryStatistics();
+        for (Item item : items) {
+            statistics.add(Category.of(item.name), item);
+        }
+        return statistics;
+    }
+
+    /**
+     * Account for an {@link Item} added to the inventory.
+     * 
+     * @param category the {@link Category} of the {@link Item}.
+     * @param item the added {@link Item}.
+     */
+    public void add(Category category, Item item) {
+        int ordinal = category.ordinal();
+        counts[ordinal].increment();
+        qualities[ordinal].add(item.quality);
+        if (item.sellIn < 0) {
+            expired[ordinal].increment();
+        }
+    }
+
+    /**
+     * Account for an {@link Item} removed from the inventory.
+     * 
+     * @param category the {@link Category} of the {@link Item}.
+     * @param item the removed {@link Item}, with its values at removal.
+     */
+    public void remove(Category category, Item item) {
+        int ordinal = category.ordinal();
+        counts[ordinal].decrement();
+        qualities[ordinal].add(-item.quality);
+        if (item.sellIn < 0) {
+            expired[ordinal].decrement();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void itemUpdated(int index, Category category, int previousQuality, Item item) {
+        int ordinal = category.ordinal();
+        if (item.quality != previousQuality) {
+            qualities[ordinal].add(item.quality - previousQuality);
+        }
+
+        // Only the daily decrement of sellIn can expire an item.
+        if (item.sellIn == -1 && category != Category.LEGENDARY) {
+            expired[ordinal].increment();
+        }
+    }
+
+    /**
+     * @return amount of {@link Item}s in the inventory.
+     */
+    public long getCount() {
+        return sum(counts);
+    }
+
+    /**
+     * @param category a {@link Category}.
+     * @return amount of {@link Item}s of the given {@link Category}.
+     */
+    public long getCount(Category category) {
+        return counts[category.ordinal()].sum();
+    }
+
+    /**
+     * @return sum of the quality of all {@link Item}s.
+     */
+    public long getTotalQuality() {
+        return sum(qualities);
+    }
+
+    /**
+     * @param category a {@link Category}.
+     * @return sum of the quality of all {@link Item}s of the given {@link Category}.
+     */
+    public long getTotalQuality(Category category) {
+        return qualities[category.ordinal()].sum();
+    }
+
+    /**
+     * @return the average quality of all {@link Item}s, 0 for an empty inventory.
+     */
+    public double getAverageQuality() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getTotalQuality() / count;
+    }
+
+    /**
+     * @param category a {@link Category}.
+     * @return the average quality of the {@link Item}s of the given {@link Category}, 0 if there are none.
+     */
+    public double getAverageQuality(Category category) {
+        long count = getCount(category);
+        return count == 0 ? 0 : (double) getTotalQuality(category) / count;
+    }
+
+    /**
+     * @return amount of expired {@link Item}s.
+     */
+    public long getExpiredCount() {
+        return sum(expired);
+    }
+
+    /**
+     * @param category a {@link Category}.
+     * @return amount of expired {@link Item}s of the given {@link Category}.
+     */
+    public long getExpiredCount(Category category) {
+        return expired[category.ordinal()].sum();
+    }
+
+    private static LongAdder[] newAdders(int length) {
+        LongAdder[] adders = new LongAdder[length];
+        for (int i = 0; i < length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static long sum(LongAdder[] adders) {
+        long sum = 0;
+        for (LongAdder adder : adders) {
+            sum += adder.sum();
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.gildedrose;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.engine.ColumnarEngine;
+import com.gildedrose.function.quality.QualityOperator;
+import com.gildedrose.function.quality.QualityOperatorFactory;
+import com.gildedrose.index.QualityIndex;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.ColumnarInventory;
+import com.gildedrose.model.Item;
+import com.gildedrose.stats.InventoryStatistics;
+
+
+/**
+ * Allocation budgets of the daily update hot path, measured with the per-thread allocation counter of
+ * {@link com.sun.management.ThreadMXBean}. The steady state budget is zero bytes per item: any allocation on the hot path
+ * fails the build.
+ *
+ * @author kavert
+ */
+public class AllocationBudgetTest {
+
+    private static final int ITEMS = 10_000;
+    private static final int WARM_UP_DAYS = 200;
+    private static final int MEASURED_DAYS = 50;
+
+    private static final double ZERO_BYTES_PER_ITEM = 0.0;
+
+    // Measuring itself may allocate a few bytes now and then; far below one byte per measured item update.
+    private static final long MEASUREMENT_SLACK_BYTES = 4 * 1024;
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+    private long threadId;
+    private QualityConfiguration configuration;
+
+    @Before
+    public void setUp() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        threadId = Thread.currentThread()
+                         .getId();
+        configuration = QualityConfigurationFactory.createItemQualityConfiguration();
+    }
+
+    @Test
+    public void when_UpdateQuality_then_ZeroBytesPerItem() {
+        GildedRose gildedRose = new GildedRose(new InventoryGenerator(29L).generate(ITEMS));
+
+        assertBudget("GildedRose.updateQuality()", ZERO_BYTES_PER_ITEM, ITEMS, gildedRose::updateQuality);
+    }
+
+    @Test
+    public void when_UpdateQualityWithListeners_then_ZeroBytesPerItem() {
+        Item[] items = new InventoryGenerator(31L).generate(ITEMS);
+        GildedRose gildedRose = new GildedRose(items);
+        gildedRose.addItemUpdateListener(QualityIndex.of(configuration, items));
+        gildedRose.addItemUpdateListener(InventoryStatistics.of(items));
+
+        assertBudget("GildedRose.updateQuality() with listeners", ZERO_BYTES_PER_ITEM, ITEMS, gildedRose::updateQuality);
+    }
+
+    @Test
+    public void when_ColumnarUpdateQuality_then_ZeroBytesPerItem() {
+        ColumnarEngine engine = new ColumnarEngine(configuration);
+        ColumnarInventory inventory = ColumnarInventory.of(new InventoryGenerator(37L).generate(ITEMS));
+
+        assertBudget("ColumnarEngine.updateQuality()", ZERO_BYTES_PER_ITEM, ITEMS, () -> engine.updateQuality(inventory));
+    }
+
+    @Test
+    public void when_LegacyViewUpdateQuality_then_ZeroBytesPerItem() {
+        ColumnarEngine engine = new ColumnarEngine(configuration);
+        Item[] generated = new InventoryGenerator(41L).generate(ITEMS);
+        com.gildedrose.Item[] legacyItems = new com.gildedrose.Item[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            legacyItems[i] = new com.gildedrose.Item(generated[i].name, generated[i].sellIn, generated[i].quality);
+        }
+
+        assertBudget("ColumnarEngine.updateQuality(legacy Item[])", ZERO_BYTES_PER_ITEM, ITEMS, () -> engine.updateQuality(legacyItems));
+    }
+
+    @Test
+    public void when_OperatorsApplied_then_ZeroBytesPerItem() {
+        for (Category category : Category.values()) {
+            QualityOperator operator = QualityOperatorFactory.getQualityOperator(configuration, category);
+            int quality = category == Category.LEGENDARY ? configuration.getLegendaryQuality() : 20;
+            Item[] items = new Item[ITEMS];
+            for (int i = 0; i < ITEMS; i++) {
+                items[i] = new Item(category.name(), i % 20 - 5, quality);
+            }
+
+            assertBudget(category + " QualityOperator.apply()", ZERO_BYTES_PER_ITEM, ITEMS, () -> {
+                for (Item item : items) {
+                    operator.apply(item);
+                    if (category != Category.LEGENDARY) {
+                        item.quality = quality;
+                    }
+                }
+            });
+        }
+    }
+
+    private void assertBudget(String name, double bytesPerItemBudget, int items, Runnable day) {
+        for (int i = 0; i < WARM_UP_DAYS; i++) {
+            day.run();
+        }
+
+        long overhead = allocatedBytes(() -> {
+        });
+        long allocated = allocatedBytes(() -> {
+            for (int i = 0; i < MEASURED_DAYS; i++) {
+                day.run();
+            }
+        }) - overhead;
+
+        double bytesPerItem = Math.max(0, allocated - MEASUREMENT_SLACK_BYTES) / ((double) items * MEASURED_DAYS);
+        assertTrue(String.format("%s allocated %d bytes (%.3f bytes per item), budget is %.3f bytes per item", name, allocated,
+                                 bytesPerItem, bytesPerItemBudget),
+                   bytesPerItem <= bytesPerItemBudget);
+    }
+
+    private long allocatedBytes(Runnable runnable) {
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        runnable.run();
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+}
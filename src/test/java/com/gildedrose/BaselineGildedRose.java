@@ -0,0 +1,278 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+import com.gildedrose.model.QualityModifier;
+
+
+/**
+ * Frozen copy of the original {@code GildedRose#updateQuality()} and the quality operators it used, as they were before
+ * any engine was added.<br>
+ * {@link GildedRose} itself has since been rewritten, so the {@link DifferentialFuzzer} checks it against this copy to
+ * keep every engine tied to the original rules. Do not change the rules here.
+ * <p>
+ * The conjured composites came after the baseline; they are built here from the baseline operators with the conjured
+ * multiplier, independently of {@code FusedQuality}.
+ *
+ * @author kavert
+ */
+final class BaselineGildedRose {
+
+    QualityConfiguration qualityConfiguration;
+
+    Item[] items;
+
+    BaselineGildedRose(Item[] items) {
+        this.qualityConfiguration = QualityConfigurationFactory.createItemQualityConfiguration();
+        this.items = items;
+    }
+
+    public void updateQuality() {
+        final int length = items.length;
+
+        for (int i = 0; i < length; i++) {
+            Item item = items[i];
+
+            UnaryOperator<Item> qualityOperator = getQualityOperator(qualityConfiguration, item);
+            items[i] = qualityOperator.apply(item);
+
+            if (!Inventory.LEGENDARY_ITEMS.contains(item.name)) {
+                item.sellIn = item.sellIn - 1;
+            }
+        }
+    }
+
+    private static UnaryOperator<Item> getQualityOperator(QualityConfiguration configuration, Item item) {
+        if (item == null) {
+            throw new IllegalArgumentException("To get a QualityOperator a non-null item must be provided.");
+        }
+
+        if (Inventory.AGED_BRIE.equals(item.name)) {
+            return new ImproveQuality(configuration.getNormalQualityModifier(), configuration.getMaximumQuality());
+        }
+
+        if (Inventory.BACKSTAGE_TAFKAL80ETC.equals(item.name)) {
+            return new ExpireQuality(configuration.getNormalQualityModifier(),
+                                     configuration.getMinimumQuality(),
+                                     configuration.getMaximumQuality(),
+                                     configuration.getBackstagePassQualityModifiers());
+        }
+
+        if (Inventory.SULFURAS.equals(item.name)) {
+            return new LegendaryQuality(configuration.getLegendaryQuality());
+        }
+
+        if (Inventory.MANA_CAKE.equals(item.name)) {
+            return new DegradeQuality(configuration.getConjuredQualityModifier(), configuration.getMinimumQuality());
+        }
+
+        // Added after the baseline.
+        int multiplier = configuration.getConjuredQualityModifier() / configuration.getNormalQualityModifier();
+        if (Inventory.CONJURED_AGED_BRIE.equals(item.name)) {
+            return new ImproveQuality(configuration.getNormalQualityModifier() * multiplier, configuration.getMaximumQuality());
+        }
+
+        if (Inventory.CONJURED_BACKSTAGE_TAFKAL80ETC.equals(item.name)) {
+            List<QualityModifier> modifiers = new ArrayList<>();
+            for (QualityModifier modifier : configuration.getBackstagePassQualityModifiers()) {
+                modifiers.add(new QualityModifier.Builder().withDaysLeft(modifier.getDaysLeft())
+                                                           .withAmount(modifier.getAmount() * multiplier)
+                                                           .build());
+            }
+            return new ExpireQuality(configuration.getNormalQualityModifier() * multiplier,
+                                     configuration.getMinimumQuality(),
+                                     configuration.getMaximumQuality(),
+                                     modifiers);
+        }
+
+        return new DegradeQuality(configuration.getNormalQualityModifier(), configuration.getMinimumQuality());
+    }
+
+    private static final class DegradeQuality implements UnaryOperator<Item> {
+
+        private final int amount;
+        private final int limit;
+
+        DegradeQuality(int amount, int limit) {
+            this.amount = Math.abs(amount);
+            this.limit = limit;
+        }
+
+        @Override
+        public Item apply(Item item) {
+            if (item == null) {
+                return item;
+            }
+
+            int newQuality;
+            if (item.sellIn <= 0) {
+                newQuality = item.quality - (amount * 2);
+            } else {
+                newQuality = item.quality - amount;
+            }
+
+            if (newQuality < limit) {
+                newQuality = limit;
+            }
+
+            item.quality = newQuality;
+            return item;
+        }
+
+    }
+
+    private static final class ImproveQuality implements UnaryOperator<Item> {
+
+        private final int amount;
+        private final int limit;
+
+        ImproveQuality(int amount, int limit) {
+            this.amount = Math.abs(amount);
+            this.limit = limit;
+        }
+
+        @Override
+        public Item apply(Item item) {
+            if (item == null) {
+                return item;
+            }
+
+            int newQuality;
+            if (item.sellIn <= 0) {
+                newQuality = item.quality + (amount * 2);
+            } else {
+                newQuality = item.quality + amount;
+            }
+
+            if (newQuality > limit) {
+                newQuality = limit;
+            }
+
+            item.quality = newQuality;
+            return item;
+        }
+
+    }
+
+    private static final class ExpireQuality implements UnaryOperator<Item> {
+
+        // The amount of quality of an expired item.
+        private static final int EXPIRED = 0;
+
+        private final int normalModifier;
+        private final int lowerLimit;
+        private final int upperLimit;
+        private final List<QualityModifier> qualityModifiers;
+
+        ExpireQuality(int normalModifier, int lowerLimit, int upperLimit, List<QualityModifier> qualityModifiers) {
+            this.normalModifier = normalModifier;
+            this.lowerLimit = lowerLimit;
+            this.upperLimit = upperLimit;
+
+            this.qualityModifiers = new ArrayList<>();
+            if (qualityModifiers != null) {
+                this.qualityModifiers.addAll(qualityModifiers);
+            }
+
+            // Close the 'range' of the last quality modifier.
+            this.qualityModifiers.add(new QualityModifier.Builder().withDaysLeft(EXPIRED)
+                                                                   .withAmount(this.lowerLimit)
+                                                                   .build());
+        }
+
+        @Override
+        public Item apply(Item item) {
+            if (item == null) {
+                return item;
+            }
+
+            if (item.sellIn <= 0) {
+                item.quality = lowerLimit;
+                return item;
+            }
+
+            int newQuality = item.quality + getModifierAmount(item.sellIn);
+
+            if (newQuality < lowerLimit) {
+                newQuality = lowerLimit;
+            }
+
+            if (newQuality > upperLimit) {
+                newQuality = upperLimit;
+            }
+
+            item.quality = newQuality;
+            return item;
+        }
+
+        private int getModifierAmount(final int sellIn) {
+            // Make sure the modifiers are ordered descending by amount of days left.
+            Collections.sort(qualityModifiers);
+
+            // Sell in higher then the first modifier.
+            if (sellIn > qualityModifiers.get(0)
+                                         .getDaysLeft()) {
+                return normalModifier;
+            }
+
+            int index = 0;
+            int nextIndex = 0;
+            int size = qualityModifiers.size();
+
+            while (index < size) {
+                nextIndex++;
+
+                while (nextIndex < size) {
+                    QualityModifier qualityModifier = qualityModifiers.get(index);
+                    QualityModifier nextQualityModifier = qualityModifiers.get(nextIndex);
+
+                    // Determine if the sellIn is in range and get the amount.
+                    if (sellIn <= qualityModifier.getDaysLeft() && sellIn > nextQualityModifier.getDaysLeft()) {
+                        return qualityModifier.getAmount();
+                    } else if (index < nextIndex) {
+                        index++;
+                    } else {
+                        break;
+                    }
+                }
+
+            }
+
+            return 0;
+        }
+
+    }
+
+    private static final class LegendaryQuality implements UnaryOperator<Item> {
+
+        private static final String ILLEGAL_LEGENDARY_ITEM_QUALITY = "Invalid legedary item quality '%d' for item with name '%s'.";
+
+        private final int limit;
+
+        LegendaryQuality(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public Item apply(Item item) {
+            if (item == null) {
+                return item;
+            }
+
+            if (item.quality != limit) {
+                throw new IllegalStateException(String.format(ILLEGAL_LEGENDARY_ITEM_QUALITY, item.quality, item.name));
+            }
+
+            return item;
+        }
+
+    }
+
+}
@@ -0,0 +1,326 @@
+package com.gildedrose;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.gildedrose.config.catalog.CategoryCatalog;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.engine.CatalogEngine;
+import com.gildedrose.engine.ColumnarEngine;
+import com.gildedrose.engine.PartitionedInventory;
+import com.gildedrose.engine.QualityEngine;
+import com.gildedrose.engine.TemporalBlockingEngine;
+import com.gildedrose.model.ColumnarInventory;
+import com.gildedrose.model.Item;
+
+
+/**
+ * Differential fuzzing harness: runs {@link GildedRose#updateQuality()} as the oracle against alternative
+ * {@link QualityEngine}s on random inventories for many days, and reports the first divergence with a
+ * minimized reproducer together with the throughput (items/sec) of each engine. The oracle itself is checked against
+ * the {@link BaselineGildedRose}, a frozen copy of the original rules.
+ * <p>
+ * Usage: {@code DifferentialFuzzer [seed] [size] [days]}
+ *
+ * @author kavert
+ */
+public class DifferentialFuzzer {
+
+    private final long seed;
+    private final int size;
+    private final int days;
+    private final PrintStream out;
+
+    /**
+     * @param seed seed of the {@link InventoryGenerator}.
+     * @param size amount of {@link Item}s in the generated inventory.
+     * @param days amount of days to run both engines.
+     * @param out where to print the report.
+     */
+    public DifferentialFuzzer(long seed, int size, int days, PrintStream out) {
+        this.seed = seed;
+        this.size = size;
+        this.days = days;
+        this.out = out;
+    }
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : System.nanoTime();
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int days = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+        DifferentialFuzzer fuzzer = new DifferentialFuzzer(seed, size, days, System.out);
+        boolean diverged = false;
+        for (Map.Entry<String, QualityEngine> engine : engines().entrySet()) {
+            diverged |= fuzzer.run(engine.getKey(), engine.getValue()) != null;
+        }
+
+        if (diverged) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return all engines to compare against the oracle, by name.
+     */
+    static Map<String, QualityEngine> engines() {
+        Map<String, QualityEngine> engines = new LinkedHashMap<>();
+        engines.put("baseline", items -> new BaselineGildedRose(items).updateQuality());
+        engines.put("parallel", items -> new GildedRose(items).updateQualityInParallel());
+        ColumnarEngine columnarEngine = new ColumnarEngine(QualityConfigurationFactory.createItemQualityConfiguration());
+        engines.put("columnar", items -> {
+            ColumnarInventory inventory = ColumnarInventory.of(items);
+            columnarEngine.updateQuality(inventory);
+            inventory.copyTo(items);
+        });
+        engines.put("view", columnarEngine);
+        engines.put("legacy view", items -> {
+            com.gildedrose.Item[] legacyItems = new com.gildedrose.Item[items.length];
+            for (int i = 0; i < items.length; i++) {
+                legacyItems[i] = new com.gildedrose.Item(items[i].name, items[i].sellIn, items[i].quality);
+            }
+            columnarEngine.updateQuality(legacyItems);
+            for (int i = 0; i < items.length; i++) {
+                items[i].sellIn = legacyItems[i].sellIn;
+                items[i].quality = legacyItems[i].quality;
+            }
+        });
+        engines.put("partitioned", items -> PartitionedInventory.of(QualityConfigurationFactory.createItemQualityConfiguration(), items)
+                                                                .updateQuality());
+        engines.put("catalog", new CatalogEngine(CategoryCatalog.fromConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())));
+        engines.put("temporal blocking", new TemporalBlockingEngine(QualityConfigurationFactory.createItemQualityConfiguration()));
+        return engines;
+    }
+
+    /**
+     * Run the oracle and the given engine on the same random inventory and compare all {@link Item}s after every day.
+     *
+     * @param engineName name of the engine used in the report.
+     * @param engine the {@link QualityEngine} under test.
+     * @return the first {@link Divergence}, or {@code null} if the engine behaves exactly like the oracle.
+     */
+    public Divergence run(String engineName, QualityEngine engine) {
+        Item[] initial = new InventoryGenerator(seed).generate(size);
+        Item[] expected = InventoryGenerator.copy(initial);
+        Item[] actual = InventoryGenerator.copy(initial);
+
+        GildedRose oracle = new GildedRose(expected);
+        long oracleNanos = 0;
+        long engineNanos = 0;
+        Divergence divergence = null;
+        int daysRun = 0;
+
+        for (int day = 0; day < days && divergence == null; day++, daysRun++) {
+            long start = System.nanoTime();
+            oracle.updateQuality();
+            oracleNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            RuntimeException failure = tick(engine, actual);
+            engineNanos += System.nanoTime() - start;
+
+            int index = failure == null ? firstDifference(expected, actual) : 0;
+            if (index >= 0) {
+                divergence = minimize(engine, initial, index, day);
+            }
+        }
+
+        out.printf("engine=%s seed=%d size=%d days=%d%n", engineName, seed, size, days);
+        out.printf("  oracle: %,.0f items/sec%n", throughput(oracleNanos, daysRun));
+        out.printf("  %s: %,.0f items/sec%n", engineName, throughput(engineNanos, daysRun));
+        out.println(divergence == null ? "  no divergence" : divergence);
+        return divergence;
+    }
+
+    private double throughput(long nanos, int daysRun) {
+        return nanos == 0 ? 0 : (double) size * daysRun * 1_000_000_000L / nanos;
+    }
+
+    /*
+     * An engine that throws diverges from the oracle, which never throws on generated inventories.
+     */
+    private static RuntimeException tick(QualityEngine engine, Item[] items) {
+        try {
+            engine.updateQuality(items);
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private static int firstDifference(Item[] expected, Item[] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            if (!same(expected[i], actual[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean same(Item expected, Item actual) {
+        return actual != null && expected.sellIn == actual.sellIn && expected.quality == actual.quality
+                        && (expected.name == null ? actual.name == null : expected.name.equals(actual.name));
+    }
+
+    /**
+     * The update rules never look at other items, so the item at the divergent index usually reproduces on its own.
+     * If it does not, the inventory is reduced by removing chunks (delta debugging) while it still diverges.
+     */
+    private static Divergence minimize(QualityEngine engine, Item[] initial, int index, int day) {
+        List<Item> reproducer = new ArrayList<>(Arrays.asList(initial[index]));
+        if (divergenceDay(engine, reproducer, day + 1) < 0) {
+            reproducer = new ArrayList<>(Arrays.asList(initial));
+            int chunks = 2;
+            while (reproducer.size() >= 2) {
+                List<Item> reduced = reduce(engine, reproducer, chunks, day + 1);
+                if (reduced != null) {
+                    reproducer = reduced;
+                    chunks = Math.max(chunks - 1, 2);
+                } else if (chunks >= reproducer.size()) {
+                    break;
+                } else {
+                    chunks = Math.min(reproducer.size(), chunks * 2);
+                }
+            }
+        }
+
+        int reproducerDays = divergenceDay(engine, reproducer, day + 1) + 1;
+        Item[] expected = InventoryGenerator.copy(reproducer.toArray(new Item[0]));
+        Item[] actual = InventoryGenerator.copy(expected);
+        GildedRose oracle = new GildedRose(expected);
+        RuntimeException failure = null;
+        for (int i = 0; i < reproducerDays; i++) {
+            oracle.updateQuality();
+            failure = tick(engine, actual);
+        }
+
+        return new Divergence(day, index, initial[index], expected, failure == null ? Arrays.toString(actual) : failure.toString(),
+                              reproducer, reproducerDays);
+    }
+
+    private static List<Item> reduce(QualityEngine engine, List<Item> items, int chunks, int days) {
+        int chunkSize = (items.size() + chunks - 1) / chunks;
+        for (int start = 0; start < items.size(); start += chunkSize) {
+            List<Item> complement = new ArrayList<>(items.subList(0, start));
+            complement.addAll(items.subList(Math.min(items.size(), start + chunkSize), items.size()));
+            if (!complement.isEmpty() && divergenceDay(engine, complement, days) >= 0) {
+                return complement;
+            }
+        }
+        return null;
+    }
+
+    /*
+     * @return the first day on which the engine diverges from the oracle, or -1.
+     */
+    private static int divergenceDay(QualityEngine engine, List<Item> initial, int days) {
+        Item[] expected = InventoryGenerator.copy(initial.toArray(new Item[0]));
+        Item[] actual = InventoryGenerator.copy(expected);
+        GildedRose oracle = new GildedRose(expected);
+
+        for (int day = 0; day < days; day++) {
+            oracle.updateQuality();
+            if (tick(engine, actual) != null || firstDifference(expected, actual) >= 0) {
+                return day;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The first difference between the oracle and an engine, with a minimized reproducer.
+     *
+     * @author kavert
+     */
+    public static final class Divergence {
+
+        private final int day;
+        private final int index;
+        private final Item item;
+        private final Item[] expected;
+        private final String actual;
+        private final List<Item> reproducer;
+        private final int reproducerDays;
+
+        private Divergence(int day, int index, Item item, Item[] expected, String actual, List<Item> reproducer, int reproducerDays) {
+            this.day = day;
+            this.index = index;
+            this.item = item;
+            this.expected = expected;
+            this.actual = actual;
+            this.reproducer = reproducer;
+            this.reproducerDays = reproducerDays;
+        }
+
+        /**
+         * @return the day (starting at 0) on which the engine first diverged.
+         */
+        public int getDay() {
+            return day;
+        }
+
+        /**
+         * @return the index of the first divergent {@link Item} in the generated inventory.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return the smallest inventory found that still diverges, in its initial state.
+         */
+        public List<Item> getReproducer() {
+            return reproducer;
+        }
+
+        /**
+         * @return amount of days the reproducer must run to diverge.
+         */
+        public int getReproducerDays() {
+            return reproducerDays;
+        }
+
+        /**
+         * String representation of this {@link Divergence}, with the reproducer as Java code.
+         *
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append("  DIVERGED on day ")
+                   .append(day)
+                   .append(" at item ")
+                   .append(index)
+                   .append(" (initially: ")
+                   .append(item)
+                   .append(")\n");
+            builder.append("  reproducer after ")
+                   .append(reproducerDays)
+                   .append(" day(s):\n");
+            builder.append("    Item[] items = new Item[] {\n");
+            for (Item reproducerItem : reproducer) {
+                builder.append("        new Item(\"")
+                       .append(reproducerItem.name)
+                       .append("\", ")
+                       .append(reproducerItem.sellIn)
+                       .append(", ")
+                       .append(reproducerItem.quality)
+                       .append("),\n");
+            }
+            builder.append("    };\n");
+            builder.append("    expected: ")
+                   .append(Arrays.toString(expected))
+                   .append('\n');
+            builder.append("    actual:   ")
+                   .append(actual);
+            return builder.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.gildedrose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gildedrose.engine.QualityEngine;
+import com.gildedrose.model.Inventory;
+
+
+public class DifferentialFuzzerTest {
+
+    private static final long SEED = 20_241_019L;
+    private static final int SIZE = 5_000;
+    private static final int DAYS = 40;
+
+    private DifferentialFuzzer fuzzer;
+
+    @Before
+    public void setUp() {
+        fuzzer = new DifferentialFuzzer(SEED, SIZE, DAYS, new PrintStream(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void when_EnginesRun_then_NoDivergenceFromOracle() {
+        for (Map.Entry<String, QualityEngine> engine : DifferentialFuzzer.engines().entrySet()) {
+            assertNull(engine.getKey(), fuzzer.run(engine.getKey(), engine.getValue()));
+        }
+    }
+
+    @Test
+    public void when_EngineForgetsQualityLimit_then_DivergenceWithSingleItemReproducer() {
+        QualityEngine unboundedBrie = items -> {
+            new GildedRose(items).updateQuality();
+            for (com.gildedrose.model.Item item : items) {
+                if (Inventory.AGED_BRIE.equals(item.name) && item.quality == 50) {
+                    item.quality = 51;
+                }
+            }
+        };
+
+        DifferentialFuzzer.Divergence divergence = fuzzer.run("unbounded brie", unboundedBrie);
+
+        assertNotNull(divergence);
+        assertEquals(1, divergence.getReproducer()
+                                  .size());
+        assertEquals(Inventory.AGED_BRIE, divergence.getReproducer()
+                                                    .get(0).name);
+    }
+
+    @Test
+    public void when_EngineThrows_then_Divergence() {
+        QualityEngine failing = items -> {
+            throw new IllegalStateException("failing engine");
+        };
+
+        assertNotNull(fuzzer.run("failing", failing));
+    }
+
+}
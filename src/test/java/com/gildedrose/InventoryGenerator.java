@@ -0,0 +1,91 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+
+
+/**
+ * Generates random inventories covering all {@link Inventory} categories and the edge values of the update rules:
+ * expired and expiring {@code sellIn}s, the backstage pass tiers and quality at its bounds.
+ *
+ * @author kavert
+ */
+public class InventoryGenerator {
+
+    private static final int MINIMUM_QUALITY = 0;
+    private static final int MAXIMUM_QUALITY = 50;
+    private static final int LEGENDARY_QUALITY = 80;
+
+    private static final int[] EDGE_SELL_INS = {-1, 0, 1, 5, 6, 10, 11};
+    private static final int[] EDGE_QUALITIES = {MINIMUM_QUALITY, MINIMUM_QUALITY + 1, MAXIMUM_QUALITY - 1, MAXIMUM_QUALITY};
+
+    private final Random random;
+    private final List<String> names;
+
+    /**
+     * Initiates a generator with a fixed seed, so an inventory can be generated again.
+     *
+     * @param seed the seed of the random generator.
+     */
+    public InventoryGenerator(long seed) {
+        this.random = new Random(seed);
+
+        this.names = new ArrayList<>();
+        this.names.addAll(Inventory.DEGRADING_ITEMS);
+        this.names.addAll(Inventory.IMPROVING_ITEMS);
+        this.names.addAll(Inventory.LEGENDARY_ITEMS);
+        this.names.addAll(Inventory.EXPIRING_ITEMS);
+        this.names.addAll(Inventory.CONJURED_ITEMS);
+        this.names.addAll(Inventory.CONJURED_IMPROVING_ITEMS);
+        this.names.addAll(Inventory.CONJURED_EXPIRING_ITEMS);
+        this.names.add("Basic item");
+    }
+
+    /**
+     * Generate a new inventory.
+     *
+     * @param size amount of {@link Item}s to generate.
+     * @return a new array of {@link Item}s.
+     */
+    public Item[] generate(int size) {
+        Item[] items = new Item[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = nextItem();
+        }
+        return items;
+    }
+
+    /**
+     * @return a new random {@link Item}.
+     */
+    public Item nextItem() {
+        String name = names.get(random.nextInt(names.size()));
+
+        int sellIn = random.nextInt(4) == 0 ? EDGE_SELL_INS[random.nextInt(EDGE_SELL_INS.length)] : random.nextInt(31) - 10;
+        if (Inventory.LEGENDARY_ITEMS.contains(name)) {
+            return new Item(name, sellIn, LEGENDARY_QUALITY);
+        }
+
+        int quality = random.nextInt(3) == 0 ? EDGE_QUALITIES[random.nextInt(EDGE_QUALITIES.length)] : random.nextInt(MAXIMUM_QUALITY + 1);
+        return new Item(name, sellIn, quality);
+    }
+
+    /**
+     * Deep copy an inventory, so multiple engines can update the same {@link Item}s.
+     *
+     * @param items the {@link Item}s to copy.
+     * @return a new array of new {@link Item}s.
+     */
+    public static Item[] copy(Item[] items) {
+        Item[] copy = new Item[items.length];
+        for (int i = 0; i < items.length; i++) {
+            copy[i] = new Item(items[i].name, items[i].sellIn, items[i].quality);
+        }
+        return copy;
+    }
+
+}
@@ -0,0 +1,289 @@
+package com.gildedrose;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.gildedrose.engine.QualityEngine;
+import com.gildedrose.model.Item;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+
+/**
+ * Macro load test of the whole daily update: runs a {@link QualityEngine} for many days on a {@link SyntheticInventory} and
+ * reports the tick latency percentiles, the throughput, the GC pauses and the peak heap as a JSON line per engine, so runs
+ * at different sizes can be collected and compared.
+ * <p>
+ * Usage: {@code LoadTest [size] [days] [engine,...|all] [seed] [mix] [variantShare]}, e.g.
+ * {@code LoadTest 10000000 30 reference,columnar 42 DEGRADING=60,IMPROVING=10,EXPIRING=10,LEGENDARY=5,CONJURED=15 0.1}
+ *
+ * @author kavert
+ */
+public class LoadTest {
+
+    private final SyntheticInventory inventory;
+    private final int size;
+    private final int warmUpDays;
+    private final int days;
+
+    /**
+     * @param inventory generator of the inventory, generated again for every engine.
+     * @param size amount of {@link Item}s in the inventory.
+     * @param warmUpDays amount of days to run before measuring.
+     * @param days amount of measured days.
+     */
+    public LoadTest(SyntheticInventory inventory, int size, int warmUpDays, int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("A load test needs at least one measured day.");
+        }
+
+        this.inventory = inventory;
+        this.size = size;
+        this.warmUpDays = warmUpDays;
+        this.days = days;
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        String engineNames = args.length > 2 ? args[2] : "all";
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1L;
+
+        SyntheticInventory.Builder builder = new SyntheticInventory.Builder().withSeed(seed);
+        if (args.length > 4) {
+            builder.withMix(args[4]);
+        }
+        if (args.length > 5) {
+            builder.withVariantShare(Double.parseDouble(args[5]));
+        }
+
+        LoadTest loadTest = new LoadTest(builder.build(), size, Math.max(1, days / 10), days);
+        Map<String, QualityEngine> engines = DifferentialFuzzer.engines();
+        List<String> selected = "all".equals(engineNames) ? new ArrayList<>(engines.keySet()) : Arrays.asList(engineNames.split(","));
+        for (String name : selected) {
+            QualityEngine engine = engines.get(name);
+            if (engine == null) {
+                throw new IllegalArgumentException("Unknown engine '" + name + "', expected one of " + engines.keySet() + ".");
+            }
+            print(System.out, loadTest.run(name, engine));
+        }
+    }
+
+    /**
+     * Generate the inventory, warm up and measure the given engine.
+     *
+     * @param engineName name of the engine used in the {@link Result}.
+     * @param engine the {@link QualityEngine} to measure.
+     * @return the measured {@link Result}.
+     */
+    public Result run(String engineName, QualityEngine engine) {
+        Item[] items = inventory.generate(size);
+        for (int day = 0; day < warmUpDays; day++) {
+            engine.updateQuality(items);
+        }
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = heapPools();
+        for (MemoryPoolMXBean pool : heapPools) {
+            pool.resetPeakUsage();
+        }
+        GcPauses gcPauses = new GcPauses();
+
+        long[] latencies = new long[days];
+        try {
+            for (int day = 0; day < days; day++) {
+                long start = System.nanoTime();
+                engine.updateQuality(items);
+                latencies[day] = System.nanoTime() - start;
+            }
+        } finally {
+            gcPauses.close();
+        }
+
+        // The pools peak at different moments, so the sum is an upper bound of the peak heap.
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakHeap += pool.getPeakUsage()
+                            .getUsed();
+        }
+        return new Result(engineName, size, days, latencies, gcPauses.count.get(), gcPauses.totalMillis.get(), gcPauses.maxMillis.get(),
+                          peakHeap);
+    }
+
+    /**
+     * Print a {@link Result} as a single JSON line.
+     *
+     * @param out where to print.
+     * @param result the {@link Result} to print.
+     */
+    public static void print(PrintStream out, Result result) {
+        out.println(result.toJson());
+        out.flush();
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+        pools.removeIf(pool -> pool.getType() != MemoryType.HEAP);
+        return pools;
+    }
+
+    /*
+     * Collects the duration of every stop-the-world collection while open. Concurrent cycles run alongside the update and
+     * are not counted as pauses.
+     */
+    private static final class GcPauses implements NotificationListener {
+
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        private GcPauses() {
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (collector instanceof NotificationEmitter) {
+                    ((NotificationEmitter) collector).addNotificationListener(this, null, null);
+                }
+            }
+        }
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+
+            GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            if (info.getGcAction()
+                    .contains("concurrent")) {
+                return;
+            }
+
+            long millis = info.getGcInfo()
+                              .getDuration();
+            count.incrementAndGet();
+            totalMillis.addAndGet(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+        }
+
+        private void close() {
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (collector instanceof NotificationEmitter) {
+                    try {
+                        ((NotificationEmitter) collector).removeNotificationListener(this);
+                    } catch (ListenerNotFoundException e) {
+                        // Not registered on this collector.
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Measurements of a single load test run.
+     *
+     * @author kavert
+     */
+    public static final class Result {
+
+        private final String engine;
+        private final int size;
+        private final int days;
+        private final long[] sortedLatencies;
+        private final long totalNanos;
+        private final long gcCount;
+        private final long gcPauseMillis;
+        private final long gcMaxPauseMillis;
+        private final long peakHeapBytes;
+
+        private Result(String engine, int size, int days, long[] latencies, long gcCount, long gcPauseMillis, long gcMaxPauseMillis,
+                       long peakHeapBytes) {
+            this.engine = engine;
+            this.size = size;
+            this.days = days;
+            this.sortedLatencies = latencies.clone();
+            Arrays.sort(this.sortedLatencies);
+            this.totalNanos = Arrays.stream(latencies)
+                                    .sum();
+            this.gcCount = gcCount;
+            this.gcPauseMillis = gcPauseMillis;
+            this.gcMaxPauseMillis = gcMaxPauseMillis;
+            this.peakHeapBytes = peakHeapBytes;
+        }
+
+        /**
+         * @param percentile between 0 (exclusive) and 100 (inclusive).
+         * @return the tick latency in nanoseconds at the given percentile (nearest rank).
+         */
+        public long getLatencyNanos(double percentile) {
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("A percentile must be between 0 (exclusive) and 100 (inclusive).");
+            }
+
+            int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+            return sortedLatencies[Math.max(rank, 1) - 1];
+        }
+
+        /**
+         * @return amount of {@link Item}s updated per second over all measured days.
+         */
+        public double getItemsPerSecond() {
+            return totalNanos == 0 ? 0 : (double) size * days * 1_000_000_000L / totalNanos;
+        }
+
+        /**
+         * @return amount of stop-the-world collections during the measured days.
+         */
+        public long getGcCount() {
+            return gcCount;
+        }
+
+        /**
+         * @return the peak heap usage in bytes during the measured days.
+         */
+        public long getPeakHeapBytes() {
+            return peakHeapBytes;
+        }
+
+        /**
+         * @return this {@link Result} as a single line JSON object.
+         */
+        public String toJson() {
+            return String.format(Locale.ROOT,
+                                 "{\"engine\":\"%s\",\"size\":%d,\"days\":%d,\"p50Millis\":%.3f,\"p90Millis\":%.3f,\"p99Millis\":%.3f,"
+                                                 + "\"maxMillis\":%.3f,\"itemsPerSecond\":%.0f,\"gcCount\":%d,\"gcPauseMillis\":%d,"
+                                                 + "\"gcMaxPauseMillis\":%d,\"peakHeapBytes\":%d,\"maxHeapBytes\":%d}",
+                                 engine, size, days, millis(getLatencyNanos(50)), millis(getLatencyNanos(90)),
+                                 millis(getLatencyNanos(99)), millis(getLatencyNanos(100)), getItemsPerSecond(), gcCount, gcPauseMillis,
+                                 gcMaxPauseMillis, peakHeapBytes, Runtime.getRuntime()
+                                                                         .maxMemory());
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+
+        /**
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString() {
+            return toJson();
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.gildedrose;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+
+
+public class LoadTestTest {
+
+    @Test
+    public void when_OnlyLegendaryWithoutVariants_then_OnlySulfuras() {
+        SyntheticInventory inventory = new SyntheticInventory.Builder().withMix("LEGENDARY=1")
+                                                                       .withVariantShare(0)
+                                                                       .build();
+
+        for (Item item : inventory.generate(1_000)) {
+            assertEquals(Inventory.SULFURAS, item.name);
+            assertEquals(80, item.quality);
+        }
+    }
+
+    @Test
+    public void when_SameSeed_then_SameInventory() {
+        SyntheticInventory inventory = new SyntheticInventory.Builder().withSeed(7L)
+                                                                       .withWeight(Category.CONJURED, 5)
+                                                                       .withVariantShare(0.5)
+                                                                       .withSellIns(0, 10)
+                                                                       .withQualities(10, 20)
+                                                                       .build();
+
+        Item[] first = inventory.generate(1_000);
+        Item[] second = inventory.generate(1_000);
+        for (int i = 0; i < first.length; i++) {
+            assertEquals(first[i].toString(), second[i].toString());
+            assertTrue(first[i].sellIn >= 0 && first[i].sellIn <= 10);
+        }
+    }
+
+    @Test
+    public void when_Run_then_MachineReadableResult() {
+        LoadTest loadTest = new LoadTest(new SyntheticInventory.Builder().build(), 10_000, 2, 20);
+
+        LoadTest.Result result = loadTest.run("reference", items -> new GildedRose(items).updateQuality());
+
+        assertTrue(result.getItemsPerSecond() > 0);
+        assertTrue(result.getLatencyNanos(50) <= result.getLatencyNanos(99));
+        assertTrue(result.getPeakHeapBytes() > 0);
+        assertTrue(result.toJson(), result.toJson()
+                                          .matches("\\{\"engine\":\"reference\",\"size\":10000,\"days\":20,\"p50Millis\":.*\\}"));
+    }
+
+}
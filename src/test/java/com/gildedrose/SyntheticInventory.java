@@ -0,0 +1,249 @@
+package com.gildedrose;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+
+
+/**
+ * Generates large synthetic inventories for load tests, with a configurable {@link Category} mix, share of prefixed name
+ * variants and uniform {@code sellIn} and quality ranges. Unlike the {@link InventoryGenerator} it does not aim for the
+ * edge values of the update rules, but for the shape of a real inventory.
+ * <p>
+ * Prefixed variants ("Aged Conjured Mana Cake", "Backstage passes to Elixir of the Mongoose", ...) put names on the
+ * hot path that are mostly not listed in the {@link Inventory}, so their name lookup misses all lists before falling back
+ * to {@link Category#DEGRADING}.
+ *
+ * @author kavert
+ */
+public final class SyntheticInventory {
+
+    private static final int LEGENDARY_QUALITY = 80;
+
+    private static final String[] PREFIXES = {"Conjured ", "Backstage passes to ", "Aged ", "Legendary "};
+
+    private final long seed;
+    private final Map<Category, Integer> mix;
+    private final double variantShare;
+    private final int minSellIn;
+    private final int maxSellIn;
+    private final int minQuality;
+    private final int maxQuality;
+
+    private SyntheticInventory(Builder builder) {
+        this.seed = builder.seed;
+        this.mix = new EnumMap<>(builder.mix);
+        this.variantShare = builder.variantShare;
+        this.minSellIn = builder.minSellIn;
+        this.maxSellIn = builder.maxSellIn;
+        this.minQuality = builder.minQuality;
+        this.maxQuality = builder.maxQuality;
+    }
+
+    /**
+     * Generate a new inventory. The same attributes and size always generate the same inventory.
+     *
+     * @param size amount of {@link Item}s to generate.
+     * @return a new array of {@link Item}s.
+     */
+    public Item[] generate(int size) {
+        Random random = new Random(seed);
+
+        List<Category> categories = new ArrayList<>();
+        int[] cumulativeWeights = new int[mix.size()];
+        int totalWeight = 0;
+        for (Map.Entry<Category, Integer> weight : mix.entrySet()) {
+            totalWeight += weight.getValue();
+            cumulativeWeights[categories.size()] = totalWeight;
+            categories.add(weight.getKey());
+        }
+
+        // Variants share their String instances, like names read from a single catalog would.
+        String[][] names = new String[Category.values().length][];
+        String[][] variants = new String[Category.values().length][];
+        for (Category category : categories) {
+            names[category.ordinal()] = names(category);
+            variants[category.ordinal()] = variants(names[category.ordinal()]);
+        }
+
+        Item[] items = new Item[size];
+        for (int i = 0; i < size; i++) {
+            int index = Arrays.binarySearch(cumulativeWeights, random.nextInt(totalWeight) + 1);
+            Category category = categories.get(index < 0 ? -index - 1 : index);
+
+            String[] candidates = random.nextDouble() < variantShare ? variants[category.ordinal()] : names[category.ordinal()];
+            String name = candidates[random.nextInt(candidates.length)];
+            int sellIn = minSellIn + random.nextInt(maxSellIn - minSellIn + 1);
+            int quality = category == Category.LEGENDARY && name.equals(Inventory.SULFURAS) ? LEGENDARY_QUALITY
+                            : minQuality + random.nextInt(maxQuality - minQuality + 1);
+            items[i] = new Item(name, sellIn, quality);
+        }
+        return items;
+    }
+
+    private static String[] names(Category category) {
+        switch (category) {
+            case IMPROVING:
+                return Inventory.IMPROVING_ITEMS.toArray(new String[0]);
+            case EXPIRING:
+                return Inventory.EXPIRING_ITEMS.toArray(new String[0]);
+            case LEGENDARY:
+                return Inventory.LEGENDARY_ITEMS.toArray(new String[0]);
+            case CONJURED:
+                return Inventory.CONJURED_ITEMS.toArray(new String[0]);
+            case CONJURED_IMPROVING:
+                return Inventory.CONJURED_IMPROVING_ITEMS.toArray(new String[0]);
+            case CONJURED_EXPIRING:
+                return Inventory.CONJURED_EXPIRING_ITEMS.toArray(new String[0]);
+            default:
+                List<String> degrading = new ArrayList<>(Inventory.DEGRADING_ITEMS);
+                degrading.add("Basic item");
+                return degrading.toArray(new String[0]);
+        }
+    }
+
+    private static String[] variants(String[] names) {
+        String[] variants = new String[names.length * PREFIXES.length];
+        for (int i = 0; i < names.length; i++) {
+            for (int p = 0; p < PREFIXES.length; p++) {
+                variants[i * PREFIXES.length + p] = PREFIXES[p] + names[i];
+            }
+        }
+        return variants;
+    }
+
+    /**
+     * Builds (instantiates) a new {@link SyntheticInventory} object with the given attributes.
+     *
+     * @author kavert
+     */
+    public static final class Builder {
+
+        private long seed = 1L;
+        private final Map<Category, Integer> mix = new EnumMap<>(Category.class);
+        private double variantShare = 0.1;
+        private int minSellIn = -10;
+        private int maxSellIn = 30;
+        private int minQuality = 0;
+        private int maxQuality = 50;
+
+        /**
+         * Initiates a builder with an equal weight for every {@link Category}.
+         */
+        public Builder() {
+            for (Category category : Category.values()) {
+                mix.put(category, 1);
+            }
+        }
+
+        /**
+         * @param seed the seed of the random generator.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * @param category a {@link Category}.
+         * @param weight relative weight of the {@link Category} in the inventory, 0 to leave it out.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withWeight(Category category, int weight) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("The weight of a category can not be negative.");
+            }
+
+            if (weight == 0) {
+                mix.remove(category);
+            } else {
+                mix.put(category, weight);
+            }
+            return this;
+        }
+
+        /**
+         * Parse a category mix like {@code DEGRADING=60,IMPROVING=10,CONJURED=30}; categories not listed are left out.
+         *
+         * @param mix comma separated weights by {@link Category} name.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withMix(String mix) {
+            this.mix.clear();
+            for (String weight : mix.split(",")) {
+                String[] parts = weight.split("=");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Invalid category weight '" + weight + "', expected CATEGORY=weight.");
+                }
+                withWeight(Category.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            }
+            return this;
+        }
+
+        /**
+         * @param variantShare share (0 to 1) of {@link Item}s named with a prefixed variant instead of an {@link Inventory} name.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withVariantShare(double variantShare) {
+            if (variantShare < 0 || variantShare > 1) {
+                throw new IllegalArgumentException("The share of variants must be between 0 and 1.");
+            }
+
+            this.variantShare = variantShare;
+            return this;
+        }
+
+        /**
+         * @param minSellIn lowest generated {@code sellIn}, inclusive.
+         * @param maxSellIn highest generated {@code sellIn}, inclusive.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withSellIns(int minSellIn, int maxSellIn) {
+            if (minSellIn > maxSellIn) {
+                throw new IllegalArgumentException("The lowest sellIn can not exceed the highest sellIn.");
+            }
+
+            this.minSellIn = minSellIn;
+            this.maxSellIn = maxSellIn;
+            return this;
+        }
+
+        /**
+         * @param minQuality lowest generated quality, inclusive.
+         * @param maxQuality highest generated quality, inclusive. Legendary items always have quality 80.
+         * @return This {@link Builder} object for chaining methods.
+         */
+        public Builder withQualities(int minQuality, int maxQuality) {
+            if (minQuality > maxQuality) {
+                throw new IllegalArgumentException("The lowest quality can not exceed the highest quality.");
+            }
+
+            this.minQuality = minQuality;
+            this.maxQuality = maxQuality;
+            return this;
+        }
+
+        /**
+         * Instantiates a new {@link SyntheticInventory} object with the given attributes.
+         *
+         * @return a new SyntheticInventory object.
+         */
+        public SyntheticInventory build() {
+            if (mix.isEmpty()) {
+                throw new IllegalStateException("A synthetic inventory needs at least one category with a positive weight.");
+            }
+
+            return new SyntheticInventory(this);
+        }
+
+    }
+
+}
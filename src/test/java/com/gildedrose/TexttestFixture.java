@@ -1,9 +1,13 @@
 package com.gildedrose;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+
 import com.gildedrose.model.Item;
+import com.gildedrose.report.InventoryReportWriter;
 
 public class TexttestFixture {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         System.out.println("OMGHAI!");
 
         Item[] items = new Item[] {
@@ -26,15 +30,12 @@ public class TexttestFixture {
             days = Integer.parseInt(args[0]) + 1;
         }
 
+        InventoryReportWriter report = new InventoryReportWriter(Channels.newChannel(System.out));
         for (int i = 0; i < days; i++) {
-            System.out.println("-------- day " + i + " --------");
-            System.out.println("name, sellIn, quality");
-            for (Item item : items) {
-                System.out.println(item);
-            }
-            System.out.println();
+            report.writeDay(i, items);
             app.updateQuality();
         }
+        report.flush();
     }
 
 }
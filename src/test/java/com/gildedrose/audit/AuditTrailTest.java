@@ -0,0 +1,161 @@
+package com.gildedrose.audit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.gildedrose.GildedRose;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+
+
+public class AuditTrailTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void when_DaysPass_then_QualityChangesQueryableByItemAndDay() throws IOException {
+        Path directory = folder.getRoot()
+                               .toPath();
+        Item[] items = new Item[] {new Item(Inventory.AGED_BRIE, 2, 0), new Item(Inventory.SULFURAS, 0, 80), new Item("Basic item", 10, 5)};
+        GildedRose gildedRose = new GildedRose(items);
+
+        try (AuditTrail auditTrail = new AuditTrail.Builder().withDirectory(directory)
+                                                             .withMaxFileBytes(64)
+                                                             .build()) {
+            gildedRose.addItemUpdateListener(auditTrail);
+            for (int day = 1; day <= 10; day++) {
+                auditTrail.setDay(day);
+                gildedRose.updateQuality();
+                auditTrail.flush();
+            }
+        }
+
+        List<AuditRecord> brie = AuditReader.query(directory, 0, 3, 4);
+        assertEquals(2, brie.size());
+        assertEquals(3, brie.get(0)
+                            .getDay());
+        assertEquals(Category.IMPROVING, brie.get(0)
+                                             .getCategory());
+        assertEquals(2, brie.get(0)
+                            .getOldQuality());
+        assertEquals(4, brie.get(0)
+                            .getNewQuality());
+
+        assertTrue(AuditReader.query(directory, 1, 1, 10)
+                              .isEmpty());
+        assertEquals(5, AuditReader.query(directory, 2, 1, 10)
+                                   .size());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+    }
+
+    @Test
+    public void when_RingFullWithDropPolicy_then_RecordsCounted() throws IOException {
+        Path directory = folder.getRoot()
+                               .toPath();
+
+        int recorded = 100_000;
+        long dropped;
+        try (AuditTrail auditTrail = new AuditTrail.Builder().withDirectory(directory)
+                                                             .withRingCapacity(16)
+                                                             .withOverflowPolicy(OverflowPolicy.DROP)
+                                                             .withDrainIntervalMillis(1_000)
+                                                             .build()) {
+            for (int i = 0; i < recorded; i++) {
+                auditTrail.record(i, 1, Category.DEGRADING, 10, 9);
+            }
+            dropped = auditTrail.getDroppedRecords();
+        }
+
+        assertTrue(dropped > 0);
+        assertEquals(recorded - dropped, AuditReader.query(directory, AuditReader.ALL_ITEMS, 1, 1)
+                                                    .size());
+    }
+
+    @Test
+    public void when_RingFullWithSpillPolicy_then_NoRecordLost() throws IOException {
+        Path directory = folder.getRoot()
+                               .toPath();
+
+        int recorded = 100_000;
+        try (AuditTrail auditTrail = new AuditTrail.Builder().withDirectory(directory)
+                                                             .withRingCapacity(16)
+                                                             .withOverflowPolicy(OverflowPolicy.SPILL)
+                                                             .build()) {
+            for (int i = 0; i < recorded; i++) {
+                auditTrail.record(i, 1, Category.DEGRADING, 10, 9);
+            }
+        }
+
+        assertEquals(recorded, AuditReader.query(directory, AuditReader.ALL_ITEMS, 1, 1)
+                                          .size());
+    }
+
+    @Test
+    public void when_SpillFull_then_RecordsDroppedAndCounted() throws IOException {
+        Path directory = folder.getRoot()
+                               .toPath();
+
+        int recorded = 100_000;
+        long dropped;
+        try (AuditTrail auditTrail = new AuditTrail.Builder().withDirectory(directory)
+                                                             .withRingCapacity(16)
+                                                             .withOverflowPolicy(OverflowPolicy.SPILL)
+                                                             .withMaxSpillRecords(100)
+                                                             .withDrainIntervalMillis(1_000)
+                                                             .build()) {
+            for (int i = 0; i < recorded; i++) {
+                auditTrail.record(i, 1, Category.DEGRADING, 10, 9);
+            }
+            dropped = auditTrail.getDroppedRecords();
+        }
+
+        assertTrue(dropped > 0);
+        assertEquals(recorded - dropped, AuditReader.query(directory, AuditReader.ALL_ITEMS, 1, 1)
+                                                    .size());
+    }
+
+    @Test(timeout = 30_000)
+    public void when_DrainerFailsWithBlockPolicy_then_WaitingWriterFails() throws IOException {
+        Path directory = folder.newFolder("audit")
+                               .toPath();
+        AuditTrail auditTrail = new AuditTrail.Builder().withDirectory(directory)
+                                                        .withRingCapacity(16)
+                                                        .withOverflowPolicy(OverflowPolicy.BLOCK)
+                                                        .build();
+
+        // Without its directory, the drainer fails writing the first block.
+        Files.delete(directory);
+        try {
+            for (int i = 0; i < 100_000; i++) {
+                auditTrail.record(i, 1, Category.DEGRADING, 10, 9);
+            }
+            fail("A full ring whose drainer failed must not block forever.");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+
+        try {
+            auditTrail.close();
+            fail("The drain failure must be reported on close.");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage()
+                                        .startsWith("Audit trail can not be written"));
+        }
+    }
+
+}
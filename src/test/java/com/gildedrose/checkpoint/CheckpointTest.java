@@ -0,0 +1,115 @@
+package com.gildedrose.checkpoint;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.engine.ColumnarEngine;
+import com.gildedrose.model.ColumnarInventory;
+import com.gildedrose.model.Item;
+
+
+public class CheckpointTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ColumnarEngine engine;
+    private ColumnarInventory inventory;
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        engine = new ColumnarEngine(QualityConfigurationFactory.createItemQualityConfiguration());
+        inventory = ColumnarInventory.of(new InventoryGenerator(23L).generate(10_000));
+        path = folder.getRoot()
+                     .toPath()
+                     .resolve("inventory.ckpt");
+    }
+
+    @Test
+    public void when_CheckpointOpened_then_SameItemsAndDay() throws IOException {
+        Checkpoint.write(path, 42, inventory);
+
+        MappedInventory mapped = Checkpoint.open(path);
+
+        assertEquals(42, mapped.getDay());
+        assertEquals(inventory.size(), mapped.size());
+        for (int i = 0; i < inventory.size(); i++) {
+            assertEquals(inventory.name(i), mapped.name(i));
+            assertEquals(inventory.category(i), mapped.category(i));
+            assertEquals(inventory.sellIn(i), mapped.sellIn(i));
+            assertEquals(inventory.quality(i), mapped.quality(i));
+        }
+    }
+
+    @Test
+    public void when_MappedInventoryUpdated_then_SameAsColumnarAndFileUnchanged() throws IOException {
+        Checkpoint.write(path, 0, inventory);
+        byte[] file = Files.readAllBytes(path);
+        MappedInventory mapped = Checkpoint.open(path);
+
+        for (int day = 0; day < 5; day++) {
+            engine.updateQuality(inventory);
+            engine.updateQuality(mapped);
+        }
+
+        for (int i = 0; i < inventory.size(); i++) {
+            assertEquals(inventory.sellIn(i), mapped.sellIn(i));
+            assertEquals(inventory.quality(i), mapped.quality(i));
+        }
+        assertArrayEquals(file, Files.readAllBytes(path));
+    }
+
+    @Test
+    public void when_MappedInventoryCheckpointedOverItsOwnFile_then_NextDayReopened() throws IOException {
+        Checkpoint.write(path, 0, inventory);
+        MappedInventory mapped = Checkpoint.open(path);
+        engine.updateQuality(mapped);
+
+        Checkpoint.write(path, 1, mapped);
+        MappedInventory reopened = Checkpoint.open(path);
+
+        engine.updateQuality(inventory);
+        Item[] expected = inventory.toItems();
+        assertEquals(1, reopened.getDay());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].sellIn, reopened.sellIn(i));
+            assertEquals(expected[i].quality, reopened.quality(i));
+        }
+    }
+
+    @Test
+    public void when_CheckpointRead_then_SameItemsAndFileReplaceable() throws IOException {
+        Checkpoint.write(path, 42, inventory);
+
+        MappedInventory read = Checkpoint.read(path);
+        Files.delete(path);
+
+        assertEquals(42, read.getDay());
+        assertEquals(inventory.size(), read.size());
+        for (int i = 0; i < inventory.size(); i++) {
+            assertEquals(inventory.name(i), read.name(i));
+            assertEquals(inventory.sellIn(i), read.sellIn(i));
+            assertEquals(inventory.quality(i), read.quality(i));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void when_FileIsNoCheckpoint_then_Exception() throws IOException {
+        Files.write(path, new byte[128]);
+
+        Checkpoint.open(path);
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.gildedrose.config.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.gildedrose.GildedRose;
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.engine.CatalogEngine;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+import com.gildedrose.stats.InventoryStatistics;
+
+
+public class CategoryCatalogTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void when_FromConfiguration_then_SameAsGildedRose() {
+        Item[] expected = new InventoryGenerator(48L).generate(5_000);
+        Item[] actual = InventoryGenerator.copy(expected);
+        GildedRose gildedRose = new GildedRose(expected);
+        CatalogEngine engine = new CatalogEngine(CategoryCatalog.fromConfiguration(QualityConfigurationFactory.createItemQualityConfiguration()));
+
+        for (int day = 0; day < 60; day++) {
+            gildedRose.updateQuality();
+            engine.updateQuality(actual);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i].toString(), actual[i].toString());
+            }
+        }
+    }
+
+    @Test
+    public void when_CatalogFileLoaded_then_CategoriesResolved() throws IOException {
+        Path path = folder.newFile("catalog.tsv")
+                          .toPath();
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            writer.println("# label, amount, expired factor, multiplier, lower, upper, flag, tiers");
+            for (int i = 0; i < 10_000; i++) {
+                writer.println("category\tcat-" + i + "\t-" + (1 + i % 3) + "\t2\t1\t0\t50\t-\t-");
+            }
+            writer.println("category\tconcert\t1\t2\t1\t0\t50\texpires\t10:2, 5:3");
+            writer.println("category\trelic\t0\t0\t1\t80\t80\tlegendary\t-");
+            writer.println();
+            writer.println("item\tSulfuras, Hand of Ragnaros\trelic");
+            writer.println("item\tJazz night\tconcert");
+            writer.println("item\tFresh bread\tcat-9998");
+            writer.println("default\tcat-0");
+        }
+
+        CategoryCatalog catalog = CategoryCatalog.load(path);
+        assertEquals(10_002, catalog.size());
+        assertEquals(2, catalog.getTierCount(catalog.idOf("concert")));
+        assertTrue(catalog.isLegendary(catalog.categoryOf(Inventory.SULFURAS)));
+        assertEquals("cat-0", catalog.labelOf(catalog.categoryOf("Unlisted")));
+        assertEquals(CategoryCatalog.NONE, catalog.idOf("unknown"));
+
+        Item[] items = {new Item("Jazz night", 5, 10), new Item("Fresh bread", 0, 10), new Item(Inventory.SULFURAS, 0, 80),
+                        new Item("Unlisted", 3, 10)};
+        new CatalogEngine(catalog).updateQuality(items);
+
+        assertEquals("Jazz night, 4, 13", items[0].toString());
+        assertEquals("Fresh bread, -1, 4", items[1].toString());
+        assertEquals("Sulfuras, Hand of Ragnaros, 0, 80", items[2].toString());
+        assertEquals("Unlisted, 2, 9", items[3].toString());
+    }
+
+    @Test
+    public void when_GildedRoseGivenCatalog_then_CatalogCategoriesApplied() {
+        CategoryCatalog catalog = new CategoryCatalog.Builder().withCategory(Category.DEGRADING.name(), -1, 2, 1, 0, 50)
+                                                               .withCategory("fresh", -3, 2, 1, 0, 50)
+                                                               .withItem("Fresh bread", "fresh")
+                                                               .withDefault(Category.DEGRADING.name())
+                                                               .build();
+        Item[] items = {new Item("Fresh bread", 0, 10), new Item(Inventory.AGED_BRIE, 3, 10)};
+        List<Category> reported = new ArrayList<>();
+
+        GildedRose gildedRose = new GildedRose(items, catalog);
+        gildedRose.addItemUpdateListener((index, category, previousQuality, item) -> reported.add(category));
+        gildedRose.updateQuality();
+
+        assertEquals("Fresh bread, -1, 4", items[0].toString());
+        assertEquals("Aged Brie, 2, 9", items[1].toString());
+        assertEquals(Arrays.asList(Category.DEGRADING, Category.DEGRADING), reported);
+    }
+
+    @Test
+    public void when_CatalogCategoryLegendary_then_ReportedLegendaryAndNeverExpired() {
+        CategoryCatalog catalog = new CategoryCatalog.Builder().withCategory(Category.DEGRADING.name(), -1, 2, 1, 0, 50)
+                                                               .withCategory("relic", 0, 0, 1, 80, 80)
+                                                               .withLegendary("relic")
+                                                               .withItem("Crown of Ages", "relic")
+                                                               .withDefault(Category.DEGRADING.name())
+                                                               .build();
+        Item[] items = {new Item("Crown of Ages", -1, 80)};
+        InventoryStatistics statistics = InventoryStatistics.of(items);
+        List<Category> reported = new ArrayList<>();
+
+        GildedRose gildedRose = new GildedRose(items, catalog);
+        gildedRose.addItemUpdateListener(statistics);
+        gildedRose.addItemUpdateListener((index, category, previousQuality, item) -> reported.add(category));
+        gildedRose.updateQuality();
+        gildedRose.updateQuality();
+
+        assertEquals("Crown of Ages, -1, 80", items[0].toString());
+        assertEquals(Arrays.asList(Category.LEGENDARY, Category.LEGENDARY), reported);
+        assertEquals(1, statistics.getExpiredCount());
+    }
+
+    @Test(expected = IOException.class)
+    public void when_RowMalformed_then_Rejected() throws IOException {
+        Path path = folder.newFile("catalog.tsv")
+                          .toPath();
+        Files.write(path, "category\tbroken\t1\t2\n".getBytes(StandardCharsets.UTF_8));
+
+        CategoryCatalog.load(path);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_ItemListedTwice_then_Rejected() {
+        new CategoryCatalog.Builder().withCategory(Category.DEGRADING.name(), -1, 2, 1, 0, 50)
+                                     .withItem(Inventory.MANA_CAKE, Category.DEGRADING.name())
+                                     .withItem(Inventory.MANA_CAKE, Category.DEGRADING.name());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_ConjuredNotMultipleOfNormal_then_Rejected() {
+        CategoryCatalog.fromConfiguration(new QualityConfiguration.Builder().withMinimumQuality(0)
+                                                                            .withMaximumQuality(50)
+                                                                            .withNormalQualityModifier(2)
+                                                                            .withConjuredQualityModifier(3)
+                                                                            .build());
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.gildedrose.distributed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.gildedrose.GildedRose;
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.model.Item;
+
+
+public class TickCoordinatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void when_WorkersTick_then_InventoryEqualsSingleProcessTick() throws IOException {
+        Item[] items = new InventoryGenerator(17L).generate(3_000);
+        Item[] expected = InventoryGenerator.copy(items);
+        GildedRose gildedRose = new GildedRose(expected);
+
+        try (TickCoordinator coordinator = newCoordinator()) {
+            coordinator.load(items, 5);
+            coordinator.tick(10);
+            for (int day = 0; day < 10; day++) {
+                gildedRose.updateQuality();
+            }
+
+            assertSameItems(expected, coordinator.collect());
+            assertEquals(10, coordinator.getDay());
+        }
+    }
+
+    @Test
+    public void when_WorkerDies_then_PartitionsReassigned() throws Exception {
+        Item[] items = new InventoryGenerator(19L).generate(3_000);
+        Item[] expected = InventoryGenerator.copy(items);
+        GildedRose gildedRose = new GildedRose(expected);
+
+        try (TickCoordinator coordinator = newCoordinator()) {
+            coordinator.load(items, 4);
+            coordinator.tick(3);
+
+            coordinator.workerProcess(0)
+                       .destroyForcibly()
+                       .waitFor();
+            coordinator.tick(4);
+
+            for (int day = 0; day < 7; day++) {
+                gildedRose.updateQuality();
+            }
+            assertSameItems(expected, coordinator.collect());
+            assertEquals(1, coordinator.getLiveWorkers());
+        }
+    }
+
+    @Test
+    public void when_PartitionFileMissing_then_ReassignFailsNamingPartition() throws Exception {
+        Path directory = folder.newFolder()
+                               .toPath();
+
+        try (TickCoordinator coordinator = newCoordinator(directory)) {
+            coordinator.load(new InventoryGenerator(23L).generate(1_000), 4);
+
+            Files.delete(PartitionFile.path(directory, 0));
+            coordinator.workerProcess(0)
+                       .destroyForcibly()
+                       .waitFor();
+            try {
+                coordinator.tick(1);
+                fail("A missing partition file can not be reassigned.");
+            } catch (IllegalStateException e) {
+                assertTrue(e.getMessage(), e.getMessage()
+                                            .startsWith("Partition 0 "));
+            }
+            assertEquals(1, coordinator.getLiveWorkers());
+        }
+    }
+
+    @Test
+    public void when_WorkerFailsDay_then_DayNotAppliedAndCoordinatorInStep() throws Exception {
+        Path directory = folder.newFolder()
+                               .toPath();
+        Item[] items = new InventoryGenerator(29L).generate(1_000);
+        Item[] expected = InventoryGenerator.copy(items);
+        // Rejected by the update rules: the second partition, on the second worker, fails every day.
+        items[items.length - 1] = new Item("Sulfuras, Hand of Ragnaros", 0, 10);
+        expected[items.length - 1] = new Item("Sulfuras, Hand of Ragnaros", 0, 80);
+
+        try (TickCoordinator coordinator = newCoordinator(directory)) {
+            coordinator.load(items, 2);
+            for (int attempt = 0; attempt < 2; attempt++) {
+                try {
+                    coordinator.tick(1);
+                    fail("A rejected item must fail the day.");
+                } catch (IllegalStateException e) {
+                    assertTrue(e.getMessage(), e.getMessage()
+                                                .startsWith("Worker failed to update its partitions"));
+                }
+                assertEquals(0, coordinator.getDay());
+            }
+
+            // Repair the partition and let the other worker take it over.
+            Item[] repaired = new Item[items.length / 2];
+            System.arraycopy(expected, items.length / 2, repaired, 0, repaired.length);
+            new PartitionFile(0, InventoryGenerator.copy(repaired)).write(PartitionFile.path(directory, 1));
+            coordinator.workerProcess(1)
+                       .destroyForcibly()
+                       .waitFor();
+            coordinator.tick(1);
+
+            new GildedRose(expected).updateQuality();
+            assertSameItems(expected, coordinator.collect());
+            assertEquals(1, coordinator.getDay());
+        }
+    }
+
+    private TickCoordinator newCoordinator() throws IOException {
+        return newCoordinator(folder.newFolder()
+                                    .toPath());
+    }
+
+    private static TickCoordinator newCoordinator(Path directory) {
+        return new TickCoordinator.Builder().withWorkers(2)
+                                            .withDirectory(directory)
+                                            .withTimeoutMillis(30_000)
+                                            .build();
+    }
+
+    private static void assertSameItems(Item[] expected, Item[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), actual[i].toString());
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.gildedrose.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+
+
+public class DoubleBufferedInventoryTest {
+
+    private DoubleBufferedInventory inventory;
+
+    @After
+    public void tearDown() {
+        if (inventory != null) {
+            inventory.close();
+        }
+    }
+
+    @Test
+    public void when_ItemsChangedDuringDay_then_RolloverMatchesColumnarEngine() throws InterruptedException {
+        Item[] expected = new InventoryGenerator(42L).generate(20_000);
+        inventory = new DoubleBufferedInventory.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                                         .withItems(copy(expected))
+                                                         .withWorkers(2)
+                                                         .build();
+        ColumnarEngine engine = new ColumnarEngine(QualityConfigurationFactory.createItemQualityConfiguration());
+        Random random = new Random(42L);
+
+        for (int day = 1; day <= 30; day++) {
+            if (day % 3 == 0) {
+                assertTrue(inventory.awaitPrecomputed(10, TimeUnit.SECONDS));
+            }
+            for (int change = 0; change < 500; change++) {
+                int index = random.nextInt(expected.length);
+                if (!Inventory.SULFURAS.equals(expected[index].name)) {
+                    expected[index].sellIn = random.nextInt(40) - 10;
+                    expected[index].quality = random.nextInt(51);
+                    inventory.set(index, expected[index].sellIn, expected[index].quality);
+                }
+            }
+
+            engine.updateQuality(expected);
+            inventory.rollover();
+
+            assertEquals(day, inventory.getDay());
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i].name, expected[i].sellIn, inventory.sellIn(i));
+                assertEquals(expected[i].name, expected[i].quality, inventory.quality(i));
+            }
+        }
+    }
+
+    @Test
+    public void when_ItemAddedAfterPrecompute_then_IncludedInRollover() throws InterruptedException {
+        inventory = new DoubleBufferedInventory.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                                         .withItems(new Item[] {new Item(Inventory.AGED_BRIE, 2, 0)})
+                                                         .withWorkers(1)
+                                                         .build();
+        assertTrue(inventory.awaitPrecomputed(10, TimeUnit.SECONDS));
+
+        int index = inventory.add(Inventory.DEXTERITY_VEST_PLUS5, 0, 10);
+        inventory.rollover();
+
+        assertEquals(1, inventory.quality(0));
+        assertEquals(-1, inventory.sellIn(index));
+        assertEquals(8, inventory.quality(index));
+    }
+
+    @Test
+    public void when_SellInAndQualityChangedConcurrently_then_NeitherLost() throws InterruptedException {
+        Item[] items = new Item[20_000];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item(Inventory.DEXTERITY_VEST_PLUS5, 10, 20);
+        }
+        inventory = new DoubleBufferedInventory.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                                         .withItems(items)
+                                                         .withWorkers(2)
+                                                         .build();
+
+        Thread sellIns = new Thread(() -> {
+            for (int i = 0; i < items.length; i++) {
+                inventory.setSellIn(i, 5);
+            }
+        });
+        Thread qualities = new Thread(() -> {
+            for (int i = 0; i < items.length; i++) {
+                inventory.setQuality(i, 30);
+            }
+        });
+        sellIns.start();
+        qualities.start();
+        sellIns.join();
+        qualities.join();
+        assertTrue(inventory.awaitPrecomputed(10, TimeUnit.SECONDS));
+        inventory.rollover();
+
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(4, inventory.sellIn(i));
+            assertEquals(29, inventory.quality(i));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void when_LegendaryQualityInvalid_then_RolloverRejected() throws InterruptedException {
+        inventory = new DoubleBufferedInventory.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                                         .withItems(new Item[] {new Item(Inventory.SULFURAS, 0, 80)})
+                                                         .withWorkers(1)
+                                                         .build();
+        inventory.set(0, 0, 50);
+        inventory.awaitPrecomputed(10, TimeUnit.SECONDS);
+
+        inventory.rollover();
+    }
+
+    private static Item[] copy(Item[] items) {
+        Item[] copy = new Item[items.length];
+        for (int i = 0; i < items.length; i++) {
+            copy[i] = new Item(items[i].name, items[i].sellIn, items[i].quality);
+        }
+        return copy;
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.gildedrose.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+import com.gildedrose.model.ItemView;
+
+
+public class IncrementalTickTest {
+
+    @Test
+    public void when_RunInSlices_then_SameAsColumnarEngine() {
+        Item[] expected = new InventoryGenerator(45L).generate(10_000);
+        Item[] items = copy(expected);
+        IncrementalTick tick = new IncrementalTick.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                                            .withItems(ItemView.of(items))
+                                                            .withItemBudget(999)
+                                                            .build();
+        ColumnarEngine engine = new ColumnarEngine(QualityConfigurationFactory.createItemQualityConfiguration());
+
+        for (int day = 1; day <= 20; day++) {
+            engine.updateQuality(expected);
+            tick.beginDay();
+            int slices = 0;
+            while (!tick.runSlice()) {
+                slices++;
+                assertEquals(slices * 999, tick.getCursor());
+            }
+
+            assertEquals(10, slices);
+            assertEquals(day, tick.getDay());
+            for (int i = 0; i < items.length; i++) {
+                assertEquals(expected[i].toString(), items[i].toString());
+            }
+        }
+    }
+
+    @Test
+    public void when_DayInProgress_then_UnprocessedItemsAtPreviousDay() {
+        Item[] items = {new Item(Inventory.AGED_BRIE, 5, 10), new Item(Inventory.AGED_BRIE, 5, 10)};
+        IncrementalTick tick = new IncrementalTick.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                                            .withItems(ItemView.of(items))
+                                                            .withItemBudget(1)
+                                                            .build();
+
+        tick.beginDay();
+        assertFalse(tick.runSlice());
+
+        assertTrue(tick.isUpdated(0));
+        assertFalse(tick.isUpdated(1));
+        assertEquals(0.5, tick.getProgress(), 0.0);
+        assertEquals(11, items[0].quality);
+        assertEquals(10, items[1].quality);
+
+        tick.finishDay();
+        assertTrue(tick.isUpdated(1));
+        assertEquals(11, items[1].quality);
+    }
+
+    @Test
+    public void when_TimeBudget_then_SlicesResumeUntilDone() {
+        Item[] items = new InventoryGenerator(46L).generate(200_000);
+        IncrementalTick tick = new IncrementalTick.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                                            .withItems(ItemView.of(items))
+                                                            .withTimeBudget(50, TimeUnit.MICROSECONDS)
+                                                            .build();
+
+        tick.beginDay();
+        int previous = 0;
+        while (!tick.runSlice()) {
+            assertTrue(tick.getCursor() > previous);
+            previous = tick.getCursor();
+        }
+        assertEquals(items.length, tick.getCursor());
+        assertFalse(tick.isInProgress());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void when_DayBegunTwice_then_Rejected() {
+        IncrementalTick tick = new IncrementalTick.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                                            .withItems(ItemView.of(new InventoryGenerator(47L).generate(10)))
+                                                            .withItemBudget(5)
+                                                            .build();
+
+        tick.beginDay();
+        tick.runSlice();
+        tick.beginDay();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void when_NoDayBegun_then_SliceRejected() {
+        new IncrementalTick.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                     .withItems(ItemView.of(new Item[0]))
+                                     .build()
+                                     .runSlice();
+    }
+
+    private static Item[] copy(Item[] items) {
+        Item[] copy = new Item[items.length];
+        for (int i = 0; i < items.length; i++) {
+            copy[i] = new Item(items[i].name, items[i].sellIn, items[i].quality);
+        }
+        return copy;
+    }
+
+}
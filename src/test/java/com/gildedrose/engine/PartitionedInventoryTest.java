@@ -0,0 +1,74 @@
+package com.gildedrose.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+
+
+public class PartitionedInventoryTest {
+
+    private PartitionedInventory inventory;
+
+    @Before
+    public void setUp() {
+        inventory = new PartitionedInventory(QualityConfigurationFactory.createItemQualityConfiguration());
+    }
+
+    @Test
+    public void when_ItemsAdded_then_IndexesStable() {
+        Item[] items = new InventoryGenerator(41L).generate(1_000);
+
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(i, inventory.add(items[i]));
+        }
+
+        for (int i = 0; i < items.length; i++) {
+            assertSame(items[i], inventory.get(i));
+        }
+    }
+
+    @Test
+    public void when_ItemReplacedByOtherCategory_then_MovedBetweenRuns() {
+        Item brie = new Item(Inventory.AGED_BRIE, 5, 10);
+        Item cake = new Item(Inventory.MANA_CAKE, 5, 10);
+        Item vest = new Item(Inventory.DEXTERITY_VEST_PLUS5, 5, 10);
+        inventory.add(brie);
+        inventory.add(new Item(Inventory.AGED_BRIE, 3, 10));
+        inventory.add(cake);
+
+        inventory.set(0, vest);
+
+        assertSame(vest, inventory.get(0));
+        assertSame(cake, inventory.get(2));
+        assertEquals(1, inventory.runSize(Category.IMPROVING));
+        assertEquals(1, inventory.runSize(Category.DEGRADING));
+        assertEquals(Inventory.AGED_BRIE, inventory.get(1).name);
+    }
+
+    @Test
+    public void when_ItemRejected_then_NoRunUpdated() {
+        inventory.add(new Item(Inventory.AGED_BRIE, 5, 10));
+        inventory.add(new Item(Inventory.DEXTERITY_VEST_PLUS5, 5, 10));
+        inventory.add(new Item(Inventory.SULFURAS, 0, 50));
+
+        try {
+            inventory.updateQuality();
+            fail("A legendary item of another quality must be rejected.");
+        } catch (IllegalStateException e) {
+            assertEquals("Aged Brie, 5, 10", inventory.get(0)
+                                                     .toString());
+            assertEquals("+5 Dexterity Vest, 5, 10", inventory.get(1)
+                                                              .toString());
+        }
+    }
+
+}
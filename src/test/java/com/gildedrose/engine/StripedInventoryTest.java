@@ -0,0 +1,136 @@
+package com.gildedrose.engine;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+
+
+public class StripedInventoryTest {
+
+    @Test
+    public void when_NoMutations_then_SameAsColumnarEngine() {
+        Item[] expected = new InventoryGenerator(43L).generate(10_000);
+        StripedInventory inventory = new StripedInventory.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                                                   .withItems(expected)
+                                                                   .withStripeSize(256)
+                                                                   .build();
+
+        new ColumnarEngine(QualityConfigurationFactory.createItemQualityConfiguration()).updateQuality(expected);
+        inventory.updateQualityInParallel();
+
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), inventory.get(i)
+                                                          .toString());
+        }
+    }
+
+    @Test
+    public void when_SoldSlotRestocked_then_UpdatedAgain() {
+        StripedInventory inventory = new StripedInventory.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                                                   .withItems(new Item[] {new Item(Inventory.DEXTERITY_VEST_PLUS5, 10, 20)})
+                                                                   .withCapacity(2)
+                                                                   .build();
+
+        assertEquals(20, inventory.sell(0).quality);
+        inventory.updateQuality();
+        assertNull(inventory.get(0));
+        assertFalse(inventory.adjust(0, 5, 5));
+
+        inventory.restock(1, new Item(Inventory.AGED_BRIE, 3, 7));
+        inventory.updateQuality();
+        assertEquals(2, inventory.get(1).sellIn);
+        assertEquals(8, inventory.get(1).quality);
+    }
+
+    @Test
+    public void when_SellAllHitsEmptySlot_then_NothingSold() {
+        StripedInventory inventory = new StripedInventory.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                                                   .withItems(new InventoryGenerator(44L).generate(100))
+                                                                   .withStripeSize(16)
+                                                                   .build();
+        inventory.sell(70);
+
+        assertNull(inventory.sellAll(90, 3, 70));
+        assertNotNull(inventory.get(90));
+        assertNotNull(inventory.get(3));
+
+        Item[] sold = inventory.sellAll(90, 3);
+        assertNotNull(sold);
+        assertEquals(2, sold.length);
+        assertArrayEquals(new Item[] {null, null}, new Item[] {inventory.get(90), inventory.get(3)});
+    }
+
+    @Test
+    public void when_MutatedDuringUpdate_then_EveryItemFullyBeforeOrAfter() throws Exception {
+        final int size = 50_000;
+        Item[] items = new Item[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = new Item(Inventory.DEXTERITY_VEST_PLUS5, 10, 40);
+        }
+        StripedInventory inventory = new StripedInventory.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                                                   .withItems(items)
+                                                                   .withStripeSize(64)
+                                                                   .build();
+
+        // Untouched and restocked items keep quality - sellIn == 30, adjusted ones quality - sellIn == 25.
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] mutators = new Future<?>[4];
+            for (int t = 0; t < mutators.length; t++) {
+                final long seed = t;
+                mutators[t] = executor.submit(() -> {
+                    Random random = new Random(seed);
+                    while (running.get()) {
+                        int index = random.nextInt(size);
+                        switch (random.nextInt(3)) {
+                            case 0:
+                                inventory.sell(index);
+                                break;
+                            case 1:
+                                inventory.restock(index, new Item(Inventory.DEXTERITY_VEST_PLUS5, 10, 40));
+                                break;
+                            default:
+                                inventory.adjust(index, 20, 45);
+                        }
+                    }
+                });
+            }
+
+            for (int day = 0; day < 5; day++) {
+                inventory.updateQualityInParallel();
+            }
+            running.set(false);
+            for (Future<?> mutator : mutators) {
+                mutator.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int i = 0; i < size; i++) {
+            Item item = inventory.get(i);
+            if (item != null) {
+                int difference = item.quality - item.sellIn;
+                assertTrue(item.toString(), difference == 30 || difference == 25);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.gildedrose.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.gildedrose.GildedRose;
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+
+
+public class TemporalBlockingEngineTest {
+
+    @Test
+    public void when_ManyDaysAdvanced_then_SameAsSequentialTicks() {
+        for (int days : new int[] {0, 1, 7, 30, 90}) {
+            Item[] expected = new InventoryGenerator(49L).generate(5_000);
+            Item[] actual = InventoryGenerator.copy(expected);
+
+            GildedRose gildedRose = new GildedRose(expected);
+            for (int day = 0; day < days; day++) {
+                gildedRose.updateQuality();
+            }
+            new TemporalBlockingEngine(QualityConfigurationFactory.createItemQualityConfiguration(), 333).advance(actual, days);
+
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(days + " days", expected[i].toString(), actual[i].toString());
+            }
+        }
+    }
+
+    @Test
+    public void when_ItemRejected_then_ItsBlockUnchanged() {
+        Item[] items = {new Item(Inventory.AGED_BRIE, 5, 10), new Item(Inventory.AGED_BRIE, 5, 10), new Item(Inventory.SULFURAS, 0, 50)};
+        TemporalBlockingEngine engine = new TemporalBlockingEngine(QualityConfigurationFactory.createItemQualityConfiguration(), 2);
+
+        try {
+            engine.advance(items, 3);
+            fail("A legendary item of another quality must be rejected.");
+        } catch (IllegalStateException e) {
+            assertEquals(13, items[0].quality);
+            assertEquals(2, items[1].sellIn);
+            assertEquals(50, items[2].quality);
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.gildedrose.function.quality;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+
+
+public class FusedQualityTest {
+
+    private QualityConfiguration configuration;
+
+    @Before
+    public void setUp() {
+        configuration = QualityConfigurationFactory.createItemQualityConfiguration();
+    }
+
+    @Test
+    public void when_SimpleOperatorFused_then_SameQualityAsSimpleOperator() {
+        DegradeQuality degrade = QualityOperatorFactory.createDegradeQualityOperator(configuration);
+        ImproveQuality improve = QualityOperatorFactory.createImproveQualityOperator(configuration);
+        ExpireQuality expire = QualityOperatorFactory.createBackstagePassQualityOperator(configuration);
+
+        assertSameQuality(degrade, new FusedQuality.Builder().from(degrade)
+                                                             .build());
+        assertSameQuality(improve, new FusedQuality.Builder().from(improve)
+                                                             .build());
+        assertSameQuality(expire, new FusedQuality.Builder().from(expire)
+                                                            .build());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_ConjuredNotMultipleOfNormal_then_Rejected() {
+        QualityConfiguration uneven = new QualityConfiguration.Builder().withMinimumQuality(0)
+                                                                        .withMaximumQuality(50)
+                                                                        .withNormalQualityModifier(2)
+                                                                        .withConjuredQualityModifier(3)
+                                                                        .build();
+
+        QualityOperatorFactory.createConjuredImproveQualityOperator(uneven);
+    }
+
+    @Test
+    public void when_ConjuredBackstagePass_then_EveryTierTwiceAsFast() {
+        QualityOperator operator = QualityOperatorFactory.getQualityOperator(configuration, Category.CONJURED_EXPIRING);
+
+        assertEquals(22, operator.applyQuality(15, 20));
+        assertEquals(24, operator.applyQuality(10, 20));
+        assertEquals(24, operator.applyQuality(6, 20));
+        assertEquals(26, operator.applyQuality(5, 20));
+        assertEquals(26, operator.applyQuality(1, 20));
+        assertEquals(0, operator.applyQuality(0, 20));
+        assertEquals(50, operator.applyQuality(3, 48));
+    }
+
+    @Test
+    public void when_ConjuredAgedBrie_then_ImprovesTwiceAsFast() {
+        Item item = new Item(Inventory.CONJURED_AGED_BRIE, 0, 10);
+
+        QualityOperatorFactory.getQualityOperator(configuration, item)
+                              .apply(item);
+
+        assertEquals(14, item.quality);
+        assertEquals(Category.CONJURED_IMPROVING, Category.of(Inventory.CONJURED_AGED_BRIE));
+    }
+
+    private static void assertSameQuality(QualityOperator expected, QualityOperator actual) {
+        for (int sellIn = -3; sellIn <= 15; sellIn++) {
+            for (int quality = -5; quality <= 60; quality++) {
+                assertEquals("sellIn " + sellIn + ", quality " + quality, expected.applyQuality(sellIn, quality),
+                             actual.applyQuality(sellIn, quality));
+            }
+        }
+    }
+
+}
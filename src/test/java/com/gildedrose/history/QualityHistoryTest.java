@@ -0,0 +1,121 @@
+package com.gildedrose.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.gildedrose.GildedRose;
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.model.Item;
+import com.gildedrose.model.ItemView;
+
+
+public class QualityHistoryTest {
+
+    private static final int ITEMS = 2_000;
+    private static final int DAYS = 60;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+    private Item[] items;
+    private int[][] qualities;
+    private int[][] sellIns;
+
+    @Before
+    public void setUp() {
+        directory = folder.getRoot()
+                          .toPath();
+        items = new InventoryGenerator(40L).generate(ITEMS);
+        qualities = new int[DAYS][ITEMS];
+        sellIns = new int[DAYS][ITEMS];
+    }
+
+    @Test
+    public void when_DaysAppended_then_EveryDayQueryableFromFewSegments() throws IOException {
+        try (QualityHistory history = new QualityHistory.Builder().withDirectory(directory)
+                                                                  .withSegmentsPerFile(1_000)
+                                                                  .build()) {
+            run(history, 0, DAYS);
+
+            assertHistory(history, 0, DAYS);
+            assertTrue(history.getSegments() + " segments", history.getSegments() < (long) ITEMS * DAYS / 10);
+        }
+    }
+
+    @Test
+    public void when_Reopened_then_HistoryContinues() throws IOException {
+        try (QualityHistory history = new QualityHistory.Builder().withDirectory(directory)
+                                                                  .withSegmentsPerFile(1_000)
+                                                                  .build()) {
+            run(history, 0, DAYS / 2);
+        }
+
+        try (QualityHistory history = new QualityHistory.Builder().withDirectory(directory)
+                                                                  .withSegmentsPerFile(1_000)
+                                                                  .build()) {
+            assertEquals(DAYS / 2 - 1, history.getLastDay());
+            run(history, DAYS / 2, DAYS);
+
+            assertHistory(history, 0, DAYS);
+        }
+    }
+
+    @Test
+    public void when_FlushedBeforeCrash_then_FlushedDaysRestored() throws IOException {
+        QualityHistory crashed = new QualityHistory.Builder().withDirectory(directory)
+                                                             .withSegmentsPerFile(1_000)
+                                                             .build();
+        run(crashed, 0, DAYS / 2);
+        crashed.flush();
+        // Days after the last flush are lost, without closing the history.
+        run(crashed, DAYS / 2, DAYS / 2 + 5);
+
+        try (QualityHistory history = new QualityHistory.Builder().withDirectory(directory)
+                                                                  .withSegmentsPerFile(1_000)
+                                                                  .build()) {
+            assertTrue(history.getLastDay() >= DAYS / 2 - 1);
+            assertHistory(history, 0, DAYS / 2);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_DayNotRecorded_then_IllegalArgumentException() throws IOException {
+        try (QualityHistory history = new QualityHistory.Builder().withDirectory(directory)
+                                                                  .build()) {
+            run(history, 0, 2);
+
+            history.quality(0, 5);
+        }
+    }
+
+    private void run(QualityHistory history, int fromDay, int toDay) throws IOException {
+        GildedRose gildedRose = new GildedRose(items);
+        for (int day = fromDay; day < toDay; day++) {
+            gildedRose.updateQuality();
+            history.append(day, ItemView.of(items));
+            for (int item = 0; item < ITEMS; item++) {
+                qualities[day][item] = items[item].quality;
+                sellIns[day][item] = items[item].sellIn;
+            }
+        }
+    }
+
+    private void assertHistory(QualityHistory history, int fromDay, int toDay) {
+        for (int day = fromDay; day < toDay; day++) {
+            for (int item = 0; item < ITEMS; item++) {
+                assertEquals(qualities[day][item], history.quality(item, day));
+                assertEquals(sellIns[day][item], history.sellIn(item, day));
+            }
+        }
+    }
+
+}
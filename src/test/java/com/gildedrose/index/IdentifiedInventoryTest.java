@@ -0,0 +1,60 @@
+package com.gildedrose.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.model.Item;
+
+
+public class IdentifiedInventoryTest {
+
+    @Test
+    public void when_ItemsRemovedAndCompacted_then_IdsStable() {
+        Item[] items = new InventoryGenerator(46L).generate(10_000);
+        IdentifiedInventory inventory = IdentifiedInventory.of(items);
+
+        for (long id = 0; id < items.length; id += 3) {
+            assertSame(items[(int) id], inventory.remove(id));
+        }
+        assertNull(inventory.get(3L));
+        assertEquals(items.length, inventory.size());
+
+        assertEquals((items.length + 2) / 3, inventory.compact());
+        assertEquals(inventory.count(), inventory.size());
+
+        for (long id = 0; id < items.length; id++) {
+            if (id % 3 == 0) {
+                assertEquals(LongIntHashIndex.NONE, inventory.slotOf(id));
+            } else {
+                assertSame(items[(int) id], inventory.get(id));
+                assertEquals(id, inventory.idAt(inventory.slotOf(id)));
+            }
+        }
+    }
+
+    @Test
+    public void when_SkuGiven_then_NextIdsSkipIt() {
+        IdentifiedInventory inventory = new IdentifiedInventory(0);
+        Item vest = new Item("+5 Dexterity Vest", 10, 20);
+
+        inventory.add(1L, vest);
+        long first = inventory.add(new Item("Elixir of the Mongoose", 5, 7));
+        long second = inventory.add(new Item("Elixir of the Mongoose", 5, 7));
+
+        assertEquals(0L, first);
+        assertEquals(2L, second);
+        assertSame(vest, inventory.get(1L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_DuplicateId_then_Rejected() {
+        IdentifiedInventory inventory = new IdentifiedInventory(1);
+        inventory.add(7L, new Item("+5 Dexterity Vest", 10, 20));
+        inventory.add(7L, new Item("+5 Dexterity Vest", 10, 20));
+    }
+
+}
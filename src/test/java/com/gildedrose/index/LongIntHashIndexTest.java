@@ -0,0 +1,61 @@
+package com.gildedrose.index;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+
+public class LongIntHashIndexTest {
+
+    @Test
+    public void when_RandomOperations_then_SameAsHashMap() {
+        LongIntHashIndex index = new LongIntHashIndex(0);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(46L);
+
+        for (int operation = 0; operation < 200_000; operation++) {
+            // A small key range, so removals hit long probe sequences.
+            long key = random.nextInt(5_000) * 0x1_0000_0000L;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? LongIntHashIndex.NONE : removed.intValue(), index.remove(key));
+            } else {
+                int slot = random.nextInt(Integer.MAX_VALUE);
+                Integer previous = expected.put(key, slot);
+                assertEquals(previous == null ? LongIntHashIndex.NONE : previous.intValue(), index.put(key, slot));
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        for (long key = 0; key < 5_000; key++) {
+            Integer slot = expected.get(key * 0x1_0000_0000L);
+            assertEquals(slot == null ? LongIntHashIndex.NONE : slot.intValue(), index.get(key * 0x1_0000_0000L));
+        }
+    }
+
+    @Test
+    public void when_EveryKeyRemoved_then_Empty() {
+        LongIntHashIndex index = new LongIntHashIndex(1_000);
+        int capacity = index.capacity();
+        for (long key = -500; key < 500; key++) {
+            index.put(key, (int) key + 500);
+        }
+        assertEquals(capacity, index.capacity());
+
+        for (long key = 499; key >= -500; key--) {
+            assertEquals((int) key + 500, index.remove(key));
+        }
+        assertEquals(0, index.size());
+        assertEquals(LongIntHashIndex.NONE, index.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_NegativeSlot_then_Rejected() {
+        new LongIntHashIndex(1).put(1L, LongIntHashIndex.NONE);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.gildedrose.index;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gildedrose.GildedRose;
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+
+
+public class QualityIndexTest {
+
+    private QualityConfiguration configuration;
+
+    @Before
+    public void setUp() {
+        configuration = QualityConfigurationFactory.createItemQualityConfiguration();
+    }
+
+    @Test
+    public void when_ItemsIndexed_then_CountsMatchScan() {
+        Item[] items = new InventoryGenerator(3L).generate(2_000);
+
+        QualityIndex index = QualityIndex.of(configuration, items);
+
+        assertMatchesScan(items, index);
+    }
+
+    @Test
+    public void when_DaysPass_then_IndexFollowsUpdates() {
+        Item[] items = new InventoryGenerator(5L).generate(2_000);
+        QualityIndex index = QualityIndex.of(configuration, items);
+        GildedRose gildedRose = new GildedRose(items);
+        gildedRose.addItemUpdateListener(index);
+
+        for (int day = 0; day < 30; day++) {
+            gildedRose.updateQuality();
+            assertMatchesScan(items, index);
+        }
+    }
+
+    @Test
+    public void when_QualityOutsideBounds_then_IndexedInOverflow() {
+        Item[] items = new Item[] {new Item(Inventory.AGED_BRIE, 5, 60), new Item(Inventory.AGED_BRIE, 5, 90), new Item("Basic item", 5, -3)};
+
+        QualityIndex index = QualityIndex.of(configuration, items);
+
+        assertEquals(1, index.count(60));
+        assertEquals(1, index.count(55, 85));
+        assertEquals(1, index.count(-3));
+        assertArrayEquals(new int[] {0}, index.ids(60, 60));
+    }
+
+    @Test
+    public void when_RangeListed_then_AllIdsInRange() {
+        Item[] items = new Item[] {new Item("Basic item", 5, 40), new Item("Basic item", 5, 45), new Item("Basic item", 5, 51),
+                                   new Item("Basic item", 5, 39), new Item(Inventory.SULFURAS, 0, 80)};
+
+        QualityIndex index = QualityIndex.of(configuration, items);
+
+        int[] ids = index.ids(40, 50);
+        Arrays.sort(ids);
+        assertArrayEquals(new int[] {0, 1}, ids);
+        assertEquals(1, index.count(80));
+    }
+
+    private static void assertMatchesScan(Item[] items, QualityIndex index) {
+        for (int quality = -1; quality <= 81; quality++) {
+            final int value = quality;
+            assertEquals(Arrays.stream(items)
+                               .filter(item -> item.quality == value)
+                               .count(),
+                         index.count(quality));
+        }
+
+        int[] ids = index.ids(40, 50);
+        Arrays.sort(ids);
+        assertArrayEquals(IntStream.range(0, items.length)
+                                   .filter(i -> items[i].quality >= 40 && items[i].quality <= 50)
+                                   .toArray(),
+                          ids);
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.gildedrose.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+
+public class ItemViewTest {
+
+    @Test
+    public void when_LegacyItemsViewed_then_WritesReachTheSameInstances() {
+        com.gildedrose.Item brie = new com.gildedrose.Item(Inventory.AGED_BRIE, 2, 0);
+        com.gildedrose.Item[] items = new com.gildedrose.Item[] {brie};
+
+        ItemView view = ItemView.of(items);
+        view.setQuality(0, 7);
+        view.setSellIn(0, 1);
+
+        assertSame(brie, items[0]);
+        assertEquals(7, brie.quality);
+        assertEquals(1, brie.sellIn);
+        assertSame(Category.IMPROVING, view.category(0));
+    }
+
+    @Test
+    public void when_ItemsViewed_then_SameValuesAsColumnarInventory() {
+        Item[] items = new Item[] {new Item(Inventory.SULFURAS, 0, 80), new Item("Basic item", 10, 5)};
+
+        ItemView view = ItemView.of(items);
+        ItemView columns = ColumnarInventory.of(items);
+
+        assertEquals(columns.size(), view.size());
+        for (int i = 0; i < view.size(); i++) {
+            assertEquals(columns.name(i), view.name(i));
+            assertSame(columns.category(i), view.category(i));
+            assertEquals(columns.sellIn(i), view.sellIn(i));
+            assertEquals(columns.quality(i), view.quality(i));
+        }
+    }
+
+}
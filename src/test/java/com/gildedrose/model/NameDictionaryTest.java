@@ -0,0 +1,60 @@
+package com.gildedrose.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class NameDictionaryTest {
+
+    private NameDictionary dictionary;
+
+    @Before
+    public void setUp() {
+        dictionary = new NameDictionary();
+    }
+
+    @Test
+    public void when_SameNameAddedTwice_then_SameId() {
+        int id = dictionary.idOf(Inventory.AGED_BRIE);
+
+        assertEquals(id, dictionary.idOf(new String(Inventory.AGED_BRIE)));
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    public void when_DifferentNamesAdded_then_DifferentIds() {
+        assertNotEquals(dictionary.idOf(Inventory.AGED_BRIE), dictionary.idOf(Inventory.SULFURAS));
+    }
+
+    @Test
+    public void when_NameAdded_then_NameAndCategoryResolvedById() {
+        int id = dictionary.idOf(Inventory.BACKSTAGE_TAFKAL80ETC);
+
+        assertEquals(Inventory.BACKSTAGE_TAFKAL80ETC, dictionary.nameOf(id));
+        assertSame(Category.EXPIRING, dictionary.categoryOf(id));
+    }
+
+    @Test
+    public void when_UnknownNameAdded_then_CategoryIsDegrading() {
+        assertSame(Category.DEGRADING, dictionary.categoryOf(dictionary.idOf("Basic item")));
+    }
+
+    @Test
+    public void when_ManyNamesAdded_then_AllResolved() {
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i, dictionary.idOf("Item " + i));
+        }
+
+        assertEquals("Item 999", dictionary.nameOf(999));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_UnknownId_then_Exception() {
+        dictionary.nameOf(0);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.gildedrose.pipeline;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.engine.ColumnarEngine;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+
+
+public class InventoryPipelineTest {
+
+    private static final Item END_OF_STREAM = new Item(null, 0, 0);
+
+    private InventoryPipeline pipeline;
+
+    @Before
+    public void setUp() {
+        pipeline = new InventoryPipeline.Builder().withConfiguration(QualityConfigurationFactory.createItemQualityConfiguration())
+                                                  .withBatchSize(64)
+                                                  .withDemand(2)
+                                                  .build();
+    }
+
+    @Test
+    public void when_PipelineRuns_then_ItemsUpdatedInSourceOrder() throws Exception {
+        Item[] items = new InventoryGenerator(7L).generate(10_000);
+        Item[] expected = InventoryGenerator.copy(items);
+        new ColumnarEngine(QualityConfigurationFactory.createItemQualityConfiguration()).updateQuality(expected);
+
+        List<String> actual = new ArrayList<>();
+        pipeline.run(ItemSource.of(items), collect(actual));
+
+        assertEquals(expected.length, actual.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), actual.get(i));
+        }
+    }
+
+    @Test
+    public void when_SourceIsQueue_then_ItemsUpdatedUntilEndOfStream() throws Exception {
+        BlockingQueue<Item> queue = new LinkedBlockingQueue<>();
+        queue.add(new Item(Inventory.AGED_BRIE, 2, 0));
+        queue.add(new Item(Inventory.SULFURAS, 0, 80));
+        queue.add(END_OF_STREAM);
+
+        List<String> actual = new ArrayList<>();
+        pipeline.run(ItemSource.of(queue, END_OF_STREAM), collect(actual));
+
+        assertEquals(2, actual.size());
+        assertEquals("Aged Brie, 1, 1", actual.get(0));
+        assertEquals("Sulfuras, Hand of Ragnaros, 0, 80", actual.get(1));
+    }
+
+    @Test(expected = IOException.class)
+    public void when_SinkFails_then_RunFails() throws Exception {
+        Item[] items = new InventoryGenerator(7L).generate(10_000);
+
+        pipeline.run(ItemSource.of(items), (batch, length) -> {
+            throw new IOException("disk full");
+        });
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void when_LegendaryQualityInvalid_then_RunFails() throws Exception {
+        Item[] items = new Item[] {new Item(Inventory.SULFURAS, 0, 50)};
+
+        pipeline.run(ItemSource.of(items), (batch, length) -> {
+        });
+    }
+
+    private static ItemSink collect(List<String> rows) {
+        return (batch, length) -> {
+            for (int i = 0; i < length; i++) {
+                rows.add(batch[i].toString());
+            }
+        };
+    }
+
+}
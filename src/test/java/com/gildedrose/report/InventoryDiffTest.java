@@ -0,0 +1,142 @@
+package com.gildedrose.report;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.engine.ColumnarEngine;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+
+
+public class InventoryDiffTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path runs;
+
+    @Before
+    public void setUp() throws IOException {
+        runs = folder.newFolder("runs")
+                     .toPath();
+    }
+
+    @Test
+    public void when_ReportLargerThanRun_then_SortedFromDisk() throws IOException {
+        Item[] items = new InventoryGenerator(47L).generate(5_000);
+        Path report = write("report.txt", items);
+
+        List<Item> sorted = new ArrayList<>();
+        try (InventoryReportReader reader = InventoryReportReader.open(report);
+                        ExternalItemSorter.SortedItems sortedItems = new ExternalItemSorter(runs, 300).sort(reader)) {
+            assertEquals(17, Files.list(runs)
+                                  .count());
+            for (Item item = sortedItems.readItem(); item != null; item = sortedItems.readItem()) {
+                sorted.add(item);
+            }
+        }
+
+        Item[] expected = items.clone();
+        Arrays.sort(expected, ExternalItemSorter.ORDER);
+        assertArrayEquals(toStrings(expected), toStrings(sorted.toArray(new Item[0])));
+        assertEquals(0, Files.list(runs)
+                             .count());
+    }
+
+    @Test
+    public void when_DaysElapsed_then_OnlyUnpredictedRowsReported() throws IOException {
+        Item[] before = new InventoryGenerator(48L).generate(3_000);
+        Item[] after = copy(before);
+        ColumnarEngine engine = new ColumnarEngine(QualityConfigurationFactory.createItemQualityConfiguration());
+        for (int day = 0; day < 7; day++) {
+            engine.updateQuality(after);
+        }
+
+        List<Item> shuffled = new ArrayList<>(Arrays.asList(after));
+        Collections.shuffle(shuffled, new Random(48L));
+        Item removed = shuffled.remove(0);
+        shuffled.add(new Item("Warehouse only", 3, 3));
+        Item changed = shuffled.get(0);
+        changed.quality = changed.quality == 0 ? 1 : 0;
+
+        List<String> differences = new ArrayList<>();
+        InventoryDiff diff = new InventoryDiff.Builder().withDays(7)
+                                                        .withTempDirectory(runs)
+                                                        .withItemsPerRun(256)
+                                                        .build();
+        diff.compare(write("before.txt", before), write("after.txt", shuffled.toArray(new Item[0])),
+                     (difference, expected, actual) -> differences.add(difference + " " + expected + " " + actual));
+
+        assertEquals(3, differences.size());
+        assertEquals(1, diff.getCount(InventoryDiff.Difference.ADDED));
+        assertEquals(1, diff.getCount(InventoryDiff.Difference.CHANGED));
+        assertEquals(1, diff.getCount(InventoryDiff.Difference.REMOVED));
+        assertEquals(before.length - 2, diff.getMatched());
+        assertTrue(differences.contains("ADDED null Warehouse only, 3, 3"));
+        assertTrue(differences.contains("REMOVED " + removed + " null"));
+    }
+
+    @Test
+    public void when_DuplicateNames_then_PairedWithinName() throws IOException {
+        Item[] before = {new Item(Inventory.AGED_BRIE, 5, 10), new Item(Inventory.AGED_BRIE, 5, 10), new Item(Inventory.AGED_BRIE, 5, 10)};
+        Item[] after = {new Item(Inventory.AGED_BRIE, 5, 10), new Item(Inventory.AGED_BRIE, 5, 12)};
+
+        List<String> differences = new ArrayList<>();
+        InventoryDiff diff = new InventoryDiff.Builder().withTempDirectory(runs)
+                                                        .build();
+        diff.compare(write("before.txt", before), write("after.txt", after), (difference, expected, actual) -> {
+            differences.add(difference.name());
+            if (difference == InventoryDiff.Difference.REMOVED) {
+                assertNull(actual);
+            }
+        });
+
+        assertEquals(Arrays.asList("CHANGED", "REMOVED"), differences);
+        assertEquals(1, diff.getMatched());
+    }
+
+    private Path write(String name, Item[] items) throws IOException {
+        Path path = folder.getRoot()
+                          .toPath()
+                          .resolve(name);
+        try (InventoryReportWriter writer = InventoryReportWriter.open(path)) {
+            writer.writeDay(0, items);
+        }
+        return path;
+    }
+
+    private static String[] toStrings(Item[] items) {
+        String[] strings = new String[items.length];
+        for (int i = 0; i < items.length; i++) {
+            strings[i] = items[i].toString();
+        }
+        return strings;
+    }
+
+    private static Item[] copy(Item[] items) {
+        Item[] copy = new Item[items.length];
+        for (int i = 0; i < items.length; i++) {
+            copy[i] = new Item(items[i].name, items[i].sellIn, items[i].quality);
+        }
+        return copy;
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.gildedrose.report;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gildedrose.model.Item;
+
+
+public class InventoryReportWriterTest {
+
+    private static final String NL = System.lineSeparator();
+
+    private ByteArrayOutputStream output;
+    private InventoryReportWriter reportWriter;
+
+    @Before
+    public void setUp() {
+        output = new ByteArrayOutputStream();
+        reportWriter = new InventoryReportWriter(Channels.newChannel(output), 64);
+    }
+
+    @Test
+    public void when_ItemWritten_then_RowEqualsToString() throws IOException {
+        Item item = new Item("Sulfuras, Hand of Ragnaros", -1, 80);
+
+        reportWriter.writeItem(item)
+                    .flush();
+
+        assertEquals(item + NL, report());
+    }
+
+    @Test
+    public void when_IntegersAtBounds_then_RowEqualsToString() throws IOException {
+        Item minimum = new Item("Minimum", Integer.MIN_VALUE, 0);
+        Item maximum = new Item("Maximum", Integer.MAX_VALUE, -10);
+
+        reportWriter.writeItem(minimum)
+                    .writeItem(maximum)
+                    .flush();
+
+        assertEquals(minimum + NL + maximum + NL, report());
+    }
+
+    @Test
+    public void when_DayWritten_then_ReportHasBannerHeaderAndRows() throws IOException {
+        Item[] items = new Item[] {new Item("Aged Brie", 5, 0), new Item("Conjured Mana Cake", 3, 6)};
+
+        reportWriter.writeDay(12, items)
+                    .flush();
+
+        String expected = "-------- day 12 --------" + NL + "name, sellIn, quality" + NL + items[0] + NL + items[1] + NL + NL;
+        assertEquals(expected, report());
+    }
+
+    @Test
+    public void when_RowsExceedBuffer_then_AllRowsWritten() throws IOException {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            Item item = new Item("Backstage passes to a TAFKAL80ETC concert", i - 50, i);
+            reportWriter.writeItem(item);
+            expected.append(item)
+                    .append(NL);
+        }
+
+        reportWriter.flush();
+
+        assertEquals(expected.toString(), report());
+    }
+
+    @Test
+    public void when_MoreNamesThanCached_then_EvictedNamesEncodedAgain() throws IOException {
+        StringBuilder expected = new StringBuilder();
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i <= InventoryReportWriter.MAX_CACHED_NAMES; i++) {
+                Item item = new Item("Item " + i, i, round);
+                reportWriter.writeItem(item);
+                expected.append(item)
+                        .append(NL);
+            }
+        }
+
+        reportWriter.flush();
+
+        assertEquals(expected.toString(), report());
+    }
+
+    private String report() {
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.gildedrose.scenario;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.config.quality.QualityConfiguration;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.engine.ColumnarEngine;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+import com.gildedrose.model.ItemView;
+
+
+public class ScenarioSimulatorTest {
+
+    @Test
+    public void when_DefaultConfiguration_then_SameAsColumnarEngine() {
+        Item[] items = new InventoryGenerator(44L).generate(5_000);
+        ScenarioBase base = ScenarioBase.of(ItemView.of(items));
+        Scenario scenario = new Scenario("default", QualityConfigurationFactory.createItemQualityConfiguration(), base);
+
+        ColumnarEngine engine = new ColumnarEngine(QualityConfigurationFactory.createItemQualityConfiguration());
+        for (int day = 0; day < 40; day++) {
+            engine.updateQuality(items);
+            scenario.advance(1);
+
+            for (int i = 0; i < items.length; i++) {
+                assertEquals(items[i].name, items[i].sellIn, scenario.sellIn(i));
+                assertEquals(items[i].name, items[i].quality, scenario.quality(i));
+            }
+        }
+    }
+
+    @Test
+    public void when_ScenariosRun_then_BaseSharedAndResultsPerScenario() {
+        Item[] items = new InventoryGenerator(45L).generate(10_000);
+        Item[] original = copy(items);
+        QualityConfiguration harsh = new QualityConfiguration.Builder().withMinimumQuality(0)
+                                                                        .withMaximumQuality(50)
+                                                                        .withLegendaryQuality(80)
+                                                                        .withNormalQualityModifier(1)
+                                                                        .withConjuredQualityModifier(4)
+                                                                        .withBackstagePassQualityModifier(QualityConfigurationFactory.createItemQualityModifier(10, 2))
+                                                                        .withBackstagePassQualityModifier(QualityConfigurationFactory.createItemQualityModifier(5, 3))
+                                                                        .build();
+
+        ScenarioSimulator simulator = new ScenarioSimulator.Builder().withItems(ItemView.of(items))
+                                                                     .withScenario("default", QualityConfigurationFactory.createItemQualityConfiguration())
+                                                                     .withScenario("harsh conjured", harsh)
+                                                                     .withDays(10)
+                                                                     .build();
+        List<ScenarioResult> results = simulator.run();
+
+        assertEquals("default", results.get(0)
+                                       .getName());
+        assertEquals(10, results.get(1)
+                                .getDays());
+        assertTrue(results.get(1)
+                          .getTotalQuality(Category.CONJURED) < results.get(0)
+                                                                       .getTotalQuality(Category.CONJURED));
+        assertEquals(results.get(0)
+                            .getTotalQuality(Category.DEGRADING),
+                     results.get(1)
+                            .getTotalQuality(Category.DEGRADING));
+        for (int i = 0; i < items.length; i++) {
+            assertEquals(original[i].toString(), items[i].toString());
+            assertEquals(original[i].quality, simulator.getBase()
+                                                       .quality(i));
+        }
+    }
+
+    @Test
+    public void when_PageUnchanged_then_NotCopied() {
+        Item[] items = new Item[Scenario.PAGE_SIZE * 3];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = i < Scenario.PAGE_SIZE * 2 ? new Item(Inventory.SULFURAS, 0, 80) : new Item(Inventory.AGED_BRIE, 5, 10);
+        }
+
+        ScenarioResult result = new ScenarioSimulator.Builder().withItems(ItemView.of(items))
+                                                               .withScenario("default", QualityConfigurationFactory.createItemQualityConfiguration())
+                                                               .withDays(3)
+                                                               .build()
+                                                               .run()
+                                                               .get(0);
+
+        assertEquals(3, result.getPages());
+        assertEquals(1, result.getCopiedPages());
+        assertEquals(3 * Scenario.PAGE_SIZE, result.getQualityChange());
+        assertEquals(0, result.getExpiredCount());
+    }
+
+    private static Item[] copy(Item[] items) {
+        Item[] copy = new Item[items.length];
+        for (int i = 0; i < items.length; i++) {
+            copy[i] = new Item(items[i].name, items[i].sellIn, items[i].quality);
+        }
+        return copy;
+    }
+
+}
@@ -0,0 +1,317 @@
+package com.gildedrose.schedule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.gildedrose.GildedRose;
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.config.quality.QualityConfigurationFactory;
+import com.gildedrose.engine.QualityEngine;
+import com.gildedrose.engine.TemporalBlockingEngine;
+import com.gildedrose.model.Item;
+
+
+public class TickSchedulerTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void when_DaysMissed_then_CaughtUpInOneBatch() throws IOException {
+        Item[] expected = new InventoryGenerator(50L).generate(2_000);
+        Item[] actual = InventoryGenerator.copy(expected);
+        GildedRose gildedRose = new GildedRose(expected);
+        for (int day = 0; day < 3; day++) {
+            gildedRose.updateQuality();
+        }
+
+        MutableClock clock = new MutableClock(MONDAY.plusDays(3)
+                                                    .atTime(9, 0)
+                                                    .toInstant(ZoneOffset.UTC));
+        RecordingEngine engine = new RecordingEngine();
+        Path checkpoint = folder.getRoot()
+                                .toPath()
+                                .resolve("inventory.ckpt");
+
+        try (TickScheduler scheduler = newScheduler(actual, engine, checkpoint, clock)) {
+            assertEquals(3, scheduler.tick());
+            assertEquals(MONDAY.plusDays(3), scheduler.getLastAppliedDay());
+        }
+
+        assertEquals(1, engine.batches.size());
+        assertEquals(3, (int) engine.batches.get(0));
+        assertSameItems(expected, actual);
+    }
+
+    @Test
+    public void when_TickedTwiceOrClockMovedBack_then_DayAppliedOnce() throws IOException {
+        MutableClock clock = new MutableClock(MONDAY.atTime(23, 59)
+                                                    .toInstant(ZoneOffset.UTC));
+        RecordingEngine engine = new RecordingEngine();
+        Path checkpoint = folder.getRoot()
+                                .toPath()
+                                .resolve("inventory.ckpt");
+
+        try (TickScheduler scheduler = newScheduler(new Item[0], engine, checkpoint, clock)) {
+            assertEquals(0, scheduler.tick());
+
+            clock.advance(Duration.ofMinutes(2));
+            assertEquals(1, scheduler.tick());
+            assertEquals(0, scheduler.tick());
+
+            clock.advance(Duration.ofDays(-3));
+            assertEquals(0, scheduler.tick());
+            assertEquals(MONDAY.plusDays(1), scheduler.getLastAppliedDay());
+        }
+        assertEquals(1, engine.batches.size());
+    }
+
+    @Test
+    public void when_Restarted_then_InventoryAndDayRestored() throws IOException {
+        Item[] expected = new InventoryGenerator(51L).generate(1_000);
+        Item[] items = InventoryGenerator.copy(expected);
+        GildedRose gildedRose = new GildedRose(expected);
+        for (int day = 0; day < 3; day++) {
+            gildedRose.updateQuality();
+        }
+
+        MutableClock clock = new MutableClock(MONDAY.plusDays(2)
+                                                    .atTime(12, 0)
+                                                    .toInstant(ZoneOffset.UTC));
+        RecordingEngine engine = new RecordingEngine();
+        Path checkpoint = folder.getRoot()
+                                .toPath()
+                                .resolve("inventory.ckpt");
+
+        try (TickScheduler scheduler = newScheduler(items, engine, checkpoint, clock)) {
+            scheduler.tick();
+        }
+        clock.advance(Duration.ofDays(1));
+        // The checkpoint wins over the initial items.
+        try (TickScheduler scheduler = newScheduler(new Item[0], engine, checkpoint, clock)) {
+            assertEquals(MONDAY.plusDays(2), scheduler.getLastAppliedDay());
+            assertEquals(1, scheduler.tick());
+            assertSameItems(expected, scheduler.getItems());
+        }
+
+        assertEquals(2, engine.batches.size());
+        assertEquals(2, (int) engine.batches.get(0));
+        assertEquals(1, (int) engine.batches.get(1));
+    }
+
+    @Test
+    public void when_CheckpointNotWritten_then_DayNotApplied() throws IOException {
+        Item[] expected = new InventoryGenerator(52L).generate(1_000);
+        Item[] items = InventoryGenerator.copy(expected);
+        new GildedRose(expected).updateQuality();
+
+        MutableClock clock = new MutableClock(MONDAY.atTime(12, 0)
+                                                    .toInstant(ZoneOffset.UTC));
+        Path directory = folder.newFolder("checkpoints")
+                               .toPath();
+        Path checkpoint = directory.resolve("inventory.ckpt");
+
+        try (TickScheduler scheduler = newScheduler(items, new RecordingEngine(), checkpoint, clock)) {
+            clock.advance(Duration.ofDays(1));
+            Files.delete(checkpoint);
+            Files.delete(directory);
+            try {
+                scheduler.tick();
+                fail("A tick must fail when its checkpoint can not be written.");
+            } catch (IOException e) {
+                assertEquals(MONDAY, scheduler.getLastAppliedDay());
+            }
+
+            Files.createDirectories(directory);
+            assertEquals(1, scheduler.tick());
+            assertSameItems(expected, items);
+        }
+    }
+
+    @Test
+    public void when_DayBoundaryNotReached_then_PreviousDay() throws IOException {
+        MutableClock clock = new MutableClock(MONDAY.plusDays(1)
+                                                    .atTime(5, 0)
+                                                    .toInstant(ZoneOffset.UTC));
+        RecordingEngine engine = new RecordingEngine();
+        Path checkpoint = folder.getRoot()
+                                .toPath()
+                                .resolve("inventory.ckpt");
+
+        try (TickScheduler scheduler = new TickScheduler.Builder().withItems(new Item[0])
+                                                                  .withEngine(engine)
+                                                                  .withCheckpoint(checkpoint)
+                                                                  .withClock(clock)
+                                                                  .withZone(ZoneOffset.UTC)
+                                                                  .withDayBoundary(LocalTime.of(6, 0))
+                                                                  .withInitialDay(MONDAY)
+                                                                  .build()) {
+            assertEquals(0, scheduler.tick());
+
+            clock.advance(Duration.ofHours(1));
+            assertEquals(1, scheduler.tick());
+        }
+    }
+
+    @Test
+    public void when_GapTooLarge_then_Refused() throws IOException {
+        MutableClock clock = new MutableClock(MONDAY.plusDays(10)
+                                                    .atStartOfDay()
+                                                    .toInstant(ZoneOffset.UTC));
+        RecordingEngine engine = new RecordingEngine();
+
+        try (TickScheduler scheduler = new TickScheduler.Builder().withItems(new Item[0])
+                                                                  .withEngine(engine)
+                                                                  .withCheckpoint(folder.getRoot()
+                                                                                       .toPath()
+                                                                                       .resolve("inventory.ckpt"))
+                                                                  .withClock(clock)
+                                                                  .withZone(ZoneOffset.UTC)
+                                                                  .withInitialDay(MONDAY)
+                                                                  .withMaxCatchUpDays(7)
+                                                                  .build()) {
+            scheduler.tick();
+            fail("Ten missed days must be refused with a maximum of seven.");
+        } catch (IllegalStateException e) {
+            assertEquals(0, engine.batches.size());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void when_CheckpointCorrupt_then_Rejected() throws IOException {
+        Path checkpoint = folder.newFile("inventory.ckpt")
+                                .toPath();
+        Files.write(checkpoint, "yesterday".getBytes(StandardCharsets.UTF_8));
+
+        newScheduler(new Item[0], new RecordingEngine(), checkpoint, Clock.systemUTC());
+    }
+
+    @Test
+    public void when_Started_then_CatchesUpAndTicksAtBoundary() throws Exception {
+        // Real time, shifted so the next day boundary is half a second away.
+        Instant now = Instant.now();
+        LocalDate today = now.atZone(ZoneOffset.UTC)
+                             .toLocalDate();
+        Instant boundary = today.plusDays(1)
+                                .atStartOfDay()
+                                .toInstant(ZoneOffset.UTC);
+        Clock clock = Clock.offset(Clock.systemUTC(), Duration.between(now, boundary)
+                                                              .minusMillis(500));
+        RecordingEngine engine = new RecordingEngine();
+
+        try (TickScheduler scheduler = new TickScheduler.Builder().withItems(new Item[0])
+                                                                  .withEngine(engine)
+                                                                  .withCheckpoint(folder.getRoot()
+                                                                                       .toPath()
+                                                                                       .resolve("inventory.ckpt"))
+                                                                  .withClock(clock)
+                                                                  .withZone(ZoneOffset.UTC)
+                                                                  .withInitialDay(today.minusDays(2))
+                                                                  .build()) {
+            scheduler.start();
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(10)
+                                                        .toNanos();
+            while (!scheduler.getLastAppliedDay()
+                             .equals(today.plusDays(1))
+                   && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(today.plusDays(1), scheduler.getLastAppliedDay());
+            assertNull(scheduler.getLastFailure());
+        }
+        // Two catch-up days and the boundary, in one batch if the boundary passed before the catch-up.
+        int applied = 0;
+        for (int days : engine.batches) {
+            applied += days;
+        }
+        assertEquals(3, applied);
+    }
+
+    private static TickScheduler newScheduler(Item[] items, QualityEngine engine, Path checkpoint, Clock clock) throws IOException {
+        return new TickScheduler.Builder().withItems(items)
+                                          .withEngine(engine)
+                                          .withCheckpoint(checkpoint)
+                                          .withClock(clock)
+                                          .withZone(ZoneOffset.UTC)
+                                          .withInitialDay(MONDAY)
+                                          .build();
+    }
+
+    private static void assertSameItems(Item[] expected, Item[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].toString(), actual[i].toString());
+        }
+    }
+
+    private static final class RecordingEngine implements QualityEngine {
+
+        private final QualityEngine delegate = new TemporalBlockingEngine(QualityConfigurationFactory.createItemQualityConfiguration());
+        private final List<Integer> batches = new ArrayList<>();
+
+        @Override
+        public void updateQuality(Item[] items) {
+            delegate.updateQuality(items);
+        }
+
+        @Override
+        public synchronized void advance(Item[] items, int days) {
+            batches.add(days);
+            delegate.advance(items, days);
+        }
+
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+    }
+
+}
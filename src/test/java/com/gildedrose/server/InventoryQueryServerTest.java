@@ -0,0 +1,165 @@
+package com.gildedrose.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gildedrose.GildedRose;
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.model.Inventory;
+import com.gildedrose.model.Item;
+
+
+public class InventoryQueryServerTest {
+
+    private GildedRose gildedRose;
+    private InventoryQueryServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        Item[] items = new Item[] {new Item(Inventory.AGED_BRIE, 2, 0), new Item("Quoted \"item\"", 10, 20),
+                                   new Item(Inventory.AGED_BRIE, 5, 7)};
+        gildedRose = new GildedRose(items);
+        server = new InventoryQueryServer.Builder().withGildedRose(gildedRose)
+                                                   .build();
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void when_ItemRequestedById_then_LiveValues() throws IOException {
+        gildedRose.updateQuality();
+
+        assertEquals("{\"id\":0,\"name\":\"Aged Brie\",\"category\":\"IMPROVING\",\"sellIn\":1,\"quality\":1}", get("/items/0"));
+        assertEquals("{\"id\":1,\"name\":\"Quoted \\\"item\\\"\",\"category\":\"DEGRADING\",\"sellIn\":9,\"quality\":19}", get("/items/1"));
+    }
+
+    @Test
+    public void when_ItemsRequestedByName_then_AllItemsWithThatName() throws IOException {
+        String response = get("/items?name=Aged+Brie");
+
+        assertTrue(response, response.startsWith("[{\"id\":0,"));
+        assertTrue(response, response.contains("},{\"id\":2,"));
+    }
+
+    @Test
+    public void when_ItemsRequestedByNameWithPage_then_OnlyThatPage() throws IOException {
+        assertEquals("[]", get("/items?name=Aged+Brie&limit=0"));
+        String response = get("/items?name=Aged+Brie&offset=1&limit=1");
+
+        assertTrue(response, response.startsWith("[{\"id\":2,"));
+        assertEquals(response, 1, response.split("\\{\"id\"").length - 1);
+    }
+
+    @Test
+    public void when_ResponseTooLarge_then_Refused() throws IOException {
+        Item[] items = new Item[200];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item(Inventory.AGED_BRIE, i, 10);
+        }
+
+        try (InventoryQueryServer smallServer = new InventoryQueryServer.Builder().withItems(items)
+                                                                                  .withMaxResponseBytes(1_024)
+                                                                                  .build()) {
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + smallServer.getPort() + "/items?name=Aged+Brie")
+                                                                                                                                         .openConnection();
+            assertEquals(413, connection.getResponseCode());
+
+            connection = (HttpURLConnection) new URL("http://localhost:" + smallServer.getPort() + "/items?name=Aged+Brie&limit=5").openConnection();
+            assertEquals(200, connection.getResponseCode());
+        }
+    }
+
+    @Test
+    public void when_CategoriesRequested_then_CountsAndPages() throws IOException {
+        assertTrue(get("/categories").startsWith("{\"DEGRADING\":1,\"IMPROVING\":2,"));
+        assertTrue(get("/categories/IMPROVING?offset=1&limit=1").startsWith("[{\"id\":2,"));
+        assertEquals("{\"count\":3}", get("/count"));
+    }
+
+    @Test
+    public void when_UnknownItem_then_NotFound() throws IOException {
+        HttpURLConnection connection = open("/items/3");
+
+        assertEquals(404, connection.getResponseCode());
+    }
+
+    @Test
+    public void when_QueriedDuringUpdates_then_EveryRequestServed() throws Exception {
+        Item[] items = new InventoryGenerator(41L).generate(10_000);
+        GildedRose large = new GildedRose(items);
+        try (InventoryQueryServer largeServer = new InventoryQueryServer.Builder().withGildedRose(large)
+                                                                                  .build()) {
+            AtomicBoolean running = new AtomicBoolean(true);
+            Thread updater = new Thread(() -> {
+                while (running.get()) {
+                    large.updateQuality();
+                }
+            });
+            updater.start();
+
+            ExecutorService clients = Executors.newFixedThreadPool(32);
+            try {
+                List<Future<Integer>> responses = new ArrayList<>();
+                for (int i = 0; i < 2_000; i++) {
+                    int id = i * 5;
+                    responses.add(clients.submit(() -> {
+                        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + largeServer.getPort() + "/items/" + id)
+                                                                                                                                          .openConnection();
+                        int status = connection.getResponseCode();
+                        read(connection.getInputStream());
+                        return status;
+                    }));
+                }
+                for (Future<Integer> response : responses) {
+                    assertEquals(200, (int) response.get());
+                }
+            } finally {
+                running.set(false);
+                updater.join();
+                clients.shutdownNow();
+            }
+        }
+    }
+
+    private String get(String path) throws IOException {
+        HttpURLConnection connection = open(path);
+        assertEquals(200, connection.getResponseCode());
+        return read(connection.getInputStream());
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        return (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path).openConnection();
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (InputStream body = in) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] chunk = new byte[1024];
+            for (int read = body.read(chunk); read >= 0; read = body.read(chunk)) {
+                bytes.write(chunk, 0, read);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+}
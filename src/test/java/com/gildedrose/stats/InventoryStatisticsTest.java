@@ -0,0 +1,86 @@
+package com.gildedrose.stats;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.gildedrose.GildedRose;
+import com.gildedrose.InventoryGenerator;
+import com.gildedrose.model.Category;
+import com.gildedrose.model.Item;
+
+
+public class InventoryStatisticsTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void when_DaysPass_then_StatisticsFollowUpdates() {
+        Item[] items = new InventoryGenerator(11L).generate(5_000);
+        InventoryStatistics statistics = InventoryStatistics.of(items);
+        GildedRose gildedRose = new GildedRose(items);
+        gildedRose.addItemUpdateListener(statistics);
+
+        for (int day = 0; day < 20; day++) {
+            gildedRose.updateQuality();
+            assertMatchesScan(items, statistics);
+        }
+    }
+
+    @Test
+    public void when_DaysPassInParallel_then_StatisticsFollowUpdates() {
+        Item[] items = new InventoryGenerator(13L).generate(50_000);
+        InventoryStatistics statistics = InventoryStatistics.of(items);
+        GildedRose gildedRose = new GildedRose(items);
+        gildedRose.addItemUpdateListener(statistics);
+
+        for (int day = 0; day < 20; day++) {
+            gildedRose.updateQualityInParallel();
+        }
+
+        assertMatchesScan(items, statistics);
+    }
+
+    @Test
+    public void when_ItemRemoved_then_ItemNoLongerCounted() {
+        Item item = new Item("Basic item", -2, 10);
+        InventoryStatistics statistics = InventoryStatistics.of(new Item[] {item, new Item("Basic item", 5, 20)});
+
+        statistics.remove(Category.DEGRADING, item);
+
+        assertEquals(1, statistics.getCount());
+        assertEquals(20, statistics.getTotalQuality());
+        assertEquals(0, statistics.getExpiredCount());
+    }
+
+    private static void assertMatchesScan(Item[] items, InventoryStatistics statistics) {
+        assertEquals(items.length, statistics.getCount());
+        assertEquals(Arrays.stream(items)
+                           .mapToLong(item -> item.quality)
+                           .sum(),
+                     statistics.getTotalQuality());
+        assertEquals(Arrays.stream(items)
+                           .filter(item -> item.sellIn < 0)
+                           .count(),
+                     statistics.getExpiredCount());
+
+        for (Category category : Category.values()) {
+            Item[] ofCategory = Arrays.stream(items)
+                                      .filter(item -> Category.of(item.name) == category)
+                                      .toArray(Item[]::new);
+            assertEquals(ofCategory.length, statistics.getCount(category));
+            assertEquals(Arrays.stream(ofCategory)
+                               .mapToInt(item -> item.quality)
+                               .average()
+                               .orElse(0),
+                         statistics.getAverageQuality(category), DELTA);
+            assertEquals(Arrays.stream(ofCategory)
+                               .filter(item -> item.sellIn < 0)
+                               .count(),
+                         statistics.getExpiredCount(category));
+        }
+    }
+
+}